@@ -17,6 +17,10 @@ public class StarWarsApplication {
         SpringApplication.run(StarWarsApplication.class, args);
     }
 
+    /**
+     * El builder de Boot aplica los HttpMessageConverters de la aplicación, así que las respuestas de SWAPI
+     * se leen con el mismo ObjectMapper (y los mismos módulos) que usa MVC.
+     */
     @Bean
     public RestTemplate restTemplate(RestTemplateBuilder builder) {
         return builder
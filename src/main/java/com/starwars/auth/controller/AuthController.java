@@ -2,10 +2,13 @@ package com.starwars.auth.controller;
 
 import com.starwars.auth.dto.AuthenticationRequest;
 import com.starwars.auth.dto.AuthenticationResponse;
+import com.starwars.auth.dto.RefreshTokenRequest;
 import com.starwars.auth.dto.RegisterRequest;
 import com.starwars.auth.dto.RegisterResponse;
+import com.starwars.auth.service.RefreshTokenService;
 import com.starwars.auth.service.UserDetailsServiceImpl;
 import com.starwars.auth.service.UserService;
+import com.starwars.shared.exception.InvalidRefreshTokenException;
 import com.starwars.shared.security.JwtUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -16,6 +19,7 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -32,6 +36,7 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final UserDetailsServiceImpl userDetailsService;
     private final UserService userService;
+    private final RefreshTokenService refreshTokenService;
     private final JwtUtil jwtUtil;
 
     @PostMapping("/login")
@@ -46,7 +51,30 @@ public class AuthController {
 
         final UserDetails userDetails = userDetailsService.loadUserByUsername(authenticationRequest.getUsername());
         final String jwt = jwtUtil.generateToken(userDetails);
-        return ResponseEntity.ok(new AuthenticationResponse(jwt));
+        final String refreshToken = refreshTokenService.issue(userDetails.getUsername());
+        return ResponseEntity.ok(new AuthenticationResponse(jwt, refreshToken, jwtUtil.getExpirationSeconds()));
+    }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Renovar token", description = "Canjea un refresh token por un JWT nuevo y el siguiente refresh token; el presentado deja de valer")
+    public ResponseEntity<AuthenticationResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest refreshRequest) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshRequest.getRefreshToken());
+        final UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(rotation.getUsername());
+        } catch (UsernameNotFoundException e) {
+            refreshTokenService.revoke(rotation.getRefreshToken());
+            throw new InvalidRefreshTokenException("El usuario del refresh token ya no existe");
+        }
+        final String jwt = jwtUtil.generateToken(userDetails);
+        return ResponseEntity.ok(new AuthenticationResponse(jwt, rotation.getRefreshToken(), jwtUtil.getExpirationSeconds()));
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Cerrar sesión", description = "Revoca el refresh token y todos los de su sesión; el JWT vigente vale hasta que vence")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest refreshRequest) {
+        refreshTokenService.revoke(refreshRequest.getRefreshToken());
+        return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/register")
@@ -57,7 +85,8 @@ public class AuthController {
             RegisterResponse response = new RegisterResponse(
                 "Usuario registrado exitosamente",
                 registerRequest.getUsername(),
-                token
+                token,
+                refreshTokenService.issue(registerRequest.getUsername())
             );
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
@@ -7,5 +7,7 @@ import java.io.Serializable;
 @Data
 public class AuthenticationResponse implements Serializable {
     private final String jwt;
+    private final String refreshToken;
+    /** Segundos de validez del JWT; antes de que venza se pide otro a /auth/refresh. */
+    private final long expiresIn;
 }
-
@@ -12,6 +12,7 @@ public class RegisterResponse {
     private String message;
     private String username;
     private String token;
+    private String refreshToken;
 
     public RegisterResponse(String message, String username) {
         this.message = message;
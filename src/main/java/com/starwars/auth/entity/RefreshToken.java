@@ -0,0 +1,52 @@
+package com.starwars.auth.entity;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Refresh token emitido a un usuario. Solo se guarda el SHA-256 del token. Los tokens que se obtienen
+ * rotando desde un mismo login comparten {@code familyId}; un token ya usado que se presenta de nuevo
+ * revoca toda la familia.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_family", columnList = "familyId"),
+        @Index(name = "idx_refresh_tokens_username", columnList = "username")
+})
+@Getter
+@Setter
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 32)
+    private byte[] tokenHash;
+
+    @Column(nullable = false, length = 16)
+    private UUID familyId;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Column(nullable = false)
+    private boolean used;
+
+    public RefreshToken() {
+    }
+
+    public RefreshToken(byte[] tokenHash, UUID familyId, String username, Instant expiresAt) {
+        this.tokenHash = tokenHash;
+        this.familyId = familyId;
+        this.username = username;
+        this.expiresAt = expiresAt;
+    }
+}
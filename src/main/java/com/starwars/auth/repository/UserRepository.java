@@ -2,8 +2,10 @@ package com.starwars.auth.repository;
 
 import com.starwars.auth.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +16,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return Un Optional que contiene el usuario si se encuentra, o vacío si no.
      */
     Optional<User> findByUsername(String username);
+
+    /**
+     * @return Los nombres de todos los usuarios, sin cargar las entidades.
+     */
+    @Query("select u.username from User u")
+    List<String> findAllUsernames();
 }
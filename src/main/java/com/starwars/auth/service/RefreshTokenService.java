@@ -0,0 +1,114 @@
+package com.starwars.auth.service;
+
+import com.starwars.auth.entity.RefreshToken;
+import com.starwars.auth.repository.RefreshTokenRepository;
+import com.starwars.shared.exception.InvalidRefreshTokenException;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Refresh tokens opacos que rotan en cada uso. El JWT de acceso dura minutos y se verifica sin consultar
+ * la base; el refresh token es lo único que se revoca, así que una revocación rige a más tardar cuando
+ * vence el JWT vigente.
+ *
+ * <p>Cada token son 32 bytes aleatorios en base64url y en la base queda solo su SHA-256. Al rotar, el
+ * token presentado se marca como usado y el nuevo hereda su familia. Si un token usado vuelve a
+ * presentarse (lo robaron y lo usó otro, o se reenvió), se revoca la familia entera y las dos partes
+ * tienen que iniciar sesión.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final String INVALID = "Refresh token inválido, expirado o revocado. Inicia sesión de nuevo.";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final long refreshExpirationMillis;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${jwt.refresh-expiration:1209600000}") long refreshExpirationMillis) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshExpirationMillis = refreshExpirationMillis;
+    }
+
+    /**
+     * Emite el primer refresh token de una sesión nueva.
+     */
+    @Transactional
+    public String issue(String username) {
+        refreshTokenRepository.deleteExpired(username, Instant.now());
+        return issue(username, UUID.randomUUID());
+    }
+
+    /**
+     * Consume el refresh token y emite el siguiente de la misma familia.
+     * @throws InvalidRefreshTokenException si no existe, venció o ya se usó; en el último caso se revoca
+     *         la familia
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String refreshToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException(INVALID));
+        if (current.getExpiresAt().isBefore(Instant.now())) {
+            refreshTokenRepository.delete(current);
+            throw new InvalidRefreshTokenException(INVALID);
+        }
+        if (current.isUsed() || refreshTokenRepository.markUsed(current.getId()) == 0) {
+            int revoked = refreshTokenRepository.deleteFamily(current.getFamilyId());
+            log.warn("Refresh token reutilizado para el usuario {}: se revocan {} tokens de la sesión",
+                    current.getUsername(), revoked);
+            throw new InvalidRefreshTokenException(INVALID);
+        }
+        return new Rotation(current.getUsername(), issue(current.getUsername(), current.getFamilyId()));
+    }
+
+    /**
+     * Revoca la sesión del refresh token (logout). Un token desconocido se ignora.
+     */
+    @Transactional
+    public void revoke(String refreshToken) {
+        Optional<RefreshToken> token = refreshTokenRepository.findByTokenHash(hash(refreshToken));
+        token.ifPresent(t -> refreshTokenRepository.deleteFamily(t.getFamilyId()));
+    }
+
+    private String issue(String username, UUID familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Instant expiresAt = Instant.now().plusMillis(refreshExpirationMillis);
+        refreshTokenRepository.save(new RefreshToken(hash(token), familyId, username, expiresAt));
+        return token;
+    }
+
+    private static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    @Getter
+    public static final class Rotation {
+        private final String username;
+        private final String refreshToken;
+
+        public Rotation(String username, String refreshToken) {
+            this.username = username;
+            this.refreshToken = refreshToken;
+        }
+    }
+}
@@ -2,20 +2,27 @@ package com.starwars.auth.service;
 
 import com.starwars.auth.entity.User;
 import com.starwars.auth.repository.UserRepository;
+import com.starwars.shared.security.UserChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 
+@Slf4j
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    public UserDetailsServiceImpl(UserRepository userRepository, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -25,5 +32,20 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
         return new org.springframework.security.core.userdetails.User(user.getUsername(), user.getPassword(), new ArrayList<>());
     }
-}
 
+    /**
+     * Guarda el hash recalculado con el costo actual. Lo invoca Spring Security después de un login
+     * correcto cuando el hash guardado tiene otro costo.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = userRepository.findByUsername(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado con el nombre: " + user.getUsername()));
+        entity.setPassword(newPassword);
+        userRepository.save(entity);
+        log.info("Hash de contraseña actualizado al costo actual para el usuario: {}", entity.getUsername());
+        eventPublisher.publishEvent(new UserChangedEvent(entity.getUsername()));
+
+        return new org.springframework.security.core.userdetails.User(entity.getUsername(), newPassword, new ArrayList<>());
+    }
+}
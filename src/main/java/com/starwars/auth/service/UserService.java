@@ -4,13 +4,18 @@ import com.starwars.auth.dto.RegisterRequest;
 import com.starwars.auth.entity.User;
 import com.starwars.auth.repository.UserRepository;
 import com.starwars.shared.security.JwtUtil;
+import com.starwars.shared.security.UserChangedEvent;
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Locale;
 
 @Slf4j
 @Service
@@ -20,6 +25,8 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UsernameBloomFilter usernameFilter;
 
     /**
      * Registra un nuevo usuario en el sistema
@@ -35,18 +42,25 @@ public class UserService {
             throw new IllegalArgumentException("Las contraseñas no coinciden");
         }
 
-        // Verificar que el usuario no exista
-        if (userRepository.findByUsername(registerRequest.getUsername()).isPresent()) {
-            throw new IllegalArgumentException("El nombre de usuario ya está en uso");
-        }
-
-        // Crear y guardar el usuario
+        // Crear y guardar el usuario en un único INSERT; la restricción única de app_users.username
+        // decide entre registros simultáneos del mismo nombre
         User newUser = new User();
         newUser.setUsername(registerRequest.getUsername());
         newUser.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
 
-        User savedUser = userRepository.save(newUser);
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(newUser);
+        } catch (DataIntegrityViolationException e) {
+            if (!violatesUniqueUsername(e)) {
+                log.error("No se pudo registrar el usuario {}: ", registerRequest.getUsername(), e);
+                throw e;
+            }
+            log.info("Registro rechazado, el nombre de usuario ya existe: {}", registerRequest.getUsername());
+            throw new IllegalArgumentException("El nombre de usuario ya está en uso");
+        }
         log.info("Usuario registrado exitosamente: {}", savedUser.getUsername());
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getUsername()));
 
         // Generar token JWT
         UserDetails userDetails = new org.springframework.security.core.userdetails.User(
@@ -58,13 +72,33 @@ public class UserService {
         return jwtUtil.generateToken(userDetails);
     }
 
+    /**
+     * Solo la restricción única del nombre significa que el usuario ya existe; cualquier otra violación
+     * (largo, NOT NULL) es un error real. H2 reporta el nombre con el índice como sufijo, por eso se busca contenido.
+     */
+    private static boolean violatesUniqueUsername(DataIntegrityViolationException e) {
+        if (!(e.getCause() instanceof ConstraintViolationException)) {
+            return false;
+        }
+        String constraint = ((ConstraintViolationException) e.getCause()).getConstraintName();
+        return constraint != null && constraint.toLowerCase(Locale.ROOT).contains(User.USERNAME_CONSTRAINT);
+    }
+
     /**
      * Verifica si un nombre de usuario está disponible
      * @param username Nombre de usuario a verificar
      * @return true si está disponible, false si ya existe
      */
     public boolean isUsernameAvailable(String username) {
-        return !userRepository.findByUsername(username).isPresent();
+        // El filtro descarta sin consultar la base los nombres que seguro no existen
+        if (usernameFilter.isDefinitelyAbsent(username)) {
+            return true;
+        }
+        boolean available = !userRepository.findByUsername(username).isPresent();
+        if (available) {
+            usernameFilter.recordFalsePositive();
+        }
+        return available;
     }
 }
 
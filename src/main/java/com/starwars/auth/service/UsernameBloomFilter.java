@@ -0,0 +1,188 @@
+package com.starwars.auth.service;
+
+import com.starwars.auth.repository.UserRepository;
+import com.starwars.shared.security.UserChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom con los nombres de usuario de {@code app_users}, para responder "disponible" sin
+ * consultar la base. Un nombre que el filtro no contiene seguro no existe; uno que sí contiene puede
+ * existir y se confirma en la base.
+ *
+ * <p>Se arma al iniciar la aplicación y se actualiza con cada {@link UserChangedEvent}. Mientras no está
+ * armado, todas las consultas van a la base. Solo ve los registros de este nodo: un usuario registrado
+ * en otro nodo aparece como disponible hasta el próximo reinicio, por eso el registro sigue verificando
+ * contra la base.
+ *
+ * <p>Métricas: {@code swapi.username.filter.requests} con {@code result=absent|possible},
+ * {@code swapi.username.filter.false_positives} (posibles que la base no tenía) y
+ * {@code swapi.username.filter.fpp} (tasa de falsos positivos estimada por el llenado).
+ */
+@Slf4j
+@Component
+public class UsernameBloomFilter {
+
+    private final UserRepository userRepository;
+    private final int bitCount;
+    private final int hashCount;
+    private final Counter absent;
+    private final Counter possible;
+    private final Counter falsePositives;
+
+    private volatile Bits current;
+    private volatile Bits pending;
+
+    public UsernameBloomFilter(UserRepository userRepository,
+                               @Value("${auth.username-filter.expected-users:100000}") int expectedUsers,
+                               @Value("${auth.username-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                               MeterRegistry registry) {
+        this.userRepository = userRepository;
+        int n = Math.max(1, expectedUsers);
+        this.bitCount = (int) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.absent = Counter.builder("swapi.username.filter.requests").tag("result", "absent")
+                .description("Nombres descartados por el filtro, sin consultar la base").register(registry);
+        this.possible = Counter.builder("swapi.username.filter.requests").tag("result", "possible")
+                .description("Nombres que el filtro no descarta y se consultan en la base").register(registry);
+        this.falsePositives = Counter.builder("swapi.username.filter.false_positives")
+                .description("Nombres que el filtro no descartó y la base no tenía").register(registry);
+        Gauge.builder("swapi.username.filter.fpp", this, UsernameBloomFilter::expectedFalsePositiveRate)
+                .description("Tasa de falsos positivos estimada según los nombres cargados").register(registry);
+    }
+
+    /**
+     * Vuelve a cargar los nombres desde la base. Los que se agregan mientras tanto quedan en el filtro
+     * nuevo aunque la consulta ya haya pasado.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Bits bits = new Bits(bitCount);
+        pending = bits;
+        List<String> usernames = userRepository.findAllUsernames();
+        for (String username : usernames) {
+            put(bits, username);
+        }
+        current = bits;
+        pending = null;
+        log.info("Filtro de nombres de usuario armado con {} usuarios ({} bits, {} hashes)",
+                usernames.size(), bitCount, hashCount);
+    }
+
+    /**
+     * @return true si el nombre seguro no está registrado; false si puede estarlo o el filtro aún no se armó
+     */
+    public boolean isDefinitelyAbsent(String username) {
+        Bits bits = current;
+        if (bits == null) {
+            return false;
+        }
+        if (!contains(bits, username)) {
+            absent.increment();
+            return true;
+        }
+        possible.increment();
+        return false;
+    }
+
+    /** Registra que un nombre que el filtro no descartó resultó disponible en la base. */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        add(event.getUsername());
+    }
+
+    void add(String username) {
+        Bits next = pending;
+        if (next != null) {
+            put(next, username);
+        }
+        Bits bits = current;
+        if (bits != null) {
+            put(bits, username);
+        }
+    }
+
+    double expectedFalsePositiveRate() {
+        Bits bits = current;
+        if (bits == null) {
+            return 0;
+        }
+        return Math.pow(1 - Math.exp(-(double) hashCount * bits.insertions.get() / bitCount), hashCount);
+    }
+
+    private void put(Bits bits, String username) {
+        long hash = hash(username);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            bits.set(Math.floorMod(h1 + i * h2, bitCount));
+        }
+        bits.insertions.incrementAndGet();
+    }
+
+    private boolean contains(Bits bits, String username) {
+        long hash = hash(username);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            if (!bits.get(Math.floorMod(h1 + i * h2, bitCount))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** FNV-1a de 64 bits con el mezclado final de MurmurHash3, para repartir bien nombres cortos. */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Bits {
+        private final AtomicLongArray words;
+        private final AtomicInteger insertions = new AtomicInteger();
+
+        private Bits(int bitCount) {
+            this.words = new AtomicLongArray((bitCount + 63) >>> 6);
+        }
+
+        private void set(int index) {
+            int word = index >>> 6;
+            long mask = 1L << index;
+            long value;
+            do {
+                value = words.get(word);
+                if ((value & mask) != 0) {
+                    return;
+                }
+            } while (!words.compareAndSet(word, value, value | mask));
+        }
+
+        private boolean get(int index) {
+            return (words.get(index >>> 6) & (1L << index)) != 0;
+        }
+    }
+}
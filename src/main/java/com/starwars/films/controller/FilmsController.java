@@ -1,18 +1,28 @@
 package com.starwars.films.controller;
 
 import com.starwars.films.dto.FilmResponseDto;
+import com.starwars.films.dto.FilmSearchHitDto;
 import com.starwars.shared.dto.PageResponseDto;
+import com.starwars.shared.export.NdjsonExporter;
+import com.starwars.shared.catalog.CatalogQuery;
+import com.starwars.shared.catalog.SortOrder;
 import com.starwars.films.service.FilmService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.constraints.Min;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -23,6 +33,7 @@ import javax.validation.constraints.Min;
 public class FilmsController {
 
     private final FilmService filmService;
+    private final NdjsonExporter ndjsonExporter;
 
     @GetMapping
     @Operation(
@@ -35,13 +46,63 @@ public class FilmsController {
             @Parameter(description = "Número de página (comienza en 1)")
             @RequestParam(defaultValue = "1") @Min(1) int page,
             @Parameter(description = "Número de resultados por página")
+            @RequestParam(defaultValue = "10") @Min(1) int limit,
+            @Parameter(description = "Ordenamiento campo[,asc|desc], repetible para varias claves. Campos: title, episodeId, director, producer, releaseDate")
+            @RequestParam(required = false) List<String> sort,
+            @Parameter(description = "Paginación por cursor: vacío para la primera página, luego nextCursor o previousCursor de la respuesta. Ignora page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Facetas cuyos conteos se incluyen en la respuesta: director")
+            @RequestParam(required = false) List<String> facets,
+            @Parameter(description = "Filtro por director; varios valores se combinan con OR")
+            @RequestParam(required = false) List<String> director) {
+
+        log.info("Request received for films. Title: [{}], Page: [{}], Limit: [{}], Sort: {}, Cursor: [{}]", title, page, limit, sort, cursor);
+        Map<String, List<String>> facetFilters = new LinkedHashMap<>();
+        facetFilters.put("director", director);
+        CatalogQuery query = CatalogQuery.builder()
+                .sort(SortOrder.parse(sort))
+                .facets(facets != null ? facets : Collections.<String>emptyList())
+                .facetFilters(facetFilters)
+                .cursor(cursor)
+                .build();
+        PageResponseDto<FilmResponseDto> result = filmService.listOrSearchFilms(title, page, limit, query);
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/search")
+    @Operation(
+        summary = "Búsqueda de texto completo en películas",
+        description = "Busca en título, director, productores y texto de apertura, ordenando por relevancia. "
+                + "Las palabras se combinan con OR y las frases entre comillas deben aparecer completas"
+    )
+    public ResponseEntity<PageResponseDto<FilmSearchHitDto>> search(
+            @Parameter(description = "Texto a buscar, por ejemplo: \"death star\" rebels")
+            @RequestParam(required = false) String text,
+            @Parameter(description = "Número de página (comienza en 1)")
+            @RequestParam(defaultValue = "1") @Min(1) int page,
+            @Parameter(description = "Número de resultados por página")
             @RequestParam(defaultValue = "10") @Min(1) int limit) {
 
-        log.info("Request received for films. Title: [{}], Page: [{}], Limit: [{}]", title, page, limit);
-        PageResponseDto<FilmResponseDto> result = filmService.listOrSearchFilms(title, page, limit);
+        log.info("Full-text search for films. Text: [{}], Page: [{}], Limit: [{}]", text, page, limit);
+        PageResponseDto<FilmSearchHitDto> result = filmService.searchFilms(text, page, limit);
         return ResponseEntity.ok(result);
     }
 
+    @GetMapping("/export")
+    @Operation(
+        summary = "Exportar películas",
+        description = "Devuelve todas las películas como NDJSON (un objeto JSON por línea) en una respuesta chunked. "
+                + "Con Accept-Encoding: gzip la salida se comprime en streaming"
+    )
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "Campos a incluir de cada elemento, por ejemplo: id,name")
+            @RequestParam(required = false) List<String> fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        log.info("Exporting films as NDJSON");
+        return ndjsonExporter.export(FilmResponseDto.class, filmService.exportFilms(), fields, acceptEncoding);
+    }
+
     @GetMapping("/{id}")
     @Operation(
         summary = "Obtener película por ID", 
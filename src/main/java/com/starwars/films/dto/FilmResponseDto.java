@@ -1,10 +1,12 @@
 package com.starwars.films.dto;
 
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 
 @Getter
 @Setter
+@EqualsAndHashCode
 public class FilmResponseDto {
     private String id;
     private String title;
@@ -0,0 +1,22 @@
+package com.starwars.films.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+/**
+ * Película encontrada por la búsqueda de texto completo, con su puntaje de relevancia (BM25)
+ * y un fragmento por campo con los términos encontrados marcados con {@code <em>}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilmSearchHitDto {
+    private FilmResponseDto film;
+    private double score;
+    private Map<String, String> highlights;
+}
@@ -1,13 +1,19 @@
 package com.starwars.films.mapper;
 
-import com.starwars.shared.dto.api.ApiResult;
+import com.starwars.shared.dto.api.ApiDetailResult;
 import com.starwars.films.dto.FilmApiDto;
 import com.starwars.films.dto.FilmResponseDto;
+import com.starwars.shared.config.ResponseMapperConfig;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-@Mapper(componentModel = "spring")
+@Mapper(config = ResponseMapperConfig.class)
 public interface FilmMapper {
+
+    default FilmResponseDto toResponseDtoFromDetail(ApiDetailResult<FilmApiDto> detailResult) {
+        return detailResult != null ? toResponseDto(detailResult.getUid(), detailResult.getProperties()) : null;
+    }
+
     @Mapping(source = "uid", target = "id")
     @Mapping(source = "properties.title", target = "title")
     @Mapping(source = "properties.episodeId", target = "episodeId")
@@ -15,6 +21,5 @@ public interface FilmMapper {
     @Mapping(source = "properties.director", target = "director")
     @Mapping(source = "properties.producer", target = "producer")
     @Mapping(source = "properties.releaseDate", target = "releaseDate")
-    FilmResponseDto toResponseDtoFromDetail(ApiResult<FilmApiDto> apiResult);
+    FilmResponseDto toResponseDto(String uid, FilmApiDto properties);
 }
-
@@ -1,10 +1,33 @@
 package com.starwars.films.repository;
 
+import com.starwars.films.dto.FilmResponseDto;
+import com.starwars.shared.catalog.CatalogField;
+import com.starwars.shared.catalog.CatalogRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Arrays;
+
+/**
+ * Copia local de las películas de SWAPI, usada para ordenar, filtrar y facetar sin consultar a SWAPI en cada request.
+ * También indexa título, director, productores y texto de apertura para la búsqueda de texto completo.
+ */
 @Repository
-public interface FilmRepository {
-    // Este repositorio se mantiene vacío ya que los datos vienen de la API externa SWAPI
-    // En el futuro se podría usar para cachear datos o almacenar favoritos del usuario
-}
+public class FilmRepository extends CatalogRepository<FilmResponseDto> {
 
+    public FilmRepository() {
+        super("films", FilmResponseDto::getId, FilmResponseDto::getTitle, Arrays.asList(
+                CatalogField.text("title", FilmResponseDto::getTitle),
+                CatalogField.numeric("episodeId", film -> String.valueOf(film.getEpisodeId())),
+                CatalogField.text("director", FilmResponseDto::getDirector),
+                CatalogField.text("producer", FilmResponseDto::getProducer),
+                CatalogField.text("releaseDate", FilmResponseDto::getReleaseDate)
+        ), Arrays.asList(
+                CatalogField.text("director", FilmResponseDto::getDirector)
+        ), Arrays.asList(
+                CatalogField.text("title", FilmResponseDto::getTitle),
+                CatalogField.text("director", FilmResponseDto::getDirector),
+                CatalogField.text("producer", FilmResponseDto::getProducer),
+                CatalogField.text("openingCrawl", FilmResponseDto::getOpeningCrawl)
+        ));
+    }
+}
@@ -3,16 +3,22 @@ package com.starwars.films.service;
 import com.starwars.films.dto.FilmApiDto;
 import com.starwars.shared.dto.api.*;
 import com.starwars.films.dto.FilmResponseDto;
+import com.starwars.films.dto.FilmSearchHitDto;
 import com.starwars.shared.dto.PageResponseDto;
 import com.starwars.shared.exception.ResourceNotFoundException;
 import com.starwars.films.mapper.FilmMapper;
 import com.starwars.shared.service.BaseStarWarsService;
+import com.starwars.shared.catalog.CatalogPage;
+import com.starwars.shared.catalog.CatalogQuery;
+import com.starwars.shared.catalog.CatalogSnapshot;
+import com.starwars.films.repository.FilmRepository;
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,8 +28,18 @@ import java.util.stream.Collectors;
 public class FilmService extends BaseStarWarsService {
 
     private final FilmMapper filmMapper;
+    private final FilmRepository filmRepository;
 
     public PageResponseDto<FilmResponseDto> listOrSearchFilms(String title, int page, int limit) {
+        return listOrSearchFilms(title, page, limit, CatalogQuery.empty());
+    }
+
+    public PageResponseDto<FilmResponseDto> listOrSearchFilms(String title, int page, int limit, CatalogQuery query) {
+        if (query.requiresCatalog()) {
+            CatalogSnapshot<FilmResponseDto> catalog = filmRepository.getSnapshot(this::loadCatalog);
+            CatalogPage<FilmResponseDto> result = catalog.query(title, query, offsetOf(page, limit), limit);
+            return createCatalogPageResponse(result, page, limit);
+        }
         UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(baseUrl + "/films")
                 .queryParam("page", page)
                 .queryParam("limit", limit)
@@ -40,18 +56,22 @@ public class FilmService extends BaseStarWarsService {
         ApiEntityResponse<List<ApiDetailResult<FilmApiDto>>> apiResponse = fetchApiData(url, typeRef);
 
         if (apiResponse != null && apiResponse.getResult() != null) {
-            List<FilmResponseDto> films = apiResponse.getResult().stream()
-                    .map(detailResult -> {
-                        ApiResult<FilmApiDto> tempResult = new ApiResult<>();
-                        tempResult.setUid(detailResult.getUid());
-                        tempResult.setProperties(detailResult.getProperties());
-                        return filmMapper.toResponseDtoFromDetail(tempResult);
-                    })
-                    .collect(Collectors.toList());
-
+            List<FilmResponseDto> films = mapDetailResultToResponse(apiResponse.getResult());
             return createManualPageResponse(films, page, limit);
         }
-        return createEmptyPage();
+        return createFallbackPage();
+    }
+
+    /**
+     * Búsqueda de texto completo sobre título, director, productores y texto de apertura.
+     * Se resuelve sobre el índice de la copia local, sin consultar a SWAPI.
+     */
+    public PageResponseDto<FilmSearchHitDto> searchFilms(String text, int page, int limit) {
+        CatalogSnapshot<FilmResponseDto> catalog = filmRepository.getSnapshot(this::loadCatalog);
+        List<FilmSearchHitDto> hits = catalog.search(text).stream()
+                .map(hit -> new FilmSearchHitDto(hit.getItem(), hit.getScore(), hit.getSnippets()))
+                .collect(Collectors.toList());
+        return createManualPageResponse(hits, page, limit);
     }
 
     public FilmResponseDto getFilmById(String id) {
@@ -64,10 +84,7 @@ public class FilmService extends BaseStarWarsService {
             ApiEntityResponse<ApiDetailResult<FilmApiDto>> apiResponse = fetchApiData(url, typeRef);
 
             if (apiResponse != null && apiResponse.getResult() != null && apiResponse.getResult().getProperties() != null) {
-                ApiResult<FilmApiDto> tempResult = new ApiResult<>();
-                tempResult.setUid(apiResponse.getResult().getUid());
-                tempResult.setProperties(apiResponse.getResult().getProperties());
-                return filmMapper.toResponseDtoFromDetail(tempResult);
+                return filmMapper.toResponseDtoFromDetail(apiResponse.getResult());
             }
             
             throw new ResourceNotFoundException("Film", "id", id);
@@ -76,5 +93,30 @@ public class FilmService extends BaseStarWarsService {
             throw new ResourceNotFoundException("Film", "id", id);
         }
     }
-}
 
+    /**
+     * Todos los elementos del catálogo local, ordenados por id, para exportar la colección completa.
+     */
+    public List<FilmResponseDto> exportFilms() {
+        return filmRepository.getSnapshot(this::loadCatalog).getItems();
+    }
+
+    private List<FilmResponseDto> loadCatalog() {
+        String url = UriComponentsBuilder.fromHttpUrl(baseUrl + "/films")
+                .queryParam("expanded", "true")
+                .build()
+                .toUriString();
+        ParameterizedTypeReference<ApiEntityResponse<List<ApiDetailResult<FilmApiDto>>>> typeRef =
+                new ParameterizedTypeReference<ApiEntityResponse<List<ApiDetailResult<FilmApiDto>>>>() {};
+        ApiEntityResponse<List<ApiDetailResult<FilmApiDto>>> apiResponse = fetchApiData(url, typeRef);
+        return apiResponse != null && apiResponse.getResult() != null ? mapDetailResultToResponse(apiResponse.getResult()) : null;
+    }
+
+    private List<FilmResponseDto> mapDetailResultToResponse(List<ApiDetailResult<FilmApiDto>> results) {
+        List<FilmResponseDto> mapped = new ArrayList<>(results.size());
+        for (ApiDetailResult<FilmApiDto> detailResult : results) {
+            mapped.add(filmMapper.toResponseDtoFromDetail(detailResult));
+        }
+        return mapped;
+    }
+}
@@ -1,6 +1,9 @@
 package com.starwars.people.controller;
 
 import com.starwars.shared.dto.PageResponseDto;
+import com.starwars.shared.export.NdjsonExporter;
+import com.starwars.shared.catalog.CatalogQuery;
+import com.starwars.shared.catalog.SortOrder;
 import com.starwars.people.dto.PersonResponseDto;
 import com.starwars.people.service.PersonService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -8,11 +11,17 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.constraints.Min;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -23,6 +32,7 @@ import javax.validation.constraints.Min;
 public class PeopleController {
 
     private final PersonService personService;
+    private final NdjsonExporter ndjsonExporter;
 
     @GetMapping
     @Operation(
@@ -35,13 +45,47 @@ public class PeopleController {
             @Parameter(description = "Número de página (comienza en 1)")
             @RequestParam(defaultValue = "1") @Min(1) int page,
             @Parameter(description = "Número de resultados por página")
-            @RequestParam(defaultValue = "10") @Min(1) int limit) {
+            @RequestParam(defaultValue = "10") @Min(1) int limit,
+            @Parameter(description = "Ordenamiento campo[,asc|desc], repetible para varias claves. Campos: name, height, mass, hairColor, skinColor, eyeColor, gender")
+            @RequestParam(required = false) List<String> sort,
+            @Parameter(description = "Paginación por cursor: vacío para la primera página, luego nextCursor o previousCursor de la respuesta. Ignora page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Facetas cuyos conteos se incluyen en la respuesta: gender, eyeColor")
+            @RequestParam(required = false) List<String> facets,
+            @Parameter(description = "Filtro por género; varios valores se combinan con OR")
+            @RequestParam(required = false) List<String> gender,
+            @Parameter(description = "Filtro por color de ojos; varios valores se combinan con OR")
+            @RequestParam(required = false) List<String> eyeColor) {
 
-        log.info("Request received for people. Name: [{}], Page: [{}], Limit: [{}]", name, page, limit);
-        PageResponseDto<PersonResponseDto> result = personService.listOrSearchPeople(name, page, limit);
+        log.info("Request received for people. Name: [{}], Page: [{}], Limit: [{}], Sort: {}, Cursor: [{}]", name, page, limit, sort, cursor);
+        Map<String, List<String>> facetFilters = new LinkedHashMap<>();
+        facetFilters.put("gender", gender);
+        facetFilters.put("eyeColor", eyeColor);
+        CatalogQuery query = CatalogQuery.builder()
+                .sort(SortOrder.parse(sort))
+                .facets(facets != null ? facets : Collections.<String>emptyList())
+                .facetFilters(facetFilters)
+                .cursor(cursor)
+                .build();
+        PageResponseDto<PersonResponseDto> result = personService.listOrSearchPeople(name, page, limit, query);
         return ResponseEntity.ok(result);
     }
 
+    @GetMapping("/export")
+    @Operation(
+        summary = "Exportar personajes",
+        description = "Devuelve todos los personajes como NDJSON (un objeto JSON por línea) en una respuesta chunked. "
+                + "Con Accept-Encoding: gzip la salida se comprime en streaming"
+    )
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "Campos a incluir de cada elemento, por ejemplo: id,name")
+            @RequestParam(required = false) List<String> fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        log.info("Exporting people as NDJSON");
+        return ndjsonExporter.export(PersonResponseDto.class, personService.exportPeople(), fields, acceptEncoding);
+    }
+
     @GetMapping("/{id}")
     @Operation(
         summary = "Obtener personaje por ID", 
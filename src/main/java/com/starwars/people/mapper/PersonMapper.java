@@ -1,15 +1,19 @@
 package com.starwars.people.mapper;
 
-import com.starwars.shared.dto.api.ApiResult;
+import com.starwars.shared.dto.api.ApiDetailResult;
 import com.starwars.people.dto.PersonApiDto;
 import com.starwars.people.dto.PersonResponseDto;
+import com.starwars.shared.config.ResponseMapperConfig;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
-import org.mapstruct.factory.Mappers;
 
-@Mapper(componentModel = "spring")
+@Mapper(config = ResponseMapperConfig.class)
 public interface PersonMapper {
 
+    default PersonResponseDto toResponseDtoFromDetail(ApiDetailResult<PersonApiDto> detailResult) {
+        return detailResult != null ? toResponseDto(detailResult.getUid(), detailResult.getProperties()) : null;
+    }
+
     @Mapping(source = "uid", target = "id")
     @Mapping(source = "properties.name", target = "name")
     @Mapping(source = "properties.height", target = "height")
@@ -20,6 +24,5 @@ public interface PersonMapper {
     @Mapping(source = "properties.birthYear", target = "birthYear")
     @Mapping(source = "properties.gender", target = "gender")
     @Mapping(source = "properties.homeworld", target = "homeworld")
-    PersonResponseDto toResponseDtoFromDetail(ApiResult<PersonApiDto> apiResult);
+    PersonResponseDto toResponseDto(String uid, PersonApiDto properties);
 }
-
@@ -1,10 +1,40 @@
 package com.starwars.people.repository;
 
+import com.starwars.people.dto.PersonResponseDto;
+import com.starwars.shared.catalog.CatalogField;
+import com.starwars.shared.catalog.CatalogRepository;
+import com.starwars.shared.catalog.StringPool;
 import org.springframework.stereotype.Repository;
 
+import java.util.Arrays;
+
+/**
+ * Copia local de los personajes de SWAPI, usada para ordenar, filtrar y facetar sin consultar a SWAPI en cada request.
+ */
 @Repository
-public interface PersonRepository {
-    // Este repositorio se mantiene vacío ya que los datos vienen de la API externa SWAPI
-    // En el futuro se podría usar para cachear datos o almacenar favoritos del usuario
-}
+public class PersonRepository extends CatalogRepository<PersonResponseDto> {
 
+    public PersonRepository() {
+        super("people", PersonResponseDto::getId, PersonResponseDto::getName, Arrays.asList(
+                CatalogField.text("name", PersonResponseDto::getName),
+                CatalogField.numeric("height", PersonResponseDto::getHeight),
+                CatalogField.numeric("mass", PersonResponseDto::getMass),
+                CatalogField.text("hairColor", PersonResponseDto::getHairColor),
+                CatalogField.text("skinColor", PersonResponseDto::getSkinColor),
+                CatalogField.text("eyeColor", PersonResponseDto::getEyeColor),
+                CatalogField.text("gender", PersonResponseDto::getGender)
+        ), Arrays.asList(
+                CatalogField.text("gender", PersonResponseDto::getGender),
+                CatalogField.text("eyeColor", PersonResponseDto::getEyeColor)
+        ));
+    }
+
+    @Override
+    protected void canonicalize(PersonResponseDto person, StringPool pool) {
+        person.setHairColor(pool.canonical(person.getHairColor()));
+        person.setSkinColor(pool.canonical(person.getSkinColor()));
+        person.setEyeColor(pool.canonical(person.getEyeColor()));
+        person.setGender(pool.canonical(person.getGender()));
+        person.setHomeworld(pool.canonical(person.getHomeworld()));
+    }
+}
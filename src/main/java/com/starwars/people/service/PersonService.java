@@ -7,14 +7,18 @@ import com.starwars.people.dto.PersonResponseDto;
 import com.starwars.shared.exception.ResourceNotFoundException;
 import com.starwars.people.mapper.PersonMapper;
 import com.starwars.shared.service.BaseStarWarsService;
+import com.starwars.shared.catalog.CatalogPage;
+import com.starwars.shared.catalog.CatalogQuery;
+import com.starwars.shared.catalog.CatalogSnapshot;
+import com.starwars.people.repository.PersonRepository;
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -22,8 +26,18 @@ import java.util.stream.Collectors;
 public class PersonService extends BaseStarWarsService {
 
     private final PersonMapper personMapper;
+    private final PersonRepository personRepository;
 
     public PageResponseDto<PersonResponseDto> listOrSearchPeople(String name, int page, int limit) {
+        return listOrSearchPeople(name, page, limit, CatalogQuery.empty());
+    }
+
+    public PageResponseDto<PersonResponseDto> listOrSearchPeople(String name, int page, int limit, CatalogQuery query) {
+        if (query.requiresCatalog()) {
+            CatalogSnapshot<PersonResponseDto> catalog = personRepository.getSnapshot(this::loadCatalog);
+            CatalogPage<PersonResponseDto> result = catalog.query(name, query, offsetOf(page, limit), limit);
+            return createCatalogPageResponse(result, page, limit);
+        }
         if (name != null && !name.trim().isEmpty()) {
             String url = UriComponentsBuilder.fromHttpUrl(baseUrl + "/people")
                     .queryParam("name", name.trim())
@@ -55,7 +69,7 @@ public class PersonService extends BaseStarWarsService {
                 return createPageResponse(people, apiResponse, page);
             }
         }
-        return createEmptyPage();
+        return createFallbackPage();
     }
 
     public PersonResponseDto getPersonById(String id) {
@@ -66,10 +80,7 @@ public class PersonService extends BaseStarWarsService {
             ApiEntityResponse<ApiDetailResult<PersonApiDto>> apiResponse = fetchApiData(url, typeRef);
 
             if (apiResponse != null && apiResponse.getResult() != null && apiResponse.getResult().getProperties() != null) {
-                ApiResult<PersonApiDto> tempResult = new ApiResult<>();
-                tempResult.setUid(apiResponse.getResult().getUid());
-                tempResult.setProperties(apiResponse.getResult().getProperties());
-                return personMapper.toResponseDtoFromDetail(tempResult);
+                return personMapper.toResponseDtoFromDetail(apiResponse.getResult());
             }
 
             throw new ResourceNotFoundException("Person", "id", id);
@@ -79,15 +90,26 @@ public class PersonService extends BaseStarWarsService {
         }
     }
 
+    /**
+     * Todos los elementos del catálogo local, ordenados por id, para exportar la colección completa.
+     */
+    public List<PersonResponseDto> exportPeople() {
+        return personRepository.getSnapshot(this::loadCatalog).getItems();
+    }
+
+    private List<PersonResponseDto> loadCatalog() {
+        ParameterizedTypeReference<ApiPageResponse<PersonApiDto>> typeRef =
+                new ParameterizedTypeReference<ApiPageResponse<PersonApiDto>>() {};
+        List<ApiDetailResult<PersonApiDto>> results = fetchAllPages(baseUrl + "/people", typeRef);
+        return results != null ? mapDetailResultToResponse(results) : null;
+    }
+
     private List<PersonResponseDto> mapDetailResultToResponse(List<ApiDetailResult<PersonApiDto>> results) {
-        return results.stream()
-                .map(detailResult -> {
-                    ApiResult<PersonApiDto> tempResult = new ApiResult<>();
-                    tempResult.setUid(detailResult.getUid());
-                    tempResult.setProperties(detailResult.getProperties());
-                    return personMapper.toResponseDtoFromDetail(tempResult);
-                })
-                .collect(Collectors.toList());
+        List<PersonResponseDto> mapped = new ArrayList<>(results.size());
+        for (ApiDetailResult<PersonApiDto> detailResult : results) {
+            mapped.add(personMapper.toResponseDtoFromDetail(detailResult));
+        }
+        return mapped;
     }
 }
 
@@ -0,0 +1,20 @@
+package com.starwars.shared.catalog;
+
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * Publicado cuando una renovación del catálogo encuentra elementos agregados, modificados o
+ * eliminados respecto de la copia anterior. Permite invalidar lo que se haya derivado de esos elementos.
+ */
+@Getter
+public class CatalogChangedEvent {
+    private final String resourceName;
+    private final Set<String> changedIds;
+
+    public CatalogChangedEvent(String resourceName, Set<String> changedIds) {
+        this.resourceName = resourceName;
+        this.changedIds = changedIds;
+    }
+}
@@ -0,0 +1,71 @@
+package com.starwars.shared.catalog;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Cursor opaco para paginación por clave. Guarda el ordenamiento, los valores de las claves de
+ * ordenamiento y el id del elemento límite, por lo que no depende de posiciones dentro de la copia
+ * local y sigue siendo válido después de que el catálogo se renueva.
+ */
+@Getter
+public class CatalogCursor {
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "\u001f";
+    private static final String UNKNOWN = "~";
+    private static final String PRESENT = "=";
+
+    /** true si el cursor pide los elementos anteriores al límite en lugar de los siguientes. */
+    private final boolean backward;
+    private final List<SortOrder> sort;
+    private final String id;
+    private final List<String> keys;
+
+    public CatalogCursor(boolean backward, List<SortOrder> sort, String id, List<String> keys) {
+        this.backward = backward;
+        this.sort = sort;
+        this.id = id;
+        this.keys = keys;
+    }
+
+    public String encode() {
+        StringBuilder builder = new StringBuilder(VERSION)
+                .append(SEPARATOR).append(backward ? "b" : "a")
+                .append(SEPARATOR).append(sort.stream().map(SortOrder::toString).collect(Collectors.joining(",")))
+                .append(SEPARATOR).append(id);
+        for (String key : keys) {
+            builder.append(SEPARATOR).append(key == null ? UNKNOWN : PRESENT + key);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CatalogCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, -1);
+            if (parts.length < 4 || !VERSION.equals(parts[0]) || !(parts[1].equals("a") || parts[1].equals("b"))) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            List<SortOrder> sort = parts[2].isEmpty()
+                    ? Collections.emptyList()
+                    : SortOrder.parse(Collections.singletonList(parts[2]));
+            List<String> keys = new ArrayList<>();
+            for (int i = 4; i < parts.length; i++) {
+                keys.add(parts[i].startsWith(PRESENT) ? parts[i].substring(1) : null);
+            }
+            if (keys.size() != sort.size()) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return new CatalogCursor(parts[1].equals("b"), sort, parts[3], keys);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.starwars.shared.catalog;
+
+import lombok.Getter;
+
+import java.util.function.Function;
+
+/**
+ * Describe un atributo de un recurso que puede usarse para ordenar el catálogo local.
+ * Los atributos numéricos de SWAPI llegan como texto ("1,358", "unknown", "n/a"),
+ * por lo que se parsean una única vez al construir el índice.
+ */
+@Getter
+public class CatalogField<T> {
+
+    public enum Type { TEXT, NUMERIC }
+
+    private final String name;
+    private final Type type;
+    private final Function<T, String> extractor;
+
+    private CatalogField(String name, Type type, Function<T, String> extractor) {
+        this.name = name;
+        this.type = type;
+        this.extractor = extractor;
+    }
+
+    public static <T> CatalogField<T> text(String name, Function<T, String> extractor) {
+        return new CatalogField<>(name, Type.TEXT, extractor);
+    }
+
+    public static <T> CatalogField<T> numeric(String name, Function<T, String> extractor) {
+        return new CatalogField<>(name, Type.NUMERIC, extractor);
+    }
+
+    /**
+     * Convierte un valor numérico de SWAPI a double. Devuelve NaN para valores desconocidos.
+     */
+    public static double parseNumber(String raw) {
+        if (raw == null) {
+            return Double.NaN;
+        }
+        String normalized = raw.replace(",", "").trim();
+        if (normalized.isEmpty()) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(normalized);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.starwars.shared.catalog;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de una consulta sobre el catálogo local: la porción pedida, el total de coincidencias
+ * y, si se pidieron, los conteos por valor de cada faceta. En modo cursor incluye además los
+ * cursores hacia la página siguiente y la anterior, null cuando no existen.
+ */
+@Getter
+@Builder
+public class CatalogPage<T> {
+    private final List<T> content;
+    private final int totalElements;
+    private final Map<String, Map<String, Integer>> facets;
+    private final boolean keyset;
+    private final String nextCursor;
+    private final String previousCursor;
+}
@@ -0,0 +1,58 @@
+package com.starwars.shared.catalog;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opciones de consulta que sólo pueden resolverse sobre la copia local del catálogo.
+ * Cuando no se indica ninguna, los servicios siguen delegando la paginación en SWAPI.
+ */
+@Getter
+@Builder
+public class CatalogQuery {
+
+    @Builder.Default
+    private List<SortOrder> sort = Collections.emptyList();
+
+    @Builder.Default
+    private List<RangeFilter> ranges = Collections.emptyList();
+
+    /** Campos facetables cuyos conteos se devuelven junto con la página. */
+    @Builder.Default
+    private List<String> facets = Collections.emptyList();
+
+    /** Valores pedidos por campo facetable: OR dentro de un campo, AND entre campos. */
+    @Builder.Default
+    private Map<String, List<String>> facetFilters = Collections.emptyMap();
+
+    /**
+     * Cursor de paginación por clave. null usa paginación por página; un cursor vacío pide
+     * la primera página en modo cursor.
+     */
+    private String cursor;
+
+    public static CatalogQuery empty() {
+        return CatalogQuery.builder().build();
+    }
+
+    public boolean requiresCatalog() {
+        return !sort.isEmpty() || !ranges.isEmpty() || !facets.isEmpty() || hasFacetFilters() || isKeyset();
+    }
+
+    public boolean isKeyset() {
+        return cursor != null;
+    }
+
+    private boolean hasFacetFilters() {
+        for (List<String> values : facetFilters.values()) {
+            if (values != null && !values.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
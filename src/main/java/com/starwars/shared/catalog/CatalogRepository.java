@@ -0,0 +1,164 @@
+package com.starwars.shared.catalog;
+
+import com.starwars.shared.http.DegradedResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Base de los repositorios en memoria que mantienen una copia local de un recurso de SWAPI.
+ * La copia se carga bajo demanda y se renueva cuando supera el TTL configurado. Solo la primera carga
+ * bloquea: con una copia vencida, un único request la renueva y los demás siguen respondiendo con la
+ * anterior mientras tanto. Si la recarga falla se sigue sirviendo la copia anterior; si falla la primera carga se responde con una copia vacía
+ * marcada como {@link DegradedResponse}. Al renovarse publica un {@link CatalogChangedEvent} con los ids
+ * que aparecieron, cambiaron o desaparecieron, comparando cada elemento con su versión anterior; la
+ * primera carga publica todos sus ids.
+ *
+ * <p>Antes de indexar, cada elemento pasa por {@link #canonicalize}, donde el repositorio reemplaza sus
+ * atributos de baja cardinalidad por las instancias de un {@link StringPool} propio. El pool sobrevive a
+ * las renovaciones, así que una recarga reutiliza las instancias de la copia anterior.
+ */
+@Slf4j
+public abstract class CatalogRepository<T> {
+
+    private static final int STRING_POOL_MAX_ENTRIES = 4096;
+
+    @Value("${swapi.catalog.ttl-seconds:3600}")
+    private long ttlSeconds;
+
+    @Value("${swapi.catalog.intern-strings:true}")
+    private boolean internStrings = true;
+
+    @Autowired(required = false)
+    private ApplicationEventPublisher eventPublisher;
+
+    private final String resourceName;
+    private final Function<T, String> idExtractor;
+    private final Function<T, String> nameExtractor;
+    private final List<CatalogField<T>> fields;
+    private final List<CatalogField<T>> facets;
+    private final List<CatalogField<T>> textFields;
+    private final StringPool stringPool = new StringPool(STRING_POOL_MAX_ENTRIES);
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile CatalogSnapshot<T> snapshot;
+
+    protected CatalogRepository(String resourceName, Function<T, String> idExtractor, Function<T, String> nameExtractor,
+                                List<CatalogField<T>> fields, List<CatalogField<T>> facets) {
+        this(resourceName, idExtractor, nameExtractor, fields, facets, Collections.emptyList());
+    }
+
+    /**
+     * @param textFields campos indexados para búsqueda de texto completo; el índice se reconstruye en cada renovación
+     */
+    protected CatalogRepository(String resourceName, Function<T, String> idExtractor, Function<T, String> nameExtractor,
+                                List<CatalogField<T>> fields, List<CatalogField<T>> facets,
+                                List<CatalogField<T>> textFields) {
+        this.resourceName = resourceName;
+        this.textFields = textFields;
+        this.idExtractor = idExtractor;
+        this.nameExtractor = nameExtractor;
+        this.fields = fields;
+        this.facets = facets;
+    }
+
+    /**
+     * Devuelve la copia vigente, cargándola con {@code loader} si no existe o expiró. Si expiró y otro hilo
+     * ya la está renovando, devuelve la copia vencida sin esperar.
+     * El loader debe devolver null si no pudo obtener el recurso completo.
+     */
+    public CatalogSnapshot<T> getSnapshot(Supplier<List<T>> loader) {
+        CatalogSnapshot<T> current = snapshot;
+        if (current != null && !isExpired(current)) {
+            return current;
+        }
+        if (current == null) {
+            refreshLock.lock();
+        } else if (!refreshLock.tryLock()) {
+            return current;
+        }
+        try {
+            current = snapshot;
+            if (current != null && !isExpired(current)) {
+                return current;
+            }
+            List<T> items = loader.get();
+            if (items != null) {
+                if (internStrings) {
+                    for (T item : items) {
+                        canonicalize(item, stringPool);
+                    }
+                }
+                CatalogSnapshot<T> previous = current;
+                current = new CatalogSnapshot<>(items, idExtractor, nameExtractor, fields, facets, textFields);
+                snapshot = current;
+                publishChanges(previous, current);
+                log.info("Catálogo local de {} actualizado con {} elementos", resourceName, items.size());
+            } else if (current != null) {
+                log.warn("No se pudo actualizar el catálogo de {}; se mantiene la copia anterior", resourceName);
+            } else {
+                log.warn("No se pudo cargar el catálogo de {}", resourceName);
+                DegradedResponse.mark();
+                return new CatalogSnapshot<>(Collections.emptyList(), idExtractor, nameExtractor, fields, facets, textFields);
+            }
+            return current;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Reemplaza los atributos de texto repetidos de {@code item} por su instancia canónica en {@code pool}.
+     * Por defecto no hace nada; los repositorios lo sobrescriben con los atributos de baja cardinalidad
+     * de su recurso. No debe tocar atributos casi únicos (nombres, modelos): solo llenarían el pool.
+     */
+    protected void canonicalize(T item, StringPool pool) {
+    }
+
+    private boolean isExpired(CatalogSnapshot<T> current) {
+        return System.currentTimeMillis() - current.getLoadedAt() >= ttlSeconds * 1000L;
+    }
+
+    private void publishChanges(CatalogSnapshot<T> previous, CatalogSnapshot<T> current) {
+        if (eventPublisher == null) {
+            return;
+        }
+        if (previous == null) {
+            // Primera carga: lo que se respondió antes no salió de esta copia, así que todo cuenta como agregado
+            Set<String> loaded = new HashSet<>();
+            for (T item : current.getItems()) {
+                loaded.add(idExtractor.apply(item));
+            }
+            eventPublisher.publishEvent(new CatalogChangedEvent(resourceName, loaded));
+            return;
+        }
+        Map<String, T> currentById = new HashMap<>();
+        for (T item : current.getItems()) {
+            currentById.put(idExtractor.apply(item), item);
+        }
+        Set<String> changed = new HashSet<>();
+        for (T item : previous.getItems()) {
+            String id = idExtractor.apply(item);
+            if (!Objects.equals(item, currentById.remove(id))) {
+                changed.add(id);
+            }
+        }
+        // Lo que quedó en el mapa no existía en la copia anterior
+        changed.addAll(currentById.keySet());
+        if (!changed.isEmpty()) {
+            log.info("Catálogo de {}: {} elementos agregados, modificados o eliminados", resourceName, changed.size());
+            eventPublisher.publishEvent(new CatalogChangedEvent(resourceName, changed));
+        }
+    }
+}
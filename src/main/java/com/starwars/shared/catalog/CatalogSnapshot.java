@@ -0,0 +1,474 @@
+package com.starwars.shared.catalog;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Copia local e inmutable de un recurso de SWAPI junto con sus índices de ordenamiento.
+ * Cada campo ordenable tiene sus permutaciones ascendente y descendente precalculadas,
+ * de modo que una página ordenada cuesta O(limit) en lugar de O(n log n) por request.
+ * Los ordenamientos por varias claves se calculan una vez y se reutilizan mientras viva la copia.
+ * Los campos facetables tienen un BitSet por valor, así que filtros y conteos son operaciones de bits.
+ * Los elementos se guardan ordenados por id, que desempata cualquier ordenamiento; así la posición de
+ * un elemento queda determinada por sus claves y la paginación por cursor es estable entre renovaciones.
+ * Si se configuran campos de texto, la copia incluye además un índice invertido para búsqueda de texto completo.
+ */
+public class CatalogSnapshot<T> {
+
+    private static final int MAX_CACHED_ORDERINGS = 64;
+
+    private final List<T> items;
+    private final String[] ids;
+    private final String[] searchKeys;
+    private final Map<String, FieldIndex> indexes;
+    private final Map<String, FacetIndex> facetIndexes;
+    private final TextIndex textIndex;
+    private final Map<String, int[]> orderingCache = new ConcurrentHashMap<>();
+    private final Map<String, int[]> inverseOrderingCache = new ConcurrentHashMap<>();
+    private final long loadedAt;
+
+    public CatalogSnapshot(List<T> items, Function<T, String> idExtractor, Function<T, String> nameExtractor,
+                           List<CatalogField<T>> fields) {
+        this(items, idExtractor, nameExtractor, fields, Collections.emptyList());
+    }
+
+    public CatalogSnapshot(List<T> items, Function<T, String> idExtractor, Function<T, String> nameExtractor,
+                           List<CatalogField<T>> fields, List<CatalogField<T>> facetFields) {
+        this(items, idExtractor, nameExtractor, fields, facetFields, Collections.emptyList());
+    }
+
+    public CatalogSnapshot(List<T> items, Function<T, String> idExtractor, Function<T, String> nameExtractor,
+                           List<CatalogField<T>> fields, List<CatalogField<T>> facetFields,
+                           List<CatalogField<T>> textFields) {
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparing(item -> idOf(idExtractor, item), CatalogSnapshot::compareIds));
+        this.items = Collections.unmodifiableList(sorted);
+        this.ids = new String[this.items.size()];
+        this.searchKeys = new String[this.items.size()];
+        for (int i = 0; i < searchKeys.length; i++) {
+            ids[i] = idOf(idExtractor, this.items.get(i));
+            String name = nameExtractor.apply(this.items.get(i));
+            searchKeys[i] = name == null ? "" : name.toLowerCase(Locale.ROOT);
+        }
+        this.indexes = new LinkedHashMap<>();
+        for (CatalogField<T> field : fields) {
+            indexes.put(field.getName(), FieldIndex.build(this.items, field));
+        }
+        this.facetIndexes = new LinkedHashMap<>();
+        for (CatalogField<T> field : facetFields) {
+            facetIndexes.put(field.getName(), FacetIndex.build(this.items, field));
+        }
+        this.textIndex = textFields.isEmpty() ? null : TextIndex.build(this.items, textFields);
+        this.loadedAt = System.currentTimeMillis();
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+    private static <T> String idOf(Function<T, String> idExtractor, T item) {
+        String id = idExtractor.apply(item);
+        return id == null ? "" : id;
+    }
+
+    /**
+     * Los ids de SWAPI son numéricos; se comparan como números para que "10" quede después de "9".
+     */
+    static int compareIds(String a, String b) {
+        try {
+            return Long.compare(Long.parseLong(a), Long.parseLong(b));
+        } catch (NumberFormatException e) {
+            return a.compareTo(b);
+        }
+    }
+
+    /**
+     * Filtra por nombre (no sensible a mayúsculas), rangos numéricos y facetas, ordena según la consulta
+     * y devuelve la porción {@code [offset, offset + limit)} junto con el total de coincidencias.
+     * En modo cursor se ignora {@code offset} y la página empieza a continuación del elemento del cursor.
+     */
+    public CatalogPage<T> query(String name, CatalogQuery query, int offset, int limit) {
+        CatalogCursor cursor = decodeCursor(query);
+        List<SortOrder> sort = cursor != null ? cursor.getSort() : query.getSort();
+        int[] ordering = ordering(sort);
+        BitSet base = filter(name, query);
+        Map<String, BitSet> facetMatches = facetMatches(query.getFacetFilters());
+        BitSet matches = intersect(base, facetMatches, null);
+        Map<String, Map<String, Integer>> facets = facetCounts(query.getFacets(), base, facetMatches);
+
+        int total = matches == null ? items.size() : matches.cardinality();
+        if (query.isKeyset()) {
+            return keysetPage(sort, ordering, matches, cursor, limit, total, facets);
+        }
+        List<T> content = new ArrayList<>(Math.max(0, Math.min(limit, total - offset)));
+        if (offset >= total) {
+            return CatalogPage.<T>builder().content(content).totalElements(total).facets(facets).build();
+        }
+
+        if (matches == null) {
+            int end = Math.min(total, offset + limit);
+            for (int position = offset; position < end; position++) {
+                content.add(items.get(indexAt(ordering, position)));
+            }
+        } else {
+            int skipped = 0;
+            for (int position = 0; position < items.size() && content.size() < limit; position++) {
+                int index = indexAt(ordering, position);
+                if (!matches.get(index)) {
+                    continue;
+                }
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    content.add(items.get(index));
+                }
+            }
+        }
+        return CatalogPage.<T>builder().content(content).totalElements(total).facets(facets).build();
+    }
+
+    /**
+     * Búsqueda de texto completo ordenada por relevancia. Las palabras se combinan con OR y las
+     * frases entre comillas deben aparecer tal cual.
+     */
+    public List<SearchHit<T>> search(String text) {
+        if (textIndex == null) {
+            throw new IllegalArgumentException("Este catálogo no admite búsqueda de texto");
+        }
+        if (text == null || text.trim().isEmpty()) {
+            throw new IllegalArgumentException("El texto a buscar es obligatorio");
+        }
+        List<TextMatch> matches = textIndex.search(text);
+        List<SearchHit<T>> hits = new ArrayList<>(matches.size());
+        for (TextMatch match : matches) {
+            hits.add(new SearchHit<>(items.get(match.getIndex()), match.getScore(), match.getSnippets()));
+        }
+        return hits;
+    }
+
+    /**
+     * Decodifica el cursor de la consulta; null si no hay cursor o se pide la primera página.
+     * Un cursor fija su ordenamiento, así que un {@code sort} distinto en la misma request es un error.
+     */
+    private CatalogCursor decodeCursor(CatalogQuery query) {
+        if (!query.isKeyset() || query.getCursor().isEmpty()) {
+            return null;
+        }
+        CatalogCursor cursor = CatalogCursor.decode(query.getCursor());
+        if (!query.getSort().isEmpty() && !query.getSort().toString().equals(cursor.getSort().toString())) {
+            throw new IllegalArgumentException("El ordenamiento no coincide con el del cursor");
+        }
+        return cursor;
+    }
+
+    /**
+     * Página por clave: busca con búsqueda binaria la posición del elemento del cursor dentro del
+     * ordenamiento y salta entre coincidencias con {@link BitSet#nextSetBit}/{@link BitSet#previousSetBit}
+     * sobre un bitset indexado por posición. Ni la página ni los cursores recorren los elementos
+     * anteriores, así que una página profunda cuesta lo mismo que la primera.
+     */
+    private CatalogPage<T> keysetPage(List<SortOrder> sort, int[] ordering, BitSet matches, CatalogCursor cursor,
+                                      int limit, int total, Map<String, Map<String, Integer>> facets) {
+        BitSet matchingPositions = matches == null ? null : toPositions(sort, ordering, matches);
+        boolean backward = cursor != null && cursor.isBackward();
+        List<Integer> positions = new ArrayList<>(Math.min(limit, total));
+        if (backward) {
+            // Antes del cursor: posiciones estrictamente menores que la del elemento límite
+            int end = firstPosition(sort, ordering, cursor, false);
+            for (int position = previousMatch(matchingPositions, end - 1); position >= 0 && positions.size() < limit;
+                 position = previousMatch(matchingPositions, position - 1)) {
+                positions.add(position);
+            }
+            Collections.reverse(positions);
+        } else {
+            int start = cursor == null ? 0 : firstPosition(sort, ordering, cursor, true);
+            for (int position = nextMatch(matchingPositions, start); position >= 0 && positions.size() < limit;
+                 position = nextMatch(matchingPositions, position + 1)) {
+                positions.add(position);
+            }
+        }
+
+        List<T> content = new ArrayList<>(positions.size());
+        for (int position : positions) {
+            content.add(items.get(indexAt(ordering, position)));
+        }
+        String nextCursor = null;
+        String previousCursor = null;
+        if (!positions.isEmpty()) {
+            int first = positions.get(0);
+            int last = positions.get(positions.size() - 1);
+            if (nextMatch(matchingPositions, last + 1) >= 0) {
+                nextCursor = cursorFor(sort, indexAt(ordering, last), false).encode();
+            }
+            if (previousMatch(matchingPositions, first - 1) >= 0) {
+                previousCursor = cursorFor(sort, indexAt(ordering, first), true).encode();
+            }
+        }
+        return CatalogPage.<T>builder()
+                .content(content)
+                .totalElements(total)
+                .facets(facets)
+                .keyset(true)
+                .nextCursor(nextCursor)
+                .previousCursor(previousCursor)
+                .build();
+    }
+
+    /**
+     * Primera posición cuyo elemento va después del cursor ({@code after}) o no antes que él.
+     * El ordenamiento desempata por id, así que la comparación es total y la búsqueda binaria es válida.
+     */
+    private int firstPosition(List<SortOrder> sort, int[] ordering, CatalogCursor cursor, boolean after) {
+        int low = 0;
+        int high = items.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int comparison = compareToCursor(sort, indexAt(ordering, mid), cursor);
+            if (after ? comparison <= 0 : comparison < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int compareToCursor(List<SortOrder> sort, int index, CatalogCursor cursor) {
+        for (int k = 0; k < sort.size(); k++) {
+            SortOrder order = sort.get(k);
+            int comparison = indexes.get(order.getField()).compareToKey(index, cursor.getKeys().get(k), order.isAscending());
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return compareIds(ids[index], cursor.getId());
+    }
+
+    private CatalogCursor cursorFor(List<SortOrder> sort, int index, boolean backward) {
+        List<String> keys = new ArrayList<>(sort.size());
+        for (SortOrder order : sort) {
+            keys.add(indexes.get(order.getField()).keyOf(index));
+        }
+        return new CatalogCursor(backward, sort, ids[index], keys);
+    }
+
+    /**
+     * Primera posición coincidente a partir de {@code from}, o -1. Sin filtros todas las posiciones coinciden.
+     */
+    private int nextMatch(BitSet matchingPositions, int from) {
+        if (matchingPositions == null) {
+            return from < items.size() ? from : -1;
+        }
+        return matchingPositions.nextSetBit(from);
+    }
+
+    /**
+     * Última posición coincidente hasta {@code from} inclusive, o -1.
+     */
+    private static int previousMatch(BitSet matchingPositions, int from) {
+        if (from < 0) {
+            return -1;
+        }
+        return matchingPositions == null ? from : matchingPositions.previousSetBit(from);
+    }
+
+    /**
+     * Pasa las coincidencias de índice de elemento a posición dentro del ordenamiento. Recorre solo los
+     * bits encendidos, con la permutación inversa precalculada por ordenamiento.
+     */
+    private BitSet toPositions(List<SortOrder> sort, int[] ordering, BitSet matches) {
+        if (ordering == null) {
+            return matches;
+        }
+        int[] positionOf = inverseOrdering(sort, ordering);
+        BitSet positions = new BitSet(items.size());
+        for (int index = matches.nextSetBit(0); index >= 0; index = matches.nextSetBit(index + 1)) {
+            positions.set(positionOf[index]);
+        }
+        return positions;
+    }
+
+    private int[] inverseOrdering(List<SortOrder> sort, int[] ordering) {
+        String key = sort.toString();
+        int[] cached = inverseOrderingCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        int[] inverse = new int[ordering.length];
+        for (int position = 0; position < ordering.length; position++) {
+            inverse[ordering[position]] = position;
+        }
+        if (inverseOrderingCache.size() < MAX_CACHED_ORDERINGS) {
+            inverseOrderingCache.putIfAbsent(key, inverse);
+        }
+        return inverse;
+    }
+
+    private static int indexAt(int[] ordering, int position) {
+        return ordering == null ? position : ordering[position];
+    }
+
+    private Map<String, BitSet> facetMatches(Map<String, List<String>> facetFilters) {
+        Map<String, BitSet> matches = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> filter : facetFilters.entrySet()) {
+            if (filter.getValue() == null || filter.getValue().isEmpty()) {
+                continue;
+            }
+            matches.put(filter.getKey(), facetIndex(filter.getKey()).anyOf(filter.getValue()));
+        }
+        return matches;
+    }
+
+    /**
+     * Conteos por valor de cada faceta pedida. Cada faceta se cuenta aplicando todos los filtros
+     * excepto el suyo propio, para que la barra lateral muestre también las alternativas disponibles.
+     */
+    private Map<String, Map<String, Integer>> facetCounts(List<String> requested, BitSet base, Map<String, BitSet> facetMatches) {
+        if (requested.isEmpty()) {
+            return null;
+        }
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        for (String facet : requested) {
+            FacetIndex index = facetIndex(facet);
+            facets.put(facet, index.count(intersect(base, facetMatches, facet)));
+        }
+        return facets;
+    }
+
+    /**
+     * AND de los filtros base y de faceta, omitiendo la faceta {@code excluded}. Devuelve null si no hay filtros.
+     */
+    private BitSet intersect(BitSet base, Map<String, BitSet> facetMatches, String excluded) {
+        BitSet result = base == null ? null : (BitSet) base.clone();
+        for (Map.Entry<String, BitSet> entry : facetMatches.entrySet()) {
+            if (entry.getKey().equals(excluded)) {
+                continue;
+            }
+            if (result == null) {
+                result = (BitSet) entry.getValue().clone();
+            } else {
+                result.and(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    private FacetIndex facetIndex(String facet) {
+        FacetIndex index = facetIndexes.get(facet);
+        if (index == null) {
+            throw new IllegalArgumentException("No se puede facetar por '" + facet
+                    + "'. Facetas permitidas: " + facetIndexes.keySet());
+        }
+        return index;
+    }
+
+    /**
+     * Intersección de todos los filtros de la consulta, o null si no hay ninguno.
+     */
+    private BitSet filter(String name, CatalogQuery query) {
+        BitSet matches = matchName(name);
+        for (RangeFilter range : query.getRanges()) {
+            FieldIndex index = indexes.get(range.getField());
+            if (index == null || !index.isNumeric()) {
+                throw new IllegalArgumentException("No se puede filtrar por rango en '" + range.getField() + "'");
+            }
+            BitSet inRange = index.range(range.getMin(), range.getMax());
+            if (matches == null) {
+                matches = inRange;
+            } else {
+                matches.and(inRange);
+            }
+        }
+        return matches;
+    }
+
+    private BitSet matchName(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return null;
+        }
+        String term = name.trim().toLowerCase(Locale.ROOT);
+        BitSet matches = new BitSet(items.size());
+        for (int i = 0; i < searchKeys.length; i++) {
+            if (searchKeys[i].contains(term)) {
+                matches.set(i);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Devuelve la permutación de índices para el ordenamiento pedido, o null para el orden nativo.
+     */
+    int[] ordering(List<SortOrder> sort) {
+        if (sort == null || sort.isEmpty()) {
+            return null;
+        }
+        for (SortOrder order : sort) {
+            if (!indexes.containsKey(order.getField())) {
+                throw new IllegalArgumentException("No se puede ordenar por '" + order.getField()
+                        + "'. Campos permitidos: " + indexes.keySet());
+            }
+        }
+        if (sort.size() == 1) {
+            SortOrder order = sort.get(0);
+            return indexes.get(order.getField()).permutation(order.isAscending());
+        }
+
+        String key = sort.toString();
+        int[] cached = orderingCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        int[] computed = composeOrdering(sort);
+        if (orderingCache.size() < MAX_CACHED_ORDERINGS) {
+            orderingCache.putIfAbsent(key, computed);
+        }
+        return computed;
+    }
+
+    private int[] composeOrdering(List<SortOrder> sort) {
+        FieldIndex[] keys = new FieldIndex[sort.size()];
+        for (int k = 0; k < keys.length; k++) {
+            keys[k] = indexes.get(sort.get(k).getField());
+        }
+        List<Integer> positions = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            positions.add(i);
+        }
+        positions.sort((a, b) -> {
+            for (int k = 0; k < keys.length; k++) {
+                int rankA = keys[k].rankOf(a);
+                int rankB = keys[k].rankOf(b);
+                if (rankA == rankB) {
+                    continue;
+                }
+                // Los desconocidos van al final sin importar la dirección
+                if (rankA == FieldIndex.UNKNOWN_RANK) {
+                    return 1;
+                }
+                if (rankB == FieldIndex.UNKNOWN_RANK) {
+                    return -1;
+                }
+                return sort.get(k).isAscending() ? Integer.compare(rankA, rankB) : Integer.compare(rankB, rankA);
+            }
+            return Integer.compare(a, b);
+        });
+        int[] ordering = new int[positions.size()];
+        for (int i = 0; i < ordering.length; i++) {
+            ordering[i] = positions.get(i);
+        }
+        return ordering;
+    }
+}
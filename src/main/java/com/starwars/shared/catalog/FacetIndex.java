@@ -0,0 +1,77 @@
+package com.starwars.shared.catalog;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Índice de un campo facetable: un BitSet por valor distinto. Los valores se comparan sin
+ * distinguir mayúsculas y se exponen con la forma en que aparecen por primera vez en SWAPI.
+ * Los BitSet son compartidos entre requests, por lo que nunca deben modificarse.
+ */
+class FacetIndex {
+
+    private final Map<String, BitSet> bitsets = new LinkedHashMap<>();
+    private final Map<String, String> labels = new LinkedHashMap<>();
+
+    static <T> FacetIndex build(List<T> items, CatalogField<T> field) {
+        FacetIndex index = new FacetIndex();
+        for (int i = 0; i < items.size(); i++) {
+            String value = field.getExtractor().apply(items.get(i));
+            if (value == null || value.trim().isEmpty()) {
+                continue;
+            }
+            String label = value.trim();
+            String key = label.toLowerCase(Locale.ROOT);
+            index.labels.putIfAbsent(key, label);
+            index.bitsets.computeIfAbsent(key, k -> new BitSet(items.size())).set(i);
+        }
+        return index;
+    }
+
+    /**
+     * Unión (OR) de los elementos que tienen alguno de los valores indicados.
+     */
+    BitSet anyOf(List<String> values) {
+        BitSet union = new BitSet();
+        for (String value : values) {
+            BitSet bitset = bitsets.get(value.trim().toLowerCase(Locale.ROOT));
+            if (bitset != null) {
+                union.or(bitset);
+            }
+        }
+        return union;
+    }
+
+    /**
+     * Cantidad de elementos de {@code scope} por valor, de mayor a menor. Un scope null abarca todo el catálogo.
+     */
+    Map<String, Integer> count(BitSet scope) {
+        List<Map.Entry<String, Integer>> counts = new ArrayList<>();
+        for (Map.Entry<String, BitSet> entry : bitsets.entrySet()) {
+            int count;
+            if (scope == null) {
+                count = entry.getValue().cardinality();
+            } else {
+                BitSet intersection = (BitSet) entry.getValue().clone();
+                intersection.and(scope);
+                count = intersection.cardinality();
+            }
+            if (count > 0) {
+                counts.add(new AbstractMap.SimpleEntry<>(labels.get(entry.getKey()), count));
+            }
+        }
+        counts.sort(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey(String.CASE_INSENSITIVE_ORDER)));
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : counts) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+}
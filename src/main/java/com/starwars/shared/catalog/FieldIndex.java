@@ -0,0 +1,212 @@
+package com.starwars.shared.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Permutaciones precalculadas de un campo ordenable. Los valores desconocidos quedan siempre
+ * al final, en ambos sentidos, y los empates conservan el orden nativo de SWAPI.
+ * Los campos numéricos guardan además sus valores conocidos ordenados para resolver rangos
+ * con búsqueda binaria.
+ */
+class FieldIndex {
+
+    static final int UNKNOWN_RANK = Integer.MAX_VALUE;
+
+    private final int[] ascending;
+    private final int[] descending;
+    private final int[] rank;
+    private final int knownCount;
+    private final double[] sortedValues;
+    private final double[] numbers;
+    private final String[] texts;
+
+    private FieldIndex(int[] ascending, int[] descending, int[] rank, int knownCount,
+                       double[] sortedValues, double[] numbers, String[] texts) {
+        this.ascending = ascending;
+        this.descending = descending;
+        this.rank = rank;
+        this.knownCount = knownCount;
+        this.sortedValues = sortedValues;
+        this.numbers = numbers;
+        this.texts = texts;
+    }
+
+    static <T> FieldIndex build(List<T> items, CatalogField<T> field) {
+        int size = items.size();
+        List<Integer> known = new ArrayList<>(size);
+        List<Integer> unknown = new ArrayList<>();
+        Comparator<Integer> comparator;
+        double[] values = null;
+        String[] texts = null;
+
+        if (field.getType() == CatalogField.Type.NUMERIC) {
+            values = new double[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = CatalogField.parseNumber(field.getExtractor().apply(items.get(i)));
+                (Double.isNaN(values[i]) ? unknown : known).add(i);
+            }
+            double[] numbers = values;
+            comparator = (a, b) -> Double.compare(numbers[a], numbers[b]);
+        } else {
+            texts = new String[size];
+            for (int i = 0; i < size; i++) {
+                texts[i] = normalizeText(field.getExtractor().apply(items.get(i)));
+                (texts[i] == null ? unknown : known).add(i);
+            }
+            String[] strings = texts;
+            comparator = (a, b) -> String.CASE_INSENSITIVE_ORDER.compare(strings[a], strings[b]);
+        }
+        // List.sort es estable: los empates quedan en orden nativo
+        known.sort(comparator);
+
+        int knownCount = known.size();
+        int[] ascending = new int[size];
+        int[] rank = new int[size];
+        Arrays.fill(rank, UNKNOWN_RANK);
+        int currentRank = -1;
+        for (int i = 0; i < knownCount; i++) {
+            int index = known.get(i);
+            if (i == 0 || comparator.compare(known.get(i - 1), index) != 0) {
+                currentRank++;
+            }
+            ascending[i] = index;
+            rank[index] = currentRank;
+        }
+
+        // Descendente: se invierte el orden de los grupos de empate pero no su contenido
+        int[] descending = new int[size];
+        int position = 0;
+        int end = knownCount;
+        while (end > 0) {
+            int start = end - 1;
+            while (start > 0 && rank[ascending[start - 1]] == rank[ascending[end - 1]]) {
+                start--;
+            }
+            for (int i = start; i < end; i++) {
+                descending[position++] = ascending[i];
+            }
+            end = start;
+        }
+
+        for (int i = 0; i < unknown.size(); i++) {
+            ascending[knownCount + i] = unknown.get(i);
+            descending[knownCount + i] = unknown.get(i);
+        }
+
+        double[] sortedValues = null;
+        if (values != null) {
+            sortedValues = new double[knownCount];
+            for (int i = 0; i < knownCount; i++) {
+                sortedValues[i] = values[ascending[i]];
+            }
+        }
+        return new FieldIndex(ascending, descending, rank, knownCount, sortedValues, values, texts);
+    }
+
+    private static String normalizeText(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    /**
+     * Valor del elemento tal como se guarda en un cursor; null si es desconocido.
+     */
+    String keyOf(int index) {
+        if (numbers != null) {
+            return Double.isNaN(numbers[index]) ? null : Double.toString(numbers[index]);
+        }
+        return texts[index];
+    }
+
+    /**
+     * Compara el valor de un elemento con una clave de cursor siguiendo las mismas reglas que las
+     * permutaciones: desconocidos al final en ambos sentidos y el resto según la dirección.
+     */
+    int compareToKey(int index, String key, boolean ascendingOrder) {
+        boolean itemUnknown;
+        boolean keyUnknown = key == null;
+        int comparison = 0;
+        if (numbers != null) {
+            double keyValue = keyUnknown ? Double.NaN : CatalogField.parseNumber(key);
+            keyUnknown = Double.isNaN(keyValue);
+            itemUnknown = Double.isNaN(numbers[index]);
+            if (!itemUnknown && !keyUnknown) {
+                comparison = Double.compare(numbers[index], keyValue);
+            }
+        } else {
+            String keyText = normalizeText(key);
+            keyUnknown = keyText == null;
+            itemUnknown = texts[index] == null;
+            if (!itemUnknown && !keyUnknown) {
+                comparison = String.CASE_INSENSITIVE_ORDER.compare(texts[index], keyText);
+            }
+        }
+        if (itemUnknown || keyUnknown) {
+            return itemUnknown == keyUnknown ? 0 : (itemUnknown ? 1 : -1);
+        }
+        return ascendingOrder ? comparison : -comparison;
+    }
+
+    boolean isNumeric() {
+        return sortedValues != null;
+    }
+
+    /**
+     * Marca los elementos cuyo valor está en {@code [min, max]}; un límite null queda abierto.
+     * Los valores desconocidos nunca coinciden con un rango.
+     */
+    BitSet range(Double min, Double max) {
+        int from = min == null ? 0 : lowerBound(min);
+        int to = max == null ? knownCount : upperBound(max);
+        BitSet matches = new BitSet(rank.length);
+        for (int i = from; i < to; i++) {
+            matches.set(ascending[i]);
+        }
+        return matches;
+    }
+
+    /** Primera posición con valor >= target. */
+    private int lowerBound(double target) {
+        int low = 0;
+        int high = knownCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedValues[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** Primera posición con valor > target. */
+    private int upperBound(double target) {
+        int low = 0;
+        int high = knownCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedValues[mid] <= target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    int[] permutation(boolean ascendingOrder) {
+        return ascendingOrder ? ascending : descending;
+    }
+
+    int rankOf(int index) {
+        return rank[index];
+    }
+
+    int knownCount() {
+        return knownCount;
+    }
+}
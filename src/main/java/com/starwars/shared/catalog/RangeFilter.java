@@ -0,0 +1,49 @@
+package com.starwars.shared.catalog;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filtro por rango inclusivo sobre un campo numérico del catálogo. Un límite null queda abierto.
+ */
+@Getter
+public class RangeFilter {
+
+    private final String field;
+    private final Double min;
+    private final Double max;
+
+    private RangeFilter(String field, Double min, Double max) {
+        this.field = field;
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * Crea el filtro si se indicó al menos un límite; devuelve null en caso contrario.
+     */
+    public static RangeFilter of(String field, Double min, Double max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        if (min != null && max != null && min > max) {
+            throw new IllegalArgumentException("El mínimo de '" + field + "' no puede ser mayor que el máximo");
+        }
+        return new RangeFilter(field, min, max);
+    }
+
+    /**
+     * Agrupa los filtros indicados descartando los que no tienen límites.
+     */
+    public static List<RangeFilter> collect(RangeFilter... filters) {
+        List<RangeFilter> ranges = new ArrayList<>();
+        for (RangeFilter filter : filters) {
+            if (filter != null) {
+                ranges.add(filter);
+            }
+        }
+        return ranges;
+    }
+}
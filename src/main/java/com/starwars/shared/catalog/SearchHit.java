@@ -0,0 +1,17 @@
+package com.starwars.shared.catalog;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Resultado de una búsqueda de texto completo sobre el catálogo local.
+ */
+@Getter
+@AllArgsConstructor
+public class SearchHit<T> {
+    private final T item;
+    private final double score;
+    private final Map<String, String> snippets;
+}
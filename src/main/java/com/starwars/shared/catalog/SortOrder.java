@@ -0,0 +1,62 @@
+package com.starwars.shared.catalog;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Criterio de ordenamiento sobre un campo del catálogo.
+ */
+@Getter
+public class SortOrder {
+
+    private final String field;
+    private final boolean ascending;
+
+    public SortOrder(String field, boolean ascending) {
+        this.field = field;
+        this.ascending = ascending;
+    }
+
+    /**
+     * Interpreta los valores del parámetro {@code sort}. Acepta {@code campo[,asc|desc]} repetido
+     * o encadenado (ej: {@code mass,desc,name}); la dirección por defecto es ascendente.
+     * Spring separa por comas un único valor, por lo que todos los tokens se aplanan antes de analizarse.
+     */
+    public static List<SortOrder> parse(List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<SortOrder> orders = new ArrayList<>();
+        for (String value : values) {
+            if (value == null) {
+                continue;
+            }
+            for (String token : value.split(",")) {
+                String trimmed = token.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                String lower = trimmed.toLowerCase(Locale.ROOT);
+                if (lower.equals("asc") || lower.equals("desc")) {
+                    if (orders.isEmpty()) {
+                        throw new IllegalArgumentException("La dirección de ordenamiento '" + trimmed + "' debe seguir a un campo");
+                    }
+                    SortOrder previous = orders.remove(orders.size() - 1);
+                    orders.add(new SortOrder(previous.getField(), lower.equals("asc")));
+                } else {
+                    orders.add(new SortOrder(trimmed, true));
+                }
+            }
+        }
+        return orders;
+    }
+
+    @Override
+    public String toString() {
+        return field + (ascending ? ",asc" : ",desc");
+    }
+}
@@ -0,0 +1,41 @@
+package com.starwars.shared.catalog;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonicaliza valores de texto repetidos ({@code "male"}, {@code "n/a"}, URLs de planetas) para que
+ * todos los elementos de un catálogo compartan una única instancia por valor. A diferencia de
+ * {@link String#intern()}, el pool pertenece al repositorio y tiene un tope de entradas: una vez lleno,
+ * los valores nuevos se devuelven tal cual, así un atributo con más variedad de la esperada no lo hace crecer sin límite.
+ */
+public final class StringPool {
+
+    private final ConcurrentHashMap<String, String> values = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    public StringPool(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @return la instancia compartida igual a {@code value}, o {@code value} si es null o el pool está lleno
+     */
+    public String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = values.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (values.size() >= maxEntries) {
+            return value;
+        }
+        existing = values.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    public int size() {
+        return values.size();
+    }
+}
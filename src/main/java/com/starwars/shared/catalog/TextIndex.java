@@ -0,0 +1,373 @@
+package com.starwars.shared.catalog;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido posicional sobre los campos de texto de un catálogo, con ranking BM25.
+ * Cada término guarda los documentos donde aparece y, por documento, sus posiciones; con eso
+ * se resuelven frases exactas ("death star") sin volver a leer el texto. Las posiciones de campos
+ * distintos de un mismo documento están separadas por un hueco, así que una frase nunca cruza campos.
+ * Se construye una vez por copia del catálogo y es inmutable.
+ */
+class TextIndex {
+
+    private static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final Pattern CLAUSE = Pattern.compile("\"([^\"]*)\"|(\\S+)");
+    private static final int FIELD_GAP = 1000;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int SNIPPET_TOKENS = 24;
+    private static final int SNIPPET_LEAD = 6;
+    private static final String HIGHLIGHT_START = "<em>";
+    private static final String HIGHLIGHT_END = "</em>";
+
+    private final List<String> fieldNames;
+    private final Map<String, Postings> postings;
+    private final DocumentText[] documents;
+    private final int[] lengths;
+    private final double averageLength;
+
+    private TextIndex(List<String> fieldNames, Map<String, Postings> postings, DocumentText[] documents, int[] lengths) {
+        this.fieldNames = fieldNames;
+        this.postings = postings;
+        this.documents = documents;
+        this.lengths = lengths;
+        long total = 0;
+        for (int length : lengths) {
+            total += length;
+        }
+        this.averageLength = lengths.length == 0 ? 0 : (double) total / lengths.length;
+    }
+
+    static <T> TextIndex build(List<T> items, List<CatalogField<T>> fields) {
+        List<String> fieldNames = new ArrayList<>(fields.size());
+        for (CatalogField<T> field : fields) {
+            fieldNames.add(field.getName());
+        }
+        Map<String, Map<Integer, List<Integer>>> raw = new HashMap<>();
+        DocumentText[] documents = new DocumentText[items.size()];
+        int[] lengths = new int[items.size()];
+
+        for (int doc = 0; doc < items.size(); doc++) {
+            DocumentText document = new DocumentText(fields.size());
+            int base = 0;
+            for (int f = 0; f < fields.size(); f++) {
+                String text = fields.get(f).getExtractor().apply(items.get(doc));
+                FieldText fieldText = FieldText.tokenize(text == null ? "" : text, base);
+                document.fields[f] = fieldText;
+                for (int i = 0; i < fieldText.terms.length; i++) {
+                    raw.computeIfAbsent(fieldText.terms[i], k -> new LinkedHashMap<>())
+                            .computeIfAbsent(doc, k -> new ArrayList<>())
+                            .add(base + i);
+                }
+                lengths[doc] += fieldText.terms.length;
+                base += fieldText.terms.length + FIELD_GAP;
+            }
+            documents[doc] = document;
+        }
+
+        Map<String, Postings> postings = new HashMap<>(raw.size() * 2);
+        for (Map.Entry<String, Map<Integer, List<Integer>>> entry : raw.entrySet()) {
+            postings.put(entry.getKey(), Postings.of(entry.getValue()));
+        }
+        return new TextIndex(fieldNames, postings, documents, lengths);
+    }
+
+    /**
+     * Busca {@code text}: las palabras sueltas se combinan con OR y las frases entre comillas son
+     * obligatorias. Devuelve los documentos ordenados por puntaje BM25 (empates por posición)
+     * con un fragmento resaltado por cada campo donde hubo coincidencias.
+     */
+    List<TextMatch> search(String text) {
+        List<List<String>> terms = new ArrayList<>();
+        List<List<String>> phrases = new ArrayList<>();
+        Matcher matcher = CLAUSE.matcher(text);
+        while (matcher.find()) {
+            boolean quoted = matcher.group(1) != null;
+            List<String> tokens = tokenize(quoted ? matcher.group(1) : matcher.group(2));
+            if (tokens.isEmpty()) {
+                continue;
+            }
+            if (quoted && tokens.size() > 1) {
+                phrases.add(tokens);
+            } else {
+                for (String token : tokens) {
+                    terms.add(Collections.singletonList(token));
+                }
+            }
+        }
+        if (terms.isEmpty() && phrases.isEmpty()) {
+            throw new IllegalArgumentException("La búsqueda no contiene términos");
+        }
+
+        double[] scores = new double[documents.length];
+        BitSet candidates = new BitSet(documents.length);
+        BitSet required = null;
+        List<Map<Integer, int[]>> hits = new ArrayList<>();
+        List<Integer> spans = new ArrayList<>();
+
+        for (List<String> phrase : phrases) {
+            Map<Integer, int[]> occurrences = phraseOccurrences(phrase);
+            BitSet matching = new BitSet(documents.length);
+            for (Integer doc : occurrences.keySet()) {
+                matching.set(doc);
+            }
+            required = required == null ? matching : and(required, matching);
+            score(scores, occurrences);
+            hits.add(occurrences);
+            spans.add(phrase.size());
+        }
+        for (List<String> term : terms) {
+            Map<Integer, int[]> occurrences = phraseOccurrences(term);
+            for (Integer doc : occurrences.keySet()) {
+                candidates.set(doc);
+            }
+            score(scores, occurrences);
+            hits.add(occurrences);
+            spans.add(1);
+        }
+        BitSet matches = required != null ? required : candidates;
+
+        List<TextMatch> results = new ArrayList<>(matches.cardinality());
+        for (int doc = matches.nextSetBit(0); doc >= 0; doc = matches.nextSetBit(doc + 1)) {
+            results.add(new TextMatch(doc, scores[doc], snippets(doc, hits, spans)));
+        }
+        results.sort((a, b) -> {
+            int byScore = Double.compare(b.getScore(), a.getScore());
+            return byScore != 0 ? byScore : Integer.compare(a.getIndex(), b.getIndex());
+        });
+        return results;
+    }
+
+    private static BitSet and(BitSet left, BitSet right) {
+        BitSet result = (BitSet) left.clone();
+        result.and(right);
+        return result;
+    }
+
+    /**
+     * Posiciones iniciales de la secuencia de términos en cada documento. Un solo término es el
+     * caso trivial; para una frase se recorren las posiciones del primero y se verifica el resto.
+     */
+    private Map<Integer, int[]> phraseOccurrences(List<String> phrase) {
+        Postings first = postings.get(phrase.get(0));
+        if (first == null) {
+            return Collections.emptyMap();
+        }
+        Map<Integer, int[]> occurrences = new LinkedHashMap<>();
+        if (phrase.size() == 1) {
+            for (int d = 0; d < first.docs.length; d++) {
+                occurrences.put(first.docs[d], first.positions[d]);
+            }
+            return occurrences;
+        }
+        Postings[] rest = new Postings[phrase.size() - 1];
+        for (int k = 1; k < phrase.size(); k++) {
+            rest[k - 1] = postings.get(phrase.get(k));
+            if (rest[k - 1] == null) {
+                return Collections.emptyMap();
+            }
+        }
+        for (int d = 0; d < first.docs.length; d++) {
+            int doc = first.docs[d];
+            int[] found = new int[first.positions[d].length];
+            int count = 0;
+            for (int start : first.positions[d]) {
+                boolean matched = true;
+                for (int k = 0; k < rest.length && matched; k++) {
+                    matched = rest[k].contains(doc, start + k + 1);
+                }
+                if (matched) {
+                    found[count++] = start;
+                }
+            }
+            if (count > 0) {
+                occurrences.put(doc, Arrays.copyOf(found, count));
+            }
+        }
+        return occurrences;
+    }
+
+    private void score(double[] scores, Map<Integer, int[]> occurrences) {
+        int documentFrequency = occurrences.size();
+        if (documentFrequency == 0) {
+            return;
+        }
+        double idf = Math.log(1 + (documents.length - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        for (Map.Entry<Integer, int[]> entry : occurrences.entrySet()) {
+            int doc = entry.getKey();
+            double tf = entry.getValue().length;
+            double norm = K1 * (1 - B + B * (averageLength == 0 ? 0 : lengths[doc] / averageLength));
+            scores[doc] += idf * tf * (K1 + 1) / (tf + norm);
+        }
+    }
+
+    private Map<String, String> snippets(int doc, List<Map<Integer, int[]>> hits, List<Integer> spans) {
+        BitSet highlighted = new BitSet();
+        for (int h = 0; h < hits.size(); h++) {
+            int[] starts = hits.get(h).get(doc);
+            if (starts == null) {
+                continue;
+            }
+            for (int start : starts) {
+                highlighted.set(start, start + spans.get(h));
+            }
+        }
+        Map<String, String> snippets = new LinkedHashMap<>();
+        DocumentText document = documents[doc];
+        for (int f = 0; f < document.fields.length; f++) {
+            String snippet = document.fields[f].snippet(highlighted);
+            if (snippet != null) {
+                snippets.put(fieldNames.get(f), snippet);
+            }
+        }
+        return snippets;
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = TOKEN.matcher(text);
+        while (matcher.find()) {
+            tokens.add(matcher.group().toLowerCase(Locale.ROOT));
+        }
+        return tokens;
+    }
+
+    /** Documentos y posiciones de un término, en arreglos ordenados para búsqueda binaria. */
+    private static final class Postings {
+        private final int[] docs;
+        private final int[][] positions;
+
+        private Postings(int[] docs, int[][] positions) {
+            this.docs = docs;
+            this.positions = positions;
+        }
+
+        static Postings of(Map<Integer, List<Integer>> byDocument) {
+            int[] docs = new int[byDocument.size()];
+            int[][] positions = new int[byDocument.size()][];
+            int d = 0;
+            for (Map.Entry<Integer, List<Integer>> entry : byDocument.entrySet()) {
+                docs[d] = entry.getKey();
+                positions[d] = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+                d++;
+            }
+            return new Postings(docs, positions);
+        }
+
+        boolean contains(int doc, int position) {
+            int d = Arrays.binarySearch(docs, doc);
+            return d >= 0 && Arrays.binarySearch(positions[d], position) >= 0;
+        }
+    }
+
+    private static final class DocumentText {
+        private final FieldText[] fields;
+
+        private DocumentText(int fieldCount) {
+            this.fields = new FieldText[fieldCount];
+        }
+    }
+
+    /** Texto original de un campo con los límites de cada token, para armar fragmentos. */
+    private static final class FieldText {
+        private final String text;
+        private final String[] terms;
+        private final int[] starts;
+        private final int[] ends;
+        private final int base;
+
+        private FieldText(String text, String[] terms, int[] starts, int[] ends, int base) {
+            this.text = text;
+            this.terms = terms;
+            this.starts = starts;
+            this.ends = ends;
+            this.base = base;
+        }
+
+        static FieldText tokenize(String text, int base) {
+            List<String> terms = new ArrayList<>();
+            List<int[]> bounds = new ArrayList<>();
+            Matcher matcher = TOKEN.matcher(text);
+            while (matcher.find()) {
+                terms.add(matcher.group().toLowerCase(Locale.ROOT));
+                bounds.add(new int[]{matcher.start(), matcher.end()});
+            }
+            int[] starts = new int[bounds.size()];
+            int[] ends = new int[bounds.size()];
+            for (int i = 0; i < bounds.size(); i++) {
+                starts[i] = bounds.get(i)[0];
+                ends[i] = bounds.get(i)[1];
+            }
+            return new FieldText(text, terms.toArray(new String[0]), starts, ends, base);
+        }
+
+        /**
+         * Ventana de hasta {@link #SNIPPET_TOKENS} tokens con más coincidencias, con los tokens
+         * coincidentes resaltados. null si el campo no tiene coincidencias.
+         */
+        String snippet(BitSet highlighted) {
+            int bestStart = -1;
+            int bestCount = 0;
+            for (int i = 0; i < terms.length; i++) {
+                if (!highlighted.get(base + i)) {
+                    continue;
+                }
+                int start = Math.max(0, Math.min(i - SNIPPET_LEAD, terms.length - SNIPPET_TOKENS));
+                int count = highlighted.get(base + start, base + Math.min(terms.length, start + SNIPPET_TOKENS)).cardinality();
+                if (count > bestCount) {
+                    bestCount = count;
+                    bestStart = start;
+                }
+            }
+            if (bestStart < 0) {
+                return null;
+            }
+            int end = Math.min(terms.length, bestStart + SNIPPET_TOKENS);
+            StringBuilder snippet = new StringBuilder();
+            if (bestStart > 0) {
+                snippet.append("…");
+            }
+            int cursor = starts[bestStart];
+            for (int i = bestStart; i < end; i++) {
+                appendEscaped(snippet, cursor, starts[i]);
+                boolean hit = highlighted.get(base + i);
+                if (hit) {
+                    snippet.append(HIGHLIGHT_START);
+                }
+                appendEscaped(snippet, starts[i], ends[i]);
+                if (hit) {
+                    snippet.append(HIGHLIGHT_END);
+                }
+                cursor = ends[i];
+            }
+            if (end < terms.length) {
+                snippet.append("…");
+            } else {
+                appendEscaped(snippet, cursor, text.length());
+            }
+            return snippet.toString().replaceAll("\\s+", " ").trim();
+        }
+
+        /**
+         * El fragmento lleva marcado HTML, así que el texto de SWAPI se escapa antes de rodearlo con las etiquetas.
+         */
+        private void appendEscaped(StringBuilder snippet, int from, int to) {
+            if (from < to) {
+                snippet.append(HtmlUtils.htmlEscape(text.substring(from, to)));
+            }
+        }
+    }
+}
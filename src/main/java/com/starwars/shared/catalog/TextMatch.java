@@ -0,0 +1,18 @@
+package com.starwars.shared.catalog;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Documento encontrado por {@link TextIndex}: su posición en la copia, el puntaje BM25 y
+ * un fragmento resaltado por campo.
+ */
+@Getter
+@AllArgsConstructor
+class TextMatch {
+    private final int index;
+    private final double score;
+    private final Map<String, String> snippets;
+}
@@ -0,0 +1,48 @@
+package com.starwars.shared.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.starwars.shared.protobuf.ResourceProtobufHttpMessageConverter;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Negociación de contenido para formatos binarios: Smile ({@code application/x-jackson-smile}),
+ * CBOR ({@code application/cbor}), MessagePack ({@code application/x-msgpack}) y protobuf
+ * ({@code application/x-protobuf}, con el esquema de {@code starwars.proto}). Se agregan al final
+ * de la lista de conversores para que JSON siga siendo la respuesta ante {@code Accept: *}{@code /*}.
+ * Cada ObjectMapper de Jackson sale del builder de Spring Boot, así que comparte inclusión NON_NULL y módulos
+ * (incluida la selección de campos) con el de JSON. Las respuestas de error de GlobalExceptionHandler
+ * pasan por los mismos conversores.
+ */
+@Configuration
+public class BinaryFormatsConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    public BinaryFormatsConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Spring agrega sus propios conversores Smile y CBOR al detectar las librerías, pero sin la configuración de Boot
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                || converter instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                objectMapperBuilder.getObject().factory(new SmileFactory()).build()));
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.getObject().factory(new CBORFactory()).build()));
+        converters.add(new MappingJackson2MessagePackHttpMessageConverter(
+                objectMapperBuilder.getObject().factory(new MessagePackFactory()).build()));
+        converters.add(new ResourceProtobufHttpMessageConverter());
+    }
+}
@@ -0,0 +1,57 @@
+package com.starwars.shared.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.starwars.films.dto.FilmResponseDto;
+import com.starwars.people.dto.PersonResponseDto;
+import com.starwars.shared.projection.FieldProjections;
+import com.starwars.starships.dto.StarshipResponseDto;
+import com.starwars.vehicles.dto.VehicleResponseDto;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public FieldProjections fieldProjections() {
+        return new FieldProjections(new HashSet<>(Arrays.asList(
+                PersonResponseDto.class,
+                FilmResponseDto.class,
+                StarshipResponseDto.class,
+                VehicleResponseDto.class
+        )));
+    }
+
+    /**
+     * Spring Boot registra automáticamente los beans de tipo Module en el ObjectMapper de la aplicación.
+     */
+    @Bean
+    public Module fieldProjectionModule(FieldProjections fieldProjections) {
+        return fieldProjections.module();
+    }
+
+    /**
+     * Reemplaza el acceso por reflexión a getters, setters y constructores de los DTOs por accesores
+     * generados. Se registra en el ObjectMapper compartido, que usan MVC, el RestTemplate hacia SWAPI
+     * (a través de los HttpMessageConverters de Boot) y el punto de entrada de seguridad.
+     */
+    @Bean
+    public Module bytecodeAccessorModule() {
+        return accessorModule();
+    }
+
+    /**
+     * Blackbird usa LambdaMetafactory y necesita {@code MethodHandles.privateLookupIn} (Java 9+); en Java 8
+     * se usa Afterburner, que genera las clases con ASM.
+     */
+    public static Module accessorModule() {
+        return System.getProperty("java.specification.version", "").startsWith("1.")
+                ? new AfterburnerModule()
+                : new BlackbirdModule();
+    }
+}
@@ -0,0 +1,22 @@
+package com.starwars.shared.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.util.Assert;
+
+/**
+ * Conversor MessagePack equivalente a los de Smile y CBOR que trae Spring, sobre el mismo
+ * ObjectMapper configurado de la aplicación con una {@link MessagePackFactory}.
+ */
+public class MappingJackson2MessagePackHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    public static final MediaType APPLICATION_MSGPACK = new MediaType("application", "msgpack");
+    public static final MediaType APPLICATION_X_MSGPACK = new MediaType("application", "x-msgpack");
+
+    public MappingJackson2MessagePackHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper, APPLICATION_X_MSGPACK, APPLICATION_MSGPACK);
+        Assert.isInstanceOf(MessagePackFactory.class, objectMapper.getFactory(), "MessagePackFactory required");
+    }
+}
@@ -0,0 +1,12 @@
+package com.starwars.shared.config;
+
+import org.mapstruct.Builder;
+import org.mapstruct.MapperConfig;
+
+/**
+ * Configuración común de los mappers de SWAPI a DTOs de respuesta. Sin builder: el DTO se crea con el
+ * constructor vacío y setters, así que mapear un elemento asigna solo el objeto resultante.
+ */
+@MapperConfig(componentModel = "spring", builder = @Builder(disableBuilder = true))
+public interface ResponseMapperConfig {
+}
@@ -1,8 +1,13 @@
 package com.starwars.shared.config;
 
+import com.starwars.shared.security.BoundedPasswordEncoder;
+import com.starwars.shared.security.CalibratedBCryptPasswordEncoder;
 import com.starwars.shared.security.JwtAuthenticationEntryPoint;
 import com.starwars.shared.security.JwtRequestFilter;
+import com.starwars.shared.security.RateLimitFilter;
 import com.starwars.auth.service.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,7 +17,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -31,18 +35,34 @@ public class SecurityConfig {
     private final UserDetailsServiceImpl userDetailsService;
     private final JwtRequestFilter jwtRequestFilter;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
+    private final RateLimitFilter rateLimitFilter;
 
     public SecurityConfig(UserDetailsServiceImpl userDetailsService, 
                          JwtRequestFilter jwtRequestFilter,
-                         JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint) {
+                         JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint,
+                         RateLimitFilter rateLimitFilter) {
         this.userDetailsService = userDetailsService;
         this.jwtRequestFilter = jwtRequestFilter;
         this.jwtAuthenticationEntryPoint = jwtAuthenticationEntryPoint;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
+    /**
+     * BCrypt con el costo de {@code auth.password-hashing.cost} o, si es 0, el calibrado al iniciar para
+     * que un hash tarde cerca de {@code target-millis} en esta máquina (en prod el costo queda fijo). Corre en un pool acotado para que
+     * una ráfaga de logins no deje sin CPU al resto de la API (ver {@link BoundedPasswordEncoder}).
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12); // Strength 12 es más seguro
+    public PasswordEncoder passwordEncoder(@Value("${auth.password-hashing.cost:0}") int cost,
+                                           @Value("${auth.password-hashing.target-millis:250}") long targetMillis,
+                                           @Value("${auth.password-hashing.min-cost:10}") int minCost,
+                                           @Value("${auth.password-hashing.max-cost:14}") int maxCost,
+                                           @Value("${auth.password-hashing.threads:0}") int threads,
+                                           @Value("${auth.password-hashing.queue-capacity:32}") int queueCapacity,
+                                           MeterRegistry meterRegistry) {
+        int effectiveCost = cost > 0 ? cost : CalibratedBCryptPasswordEncoder.calibrate(targetMillis, minCost, maxCost);
+        return new BoundedPasswordEncoder(new CalibratedBCryptPasswordEncoder(effectiveCost), threads, queueCapacity,
+                meterRegistry);
     }
 
     @Bean
@@ -52,15 +72,17 @@ public class SecurityConfig {
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Tras un login correcto, un hash con otro costo se recalcula y se guarda con el actual
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, DaoAuthenticationProvider authenticationProvider) throws Exception {
         http.cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> 
@@ -81,8 +103,10 @@ public class SecurityConfig {
                 .anyRequest().authenticated()
             )
             .exceptionHandling(ex -> ex.authenticationEntryPoint(jwtAuthenticationEntryPoint))
-            .authenticationProvider(authenticationProvider())
-            .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
+            .authenticationProvider(authenticationProvider)
+            .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class)
+            // Después del JWT, para aplicar la cuota del usuario autenticado en vez de la de su IP
+            .addFilterAfter(rateLimitFilter, JwtRequestFilter.class);
 
         // Configuración específica para H2 Console
         http.headers(headers -> headers.frameOptions().disable());
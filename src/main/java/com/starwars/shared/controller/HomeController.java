@@ -251,24 +251,29 @@ public class HomeController {
         html.append("                    <strong>Personajes</strong>");
         html.append("                    <code>GET /people</code><br>");
         html.append("                    <code>GET /people/{id}</code><br>");
+        html.append("                    <code>GET /people/export</code><br>");
         html.append("                    <code>GET /people?name={name}&page={page}&limit={limit}</code>");
         html.append("                </div>");
         html.append("                <div class=\"endpoint-item\">");
         html.append("                    <strong>Películas</strong>");
         html.append("                    <code>GET /films</code><br>");
         html.append("                    <code>GET /films/{id}</code><br>");
+        html.append("                    <code>GET /films/export</code><br>");
+        html.append("                    <code>GET /films/search?text={text}</code><br>");
         html.append("                    <code>GET /films?name={name}&page={page}&limit={limit}</code>");
         html.append("                </div>");
         html.append("                <div class=\"endpoint-item\">");
         html.append("                    <strong>Naves Espaciales</strong>");
         html.append("                    <code>GET /starships</code><br>");
         html.append("                    <code>GET /starships/{id}</code><br>");
+        html.append("                    <code>GET /starships/export</code><br>");
         html.append("                    <code>GET /starships?name={name}&page={page}&limit={limit}</code>");
         html.append("                </div>");
         html.append("                <div class=\"endpoint-item\">");
         html.append("                    <strong>Vehículos</strong>");
         html.append("                    <code>GET /vehicles</code><br>");
         html.append("                    <code>GET /vehicles/{id}</code><br>");
+        html.append("                    <code>GET /vehicles/export</code><br>");
         html.append("                    <code>GET /vehicles?name={name}&page={page}&limit={limit}</code>");
         html.append("                </div>");
         html.append("            </div>");
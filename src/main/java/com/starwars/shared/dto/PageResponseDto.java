@@ -3,6 +3,7 @@ package com.starwars.shared.dto;
 import lombok.*;
 
 import java.util.List;
+import java.util.Map;
 
 @Getter
 @Setter
@@ -19,5 +20,8 @@ public class PageResponseDto<T> {
     private boolean last;
     private boolean hasNext;
     private boolean hasPrevious;
+    private Map<String, Map<String, Integer>> facets;
+    private String nextCursor;
+    private String previousCursor;
 }
 
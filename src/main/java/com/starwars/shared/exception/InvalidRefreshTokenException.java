@@ -0,0 +1,12 @@
+package com.starwars.shared.exception;
+
+/**
+ * El refresh token no existe, venció, fue revocado o ya se usó. Se responde con 401 y el cliente debe
+ * iniciar sesión de nuevo.
+ */
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.starwars.shared.exception;
+
+import lombok.Getter;
+
+/**
+ * La solicitud se rechaza por falta de capacidad y conviene reintentarla más tarde. Se responde con
+ * 429 y el encabezado {@code Retry-After}.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
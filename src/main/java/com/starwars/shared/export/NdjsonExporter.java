@@ -0,0 +1,90 @@
+package com.starwars.shared.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.starwars.shared.http.ContentEncoding;
+import com.starwars.shared.projection.FieldProjections;
+import com.starwars.shared.projection.FieldSelection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exporta una colección completa como NDJSON (un objeto JSON por línea) en una respuesta chunked.
+ *
+ * <p>Cada elemento se serializa directo al stream de salida a través del buffer fijo del generador de
+ * Jackson, así que la memoria usada no depende del tamaño de la colección. Las escrituras son
+ * bloqueantes: si el cliente lee lento, el hilo que exporta espera a que haya lugar en el socket en
+ * lugar de acumular datos. Con {@code Accept-Encoding: gzip} la salida se comprime en streaming con
+ * sync flush, para que cada bloque enviado sea descomprimible apenas llega.
+ */
+@Slf4j
+@Component
+public class NdjsonExporter {
+
+    private final ObjectMapper objectMapper;
+    private final FieldProjections fieldProjections;
+    private final int flushEvery;
+
+    public NdjsonExporter(ObjectMapper objectMapper, FieldProjections fieldProjections,
+                          @Value("${swapi.export.flush-every:100}") int flushEvery) {
+        this.objectMapper = objectMapper;
+        this.fieldProjections = fieldProjections;
+        this.flushEvery = flushEvery;
+    }
+
+    /**
+     * Prepara la respuesta de exportación. Los errores de parámetros ({@code fields} desconocidos) se
+     * lanzan aquí, antes de empezar a escribir, para que se respondan como 400 normales.
+     */
+    public <T> ResponseEntity<StreamingResponseBody> export(Class<T> type, List<T> items, List<String> fields,
+                                                            String acceptEncoding) {
+        ObjectWriter writer = objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        if (fields != null) {
+            FieldSelection selection = fieldProjections.select(objectMapper, type, fields);
+            if (selection != null) {
+                writer = writer.with(selection.toFilterProvider());
+            }
+        }
+        boolean gzip = ContentEncoding.negotiate(acceptEncoding, false) == ContentEncoding.GZIP;
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, ContentEncoding.GZIP.getToken());
+        }
+        ObjectWriter itemWriter = writer;
+        return response.body(output -> write(gzip ? new GZIPOutputStream(output, 8192, true) : output, itemWriter, items));
+    }
+
+    private <T> void write(OutputStream output, ObjectWriter writer, List<T> items) throws IOException {
+        int written = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            // Las líneas se separan explícitamente; sin esto Jackson antepone un espacio a cada valor raíz
+            generator.setRootValueSeparator(null);
+            for (T item : items) {
+                writer.writeValue(generator, item);
+                generator.writeRaw('\n');
+                if (++written % flushEvery == 0) {
+                    generator.flush();
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Exportación interrumpida después de {} elementos: {}", written, e.getMessage());
+            throw e;
+        }
+        log.debug("Exportación completa: {} elementos", written);
+    }
+}
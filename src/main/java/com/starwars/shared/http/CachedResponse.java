@@ -0,0 +1,60 @@
+package com.starwars.shared.http;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.util.DigestUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Representación final de una respuesta: tipo de contenido y bytes sin comprimir, más las
+ * variantes comprimidas que se van produciendo a medida que los clientes las piden. Cada variante
+ * se comprime una sola vez y queda guardada junto a la entrada, y el hash que da origen a los ETags
+ * se calcula una sola vez por representación.
+ */
+@Getter
+public class CachedResponse {
+    private final String contentType;
+    private final byte[] body;
+    private final long createdAt;
+    private final Map<ContentEncoding, EncodedBody> encodings = new ConcurrentHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private volatile String contentHash;
+
+    public CachedResponse(String contentType, byte[] body) {
+        this.contentType = contentType;
+        this.body = body;
+        this.createdAt = System.currentTimeMillis();
+    }
+
+    /**
+     * @return la variante ya comprimida con {@code encoding}, o null si todavía no se produjo
+     */
+    public EncodedBody getEncoded(ContentEncoding encoding) {
+        return encodings.get(encoding);
+    }
+
+    /**
+     * Guarda una variante comprimida. Si otro request la produjo antes se conserva la existente.
+     */
+    public EncodedBody putEncoded(EncodedBody encoded) {
+        EncodedBody previous = encodings.putIfAbsent(encoded.getEncoding(), encoded);
+        return previous != null ? previous : encoded;
+    }
+
+    /**
+     * ETag fuerte de la representación: hash MD5 de los bytes sin comprimir, con la codificación como
+     * sufijo porque cada codificación es una representación distinta (RFC 9110, sección 8.8.3).
+     */
+    public String getETag(ContentEncoding encoding) {
+        String hash = contentHash;
+        if (hash == null) {
+            hash = DigestUtils.md5DigestAsHex(body);
+            contentHash = hash;
+        }
+        return encoding == ContentEncoding.IDENTITY
+                ? "\"" + hash + "\""
+                : "\"" + hash + "-" + encoding.getToken() + "\"";
+    }
+}
@@ -0,0 +1,73 @@
+package com.starwars.shared.http;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas de compresión publicadas en {@code /actuator/metrics}, etiquetadas por codificación:
+ * <ul>
+ *   <li>{@code swapi.compression.bytes.in} / {@code .bytes.out}: bytes antes y después de comprimir</li>
+ *   <li>{@code swapi.compression.ratio}: tamaño original sobre tamaño comprimido, por respuesta</li>
+ *   <li>{@code swapi.compression.time}: CPU gastada comprimiendo</li>
+ *   <li>{@code swapi.compression.reused}: respuestas servidas con una variante ya comprimida de la caché</li>
+ *   <li>{@code swapi.compression.cpu.saved}: segundos de compresión evitados por esas reutilizaciones</li>
+ * </ul>
+ */
+@Component
+public class CompressionMetrics {
+
+    private final Map<ContentEncoding, Meters> meters = new EnumMap<>(ContentEncoding.class);
+
+    public CompressionMetrics(MeterRegistry registry) {
+        for (ContentEncoding encoding : ContentEncoding.values()) {
+            if (encoding != ContentEncoding.IDENTITY) {
+                meters.put(encoding, new Meters(registry, encoding.getToken()));
+            }
+        }
+    }
+
+    public void recordCompression(int originalBytes, EncodedBody encoded) {
+        Meters forEncoding = meters.get(encoded.getEncoding());
+        forEncoding.bytesIn.increment(originalBytes);
+        forEncoding.bytesOut.increment(encoded.getBytes().length);
+        forEncoding.ratio.record((double) originalBytes / Math.max(1, encoded.getBytes().length));
+        forEncoding.time.record(encoded.getCompressionNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    public void recordReuse(EncodedBody encoded) {
+        Meters forEncoding = meters.get(encoded.getEncoding());
+        forEncoding.reused.increment();
+        forEncoding.cpuSaved.increment(encoded.getCompressionNanos() / 1e9);
+    }
+
+    private static final class Meters {
+        private final Counter bytesIn;
+        private final Counter bytesOut;
+        private final DistributionSummary ratio;
+        private final Timer time;
+        private final Counter reused;
+        private final Counter cpuSaved;
+
+        private Meters(MeterRegistry registry, String encoding) {
+            bytesIn = Counter.builder("swapi.compression.bytes.in").baseUnit("bytes")
+                    .description("Bytes de respuesta antes de comprimir").tag("encoding", encoding).register(registry);
+            bytesOut = Counter.builder("swapi.compression.bytes.out").baseUnit("bytes")
+                    .description("Bytes de respuesta después de comprimir").tag("encoding", encoding).register(registry);
+            ratio = DistributionSummary.builder("swapi.compression.ratio")
+                    .description("Tamaño original sobre tamaño comprimido").tag("encoding", encoding).register(registry);
+            time = Timer.builder("swapi.compression.time")
+                    .description("Tiempo de CPU comprimiendo respuestas").tag("encoding", encoding).register(registry);
+            reused = Counter.builder("swapi.compression.reused")
+                    .description("Respuestas servidas con bytes ya comprimidos de la caché").tag("encoding", encoding).register(registry);
+            cpuSaved = Counter.builder("swapi.compression.cpu.saved").baseUnit("seconds")
+                    .description("Tiempo de compresión evitado al reutilizar variantes comprimidas").tag("encoding", encoding).register(registry);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.starwars.shared.http;
+
+import lombok.Getter;
+
+/**
+ * Codificaciones de contenido que la API sabe producir, en orden de preferencia ante empate de
+ * calidad en {@code Accept-Encoding}: brotli comprime mejor que gzip a costo de CPU similar.
+ */
+@Getter
+public enum ContentEncoding {
+    BROTLI("br"),
+    GZIP("gzip"),
+    IDENTITY("identity");
+
+    private final String token;
+
+    ContentEncoding(String token) {
+        this.token = token;
+    }
+
+    /**
+     * Elige la codificación de la respuesta según {@code Accept-Encoding} (RFC 9110): gana la de mayor
+     * {@code q}, {@code *} cubre las no nombradas y {@code q=0} las excluye. Sin cabecera o sin
+     * coincidencias se responde sin comprimir.
+     *
+     * @param brotliAvailable false si el binario nativo de brotli no pudo cargarse en esta plataforma
+     */
+    public static ContentEncoding negotiate(String acceptEncoding, boolean brotliAvailable) {
+        if (acceptEncoding == null || acceptEncoding.trim().isEmpty()) {
+            return IDENTITY;
+        }
+        double brotli = -1;
+        double gzip = -1;
+        double wildcard = -1;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String coding = tokens[0].trim().toLowerCase();
+            double quality = quality(tokens);
+            if (coding.equals(BROTLI.token)) {
+                brotli = quality;
+            } else if (coding.equals(GZIP.token) || coding.equals("x-gzip")) {
+                gzip = Math.max(gzip, quality);
+            } else if (coding.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        brotli = brotliAvailable ? (brotli < 0 ? wildcard : brotli) : -1;
+        gzip = gzip < 0 ? wildcard : gzip;
+        if (brotli > 0 && brotli >= gzip) {
+            return BROTLI;
+        }
+        return gzip > 0 ? GZIP : IDENTITY;
+    }
+
+    private static double quality(String[] tokens) {
+        for (int i = 1; i < tokens.length; i++) {
+            String parameter = tokens[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,34 @@
+package com.starwars.shared.http;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Marca del request en curso cuando la respuesta reemplaza datos que SWAPI no pudo entregar, como la
+ * página vacía de un listado o el catálogo vacío de una primera carga fallida. {@link ResponseCompressionFilter}
+ * no guarda esas respuestas en {@link ResponseCache} ni les agrega ETag o {@code max-age}, para que una
+ * falla pasajera no se siga sirviendo cuando SWAPI vuelve.
+ */
+public final class DegradedResponse {
+
+    static final String ATTRIBUTE = DegradedResponse.class.getName();
+
+    private DegradedResponse() {
+    }
+
+    /**
+     * Marca el request del hilo actual. Fuera de un request (tests, tareas) no hace nada.
+     */
+    public static void mark() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    public static boolean isMarked(HttpServletRequest request) {
+        return request.getAttribute(ATTRIBUTE) != null;
+    }
+}
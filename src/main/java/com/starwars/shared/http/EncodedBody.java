@@ -0,0 +1,20 @@
+package com.starwars.shared.http;
+
+import lombok.Getter;
+
+/**
+ * Cuerpo comprimido con una codificación, junto con lo que costó producirlo. El costo se usa para
+ * estimar la CPU ahorrada cada vez que la misma variante se reutiliza desde la caché.
+ */
+@Getter
+public class EncodedBody {
+    private final ContentEncoding encoding;
+    private final byte[] bytes;
+    private final long compressionNanos;
+
+    public EncodedBody(ContentEncoding encoding, byte[] bytes, long compressionNanos) {
+        this.encoding = encoding;
+        this.bytes = bytes;
+        this.compressionNanos = compressionNanos;
+    }
+}
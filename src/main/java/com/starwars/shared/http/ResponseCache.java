@@ -0,0 +1,360 @@
+package com.starwars.shared.http;
+
+import com.starwars.shared.catalog.CatalogChangedEvent;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caché en memoria de las respuestas serializadas de detalle y listado de los recursos, con los bytes
+ * finales listos para copiar al output stream.
+ *
+ * <p>La clave es (recurso, id, variante), y la variante es la ruta con los parámetros en forma canónica más el
+ * tipo de contenido que negociaría {@code Accept}: el orden de los parámetros y de {@code fields} y las
+ * variantes de {@code Accept} que resuelven al mismo formato comparten la misma entrada. Los requests con
+ * parámetros fuera de {@code swapi.response-cache.parameters} o con un {@code Accept} que no resuelve a
+ * ninguno de los formatos de la API no pasan por la caché, así una consulta basura no ocupa lugar.
+ * Cada entrada vive lo que indique {@code swapi.response-cache.ttl-seconds}, o el valor del recurso en
+ * {@code swapi.response-cache.resource-ttl-seconds}; con 0 la caché queda desactivada. Ese mismo TTL define
+ * el {@code max-age} que se anuncia a los clientes y es la única garantía de frescura. Con
+ * {@code swapi.response-cache.max-entries} entradas se descartan las vencidas y, si no alcanza, el 10% usado
+ * hace más tiempo, de modo que lo caliente sigue entrando aunque la caché esté llena.
+ *
+ * <p>La invalidación por cambios es un adelanto sobre el TTL, no un reemplazo: cuando una renovación del
+ * catálogo local detecta que un elemento cambió se descartan sus detalles y todos los listados del recurso.
+ * El catálogo solo se renueva cuando lo necesita un listado ordenado, facetado o por cursor, así que con
+ * tráfico solo de detalles un cambio en SWAPI se ve recién cuando vence la entrada.
+ */
+@Slf4j
+@Component
+public class ResponseCache {
+
+    private static final String FIELDS_PARAM = "fields";
+    private static final String DEFAULT_PARAMETERS = "page,limit,sort,cursor,facets,fields,name,title,text,gender,"
+            + "eyeColor,director,starshipClass,vehicleClass,minCrew,maxCrew,minPassengers,maxPassengers,minLength,"
+            + "maxLength,minCostInCredits,maxCostInCredits";
+    private static final String JSON = MediaType.APPLICATION_JSON_VALUE;
+
+    /**
+     * Formatos que producen los conversores, en el orden en que Spring los prueba (ver BinaryFormatsConfig).
+     */
+    private static final List<MediaType> PRODUCIBLE = Arrays.asList(
+            MediaType.APPLICATION_JSON,
+            new MediaType("application", "x-jackson-smile"),
+            MediaType.APPLICATION_CBOR,
+            new MediaType("application", "msgpack"),
+            new MediaType("application", "x-msgpack"),
+            new MediaType("application", "x-protobuf"));
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final List<String> resources;
+    private final Set<String> parameters;
+    private final Map<String, Long> resourceTtlMillis = new HashMap<>();
+    private final Map<Key, Slot> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public ResponseCache(long ttlSeconds, int maxEntries, List<String> resources) {
+        this(ttlSeconds, maxEntries, resources, Collections.emptyMap(), Arrays.asList(DEFAULT_PARAMETERS.split(",")));
+    }
+
+    public ResponseCache(long ttlSeconds, int maxEntries, List<String> resources, Map<String, Long> resourceTtlSeconds) {
+        this(ttlSeconds, maxEntries, resources, resourceTtlSeconds, Arrays.asList(DEFAULT_PARAMETERS.split(",")));
+    }
+
+    /**
+     * @param resourceTtlSeconds TTL por recurso que reemplaza al general, por ejemplo {@code {films: 3600}}
+     * @param parameters parámetros de query que aceptan los controladores; cualquier otro deja el request fuera de la caché
+     */
+    @Autowired
+    public ResponseCache(@Value("${swapi.response-cache.ttl-seconds:300}") long ttlSeconds,
+                         @Value("${swapi.response-cache.max-entries:1000}") int maxEntries,
+                         @Value("${swapi.response-cache.resources:people,films,starships,vehicles}") List<String> resources,
+                         @Value("#{${swapi.response-cache.resource-ttl-seconds:{:}}}") Map<String, Long> resourceTtlSeconds,
+                         @Value("${swapi.response-cache.parameters:" + DEFAULT_PARAMETERS + "}") List<String> parameters) {
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.maxEntries = maxEntries;
+        this.resources = resources;
+        this.parameters = new HashSet<>(parameters);
+        resourceTtlSeconds.forEach((resource, seconds) -> resourceTtlMillis.put(resource, seconds * 1000L));
+    }
+
+    /**
+     * @return la clave de caché del request, o null si no es un GET sobre uno de los recursos cacheables
+     */
+    public Key keyFor(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return null;
+        }
+        String uri = request.getRequestURI();
+        String resource = resourceOf(uri);
+        if (resource == null || ttlOf(resource) <= 0) {
+            return null;
+        }
+        String mediaType = negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        String query = canonicalQuery(request);
+        if (mediaType == null || query == null) {
+            return null;
+        }
+        String variant = query.isEmpty() ? uri + '|' + mediaType : uri + '?' + query + '|' + mediaType;
+        return new Key(resource, idOf(uri, resource), variant);
+    }
+
+    public CachedResponse get(Key key) {
+        Slot slot = entries.get(key);
+        if (slot == null) {
+            return null;
+        }
+        if (isExpired(key, slot.response)) {
+            entries.remove(key, slot);
+            return null;
+        }
+        slot.lastUsed = System.nanoTime();
+        return slot.response;
+    }
+
+    public void put(Key key, CachedResponse response) {
+        if (entries.size() >= maxEntries) {
+            makeRoom();
+        }
+        entries.put(key, new Slot(response));
+    }
+
+    /**
+     * Descarta las entradas vencidas y, si no alcanza, las usadas hace más tiempo hasta dejar libre un 10% de
+     * {@code max-entries}, así el recorrido se paga una vez cada muchas inserciones. Un solo hilo desaloja a
+     * la vez; los demás insertan sin esperar y la caché puede pasarse por unas pocas entradas.
+     */
+    private void makeRoom() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            entries.entrySet().removeIf(entry -> isExpired(entry.getKey(), entry.getValue().response));
+            int excess = entries.size() - (maxEntries - Math.max(1, maxEntries / 10));
+            if (excess <= 0) {
+                return;
+            }
+            long now = System.nanoTime();
+            long[] idle = new long[entries.size()];
+            int count = 0;
+            for (Slot slot : entries.values()) {
+                if (count == idle.length) {
+                    break;
+                }
+                idle[count++] = now - slot.lastUsed;
+            }
+            if (count == 0) {
+                return;
+            }
+            Arrays.sort(idle, 0, count);
+            long threshold = idle[Math.max(0, count - excess)];
+            entries.values().removeIf(slot -> now - slot.lastUsed >= threshold);
+            log.debug("Caché de respuestas llena: {} entradas desalojadas", excess);
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * Descarta los detalles de los elementos que cambiaron y todos los listados del recurso, ya que
+     * cualquier página o faceta puede haberlos incluido. Solo cubre los cambios que ve una renovación del
+     * catálogo; el resto lo resuelve el TTL.
+     */
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        int before = entries.size();
+        entries.keySet().removeIf(key -> key.resource.equals(event.getResourceName())
+                && (key.id == null || event.getChangedIds().contains(key.id)));
+        log.debug("Caché de respuestas: {} entradas de {} invalidadas", before - entries.size(), event.getResourceName());
+    }
+
+    /**
+     * @return segundos que le quedan a la entrada antes de expirar, usados como {@code max-age}
+     */
+    public long remainingSeconds(Key key, CachedResponse response) {
+        long remaining = ttlOf(key.resource) - (System.currentTimeMillis() - response.getCreatedAt());
+        return Math.max(0, remaining / 1000L);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private String resourceOf(String uri) {
+        for (String resource : resources) {
+            int end = resource.length() + 1;
+            if (uri.startsWith(resource, 1) && (uri.length() == end || uri.charAt(end) == '/')) {
+                return resource;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Los ids de SWAPI son numéricos, lo que distingue {@code /films/4} de rutas como {@code /films/search}.
+     */
+    private static String idOf(String uri, String resource) {
+        int start = resource.length() + 2;
+        if (uri.length() <= start) {
+            return null;
+        }
+        for (int i = start; i < uri.length(); i++) {
+            if (!Character.isDigit(uri.charAt(i))) {
+                return null;
+            }
+        }
+        return uri.substring(start);
+    }
+
+    /**
+     * Resuelve {@code Accept} contra {@link #PRODUCIBLE} como lo haría la negociación de Spring: el tipo aceptado
+     * más específico y de mayor calidad, y ante comodines el primer formato que lo cumple.
+     *
+     * @return el tipo de contenido de la respuesta, o null si no se puede predecir sin llegar al controlador
+     */
+    private static String negotiate(String accept) {
+        if (accept == null || accept.trim().isEmpty() || accept.equals("*/*") || accept.equals(JSON)) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        MediaType.sortBySpecificityAndQuality(accepted);
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                return null;
+            }
+            for (MediaType producible : PRODUCIBLE) {
+                if (type.includes(producible)) {
+                    return producible.toString();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return si el tipo de contenido es uno de los que se eligen por {@code Accept} en la misma URL
+     */
+    static boolean isNegotiated(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType type = MediaType.parseMediaType(contentType);
+            return PRODUCIBLE.stream().anyMatch(producible -> producible.isCompatibleWith(type));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Forma canónica de la query: parámetros ordenados por nombre, con sus valores en el orden recibido
+     * (el orden de {@code sort} importa) y {@code fields} como conjunto ordenado.
+     *
+     * @return la query canónica, "" sin parámetros, o null si trae un parámetro desconocido
+     */
+    private String canonicalQuery(HttpServletRequest request) {
+        if (request.getQueryString() == null) {
+            return "";
+        }
+        StringBuilder query = new StringBuilder();
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            String name = parameter.getKey();
+            if (!parameters.contains(name)) {
+                return null;
+            }
+            Iterable<String> values = FIELDS_PARAM.equals(name)
+                    ? Collections.singletonList(projectionOf(parameter.getValue()))
+                    : Arrays.asList(parameter.getValue());
+            for (String value : values) {
+                if (query.length() > 0) {
+                    query.append('&');
+                }
+                query.append(name).append('=').append(UriUtils.encodeQueryParam(value, StandardCharsets.UTF_8));
+            }
+        }
+        return query.toString();
+    }
+
+    /**
+     * Forma canónica de {@code fields}: nombres sin repetir y ordenados.
+     */
+    private static String projectionOf(String[] values) {
+        TreeSet<String> fields = new TreeSet<>();
+        for (String value : values) {
+            for (String field : value.split(",")) {
+                if (!field.trim().isEmpty()) {
+                    fields.add(field.trim());
+                }
+            }
+        }
+        return String.join(",", fields);
+    }
+
+    private long ttlOf(String resource) {
+        Long ttl = resourceTtlMillis.get(resource);
+        return ttl != null ? ttl : ttlMillis;
+    }
+
+    private boolean isExpired(Key key, CachedResponse response) {
+        return System.currentTimeMillis() - response.getCreatedAt() >= ttlOf(key.resource);
+    }
+
+    private static final class Slot {
+        private final CachedResponse response;
+        private volatile long lastUsed = System.nanoTime();
+
+        private Slot(CachedResponse response) {
+            this.response = response;
+        }
+    }
+
+    /**
+     * Clave de una entrada: recurso, id del elemento (null en listados) y variante de representación.
+     */
+    @Getter
+    @EqualsAndHashCode
+    public static final class Key {
+        private final String resource;
+        private final String id;
+        private final String variant;
+
+        private Key(String resource, String id, String variant) {
+            this.resource = resource;
+            this.id = id;
+            this.variant = variant;
+        }
+
+        @Override
+        public String toString() {
+            return resource + (id != null ? "/" + id : "") + " [" + variant + "]";
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.starwars.shared.http;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compresión gzip/brotli de respuestas y caché de respuestas de los recursos.
+ *
+ * <p>Las respuestas de detalle y listado que entran en {@link ResponseCache} se sirven desde la caché sin
+ * pasar por el controlador, y sus variantes comprimidas quedan guardadas en la misma entrada: una
+ * respuesta caliente se comprime una vez por codificación y después solo se copian bytes. El resto de
+ * las respuestas se comprime en cada request. Solo se comprimen los tipos de
+ * {@code swapi.compression.mime-types} a partir de {@code swapi.compression.min-response-size} bytes.
+ *
+ * <p>Las respuestas cacheadas llevan un ETag fuerte calculado una vez por representación y un
+ * {@code Cache-Control: private, max-age} igual a lo que le queda a la entrada en la caché. Un
+ * {@code If-None-Match} que coincide con una entrada vigente se responde 304 sin llegar al controlador. Los
+ * formatos que se negocian por {@code Accept} salen con {@code Vary: Accept}, cacheados o no, para que ningún
+ * caché intermedio entregue Smile a un cliente que pidió JSON.
+ * Las respuestas marcadas como {@link DegradedResponse} no se guardan y salen con {@code Cache-Control: no-store}.
+ *
+ * <p>Corre después de la cadena de Spring Security, así que la caché nunca responde a un request sin autenticar.
+ */
+@Component
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    private final ResponseCache cache;
+    private final ResponseCompressor compressor;
+    private final CompressionMetrics metrics;
+    private final boolean enabled;
+    private final int minResponseSize;
+    private final List<MimeType> mimeTypes;
+    private final List<String> excludedPaths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public ResponseCompressionFilter(ResponseCache cache, ResponseCompressor compressor, CompressionMetrics metrics,
+                                     @Value("${swapi.compression.enabled:true}") boolean enabled,
+                                     @Value("${swapi.compression.min-response-size:1024}") int minResponseSize,
+                                     @Value("${swapi.compression.mime-types:application/json,application/*+json,text/plain,text/html}")
+                                     List<String> mimeTypes,
+                                     @Value("${swapi.compression.excluded-paths:/*/export}") List<String> excludedPaths) {
+        this.cache = cache;
+        this.compressor = compressor;
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.minResponseSize = minResponseSize;
+        this.mimeTypes = mimeTypes.stream().map(MimeTypeUtils::parseMimeType).collect(Collectors.toList());
+        this.excludedPaths = excludedPaths;
+    }
+
+    /**
+     * Las respuestas en streaming (exportaciones) no se pueden acumular en memoria; comprimen por su cuenta.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return excludedPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentEncoding encoding = enabled
+                ? ContentEncoding.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING), compressor.isBrotliAvailable())
+                : ContentEncoding.IDENTITY;
+
+        ResponseCache.Key key = cache.keyFor(request);
+        CachedResponse cached = key != null ? cache.get(key) : null;
+        if (cached != null) {
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(cached.getContentType());
+            write(request, response, cached, encoding, cache.remainingSeconds(key, cached));
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+        if (isAsyncStarted(request) || response.isCommitted()) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        CachedResponse fresh = new CachedResponse(wrapper.getContentType(), wrapper.getContentAsByteArray());
+        if (DegradedResponse.isMarked(request)) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+            write(request, response, fresh, encoding, null);
+        } else if (key != null && wrapper.getStatus() == HttpStatus.OK.value() && fresh.getContentType() != null) {
+            cache.put(key, fresh);
+            write(request, response, fresh, encoding, cache.remainingSeconds(key, fresh));
+        } else {
+            write(request, response, fresh, encoding, null);
+        }
+    }
+
+    /**
+     * Escribe la representación con la codificación negociada, con {@code Vary: Accept} si el formato sale de la
+     * negociación de contenido (JSON y los binarios comparten URL). Si viene de la caché ({@code maxAgeSeconds}
+     * no nulo) agrega ETag y Cache-Control, y responde 304 sin cuerpo cuando {@code If-None-Match} coincide.
+     */
+    private void write(HttpServletRequest request, HttpServletResponse response, CachedResponse representation,
+                       ContentEncoding encoding, Long maxAgeSeconds) throws IOException {
+        if (ResponseCache.isNegotiated(representation.getContentType())) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        ContentEncoding applied = ContentEncoding.IDENTITY;
+        if (isCompressible(representation, response)) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            applied = encoding;
+        }
+        if (maxAgeSeconds != null) {
+            String etag = representation.getETag(applied);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL,
+                    CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePrivate().getHeaderValue());
+            if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+                response.setStatus(HttpStatus.NOT_MODIFIED.value());
+                return;
+            }
+        }
+        byte[] bytes = representation.getBody();
+        if (applied != ContentEncoding.IDENTITY) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, applied.getToken());
+            bytes = encode(representation, applied).getBytes();
+        }
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    /**
+     * Comparación débil de {@code If-None-Match} (RFC 9110, sección 13.1.2): se ignora el prefijo {@code W/}.
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private EncodedBody encode(CachedResponse representation, ContentEncoding encoding) {
+        EncodedBody encoded = representation.getEncoded(encoding);
+        if (encoded != null) {
+            metrics.recordReuse(encoded);
+            return encoded;
+        }
+        encoded = compressor.compress(representation.getBody(), encoding);
+        metrics.recordCompression(representation.getBody().length, encoded);
+        return representation.putEncoded(encoded);
+    }
+
+    private boolean isCompressible(CachedResponse representation, HttpServletResponse response) {
+        if (representation.getBody().length < minResponseSize || representation.getContentType() == null
+                || response.containsHeader(HttpHeaders.CONTENT_ENCODING)) {
+            return false;
+        }
+        MimeType contentType = MimeTypeUtils.parseMimeType(representation.getContentType());
+        return mimeTypes.stream().anyMatch(mimeType -> mimeType.includes(contentType));
+    }
+}
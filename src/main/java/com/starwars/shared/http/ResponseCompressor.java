@@ -0,0 +1,84 @@
+package com.starwars.shared.http;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Comprime cuerpos de respuesta con gzip ({@code java.util.zip}) o brotli (binario nativo de brotli4j).
+ * Si el nativo de brotli no existe para la plataforma, brotli simplemente deja de ofrecerse.
+ */
+@Slf4j
+@Component
+public class ResponseCompressor {
+
+    private final int gzipLevel;
+    private final Encoder.Parameters brotliParameters;
+    private final boolean brotliAvailable;
+
+    public ResponseCompressor(@Value("${swapi.compression.gzip-level:6}") int gzipLevel,
+                              @Value("${swapi.compression.brotli-quality:5}") int brotliQuality) {
+        this.gzipLevel = gzipLevel;
+        this.brotliParameters = new Encoder.Parameters().setQuality(brotliQuality);
+        this.brotliAvailable = loadBrotli();
+    }
+
+    public boolean isBrotliAvailable() {
+        return brotliAvailable;
+    }
+
+    public EncodedBody compress(byte[] body, ContentEncoding encoding) {
+        long start = System.nanoTime();
+        byte[] compressed;
+        switch (encoding) {
+            case GZIP:
+                compressed = gzip(body);
+                break;
+            case BROTLI:
+                compressed = brotli(body);
+                break;
+            default:
+                throw new IllegalArgumentException("Codificación no soportada: " + encoding);
+        }
+        return new EncodedBody(encoding, compressed, System.nanoTime() - start);
+    }
+
+    private byte[] gzip(byte[] body) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output, 8192) {
+            {
+                def.setLevel(gzipLevel);
+            }
+        }) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+    private byte[] brotli(byte[] body) {
+        try {
+            return Encoder.compress(body, brotliParameters);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean loadBrotli() {
+        try {
+            Brotli4jLoader.ensureAvailability();
+            return true;
+        } catch (Throwable e) {
+            log.warn("Brotli no está disponible en esta plataforma; solo se ofrecerá gzip: {}", e.getMessage());
+            return false;
+        }
+    }
+}
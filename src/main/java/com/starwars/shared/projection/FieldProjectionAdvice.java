@@ -0,0 +1,88 @@
+package com.starwars.shared.projection;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.shared.dto.PageResponseDto;
+import com.starwars.shared.protobuf.ProtobufMapper;
+import com.starwars.shared.protobuf.ResourceProtobufHttpMessageConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Arrays;
+
+/**
+ * Aplica {@code ?fields=} a los endpoints que devuelven un DTO proyectable, solo o dentro de un
+ * {@link PageResponseDto}. Los metadatos de paginación se serializan siempre completos.
+ *
+ * <p>Con los convertidores de Jackson (JSON, Smile, CBOR, MessagePack) la selección viaja como filtro
+ * de la respuesta; con protobuf el cuerpo se convierte aquí al mensaje y se limpian los campos no
+ * pedidos, para que las dos representaciones tengan la misma forma.
+ */
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class FieldProjectionAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String FIELDS_PARAM = "fields";
+
+    private final FieldProjections fieldProjections;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return (AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType) || isProtobuf(converterType))
+                && projectedType(returnType) != null;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                                  Class<? extends HttpMessageConverter<?>> converterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body == null || !(request instanceof ServletServerHttpRequest)) {
+            return body;
+        }
+        String[] values = ((ServletServerHttpRequest) request).getServletRequest().getParameterValues(FIELDS_PARAM);
+        if (values == null) {
+            return body;
+        }
+        FieldSelection selection = fieldProjections.select(objectMapper, projectedType(returnType), Arrays.asList(values));
+        if (selection == null) {
+            return body;
+        }
+        if (isProtobuf(converterType)) {
+            return ProtobufMapper.project(ResourceProtobufHttpMessageConverter.toMessage(body, bodyType(returnType).getType()),
+                    selection.getFields());
+        }
+        MappingJacksonValue container = body instanceof MappingJacksonValue
+                ? (MappingJacksonValue) body : new MappingJacksonValue(body);
+        container.setFilters(selection.toFilterProvider());
+        return container;
+    }
+
+    private static boolean isProtobuf(Class<? extends HttpMessageConverter<?>> converterType) {
+        return ResourceProtobufHttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    private Class<?> projectedType(MethodParameter returnType) {
+        ResolvableType type = bodyType(returnType);
+        if (PageResponseDto.class.equals(type.resolve())) {
+            type = type.getGeneric(0);
+        }
+        Class<?> resolved = type.resolve();
+        return resolved != null && fieldProjections.isProjectable(resolved) ? resolved : null;
+    }
+
+    private static ResolvableType bodyType(MethodParameter returnType) {
+        ResolvableType type = ResolvableType.forMethodParameter(returnType);
+        return ResponseEntity.class.equals(type.resolve()) ? type.getGeneric(0) : type;
+    }
+}
@@ -0,0 +1,95 @@
+package com.starwars.shared.projection;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de los DTOs que admiten {@code ?fields=}. Valida los campos pedidos contra las
+ * propiedades que Jackson serializa para cada tipo y provee el módulo que instala
+ * {@link ProjectingSerializer} sobre esos tipos.
+ */
+public class FieldProjections {
+
+    private final Set<Class<?>> projectable;
+    private final Map<Class<?>, Set<String>> propertyNames = new ConcurrentHashMap<>();
+
+    public FieldProjections(Set<Class<?>> projectable) {
+        this.projectable = Collections.unmodifiableSet(projectable);
+    }
+
+    public boolean isProjectable(Class<?> type) {
+        return projectable.contains(type);
+    }
+
+    /**
+     * Interpreta los valores de {@code fields} (separados por coma o repetidos) para {@code type}.
+     * Devuelve null si no se pidió ningún campo.
+     */
+    public FieldSelection select(ObjectMapper objectMapper, Class<?> type, List<String> values) {
+        Set<String> requested = new LinkedHashSet<>();
+        if (values != null) {
+            for (String value : values) {
+                for (String token : value.split(",")) {
+                    if (!token.trim().isEmpty()) {
+                        requested.add(token.trim());
+                    }
+                }
+            }
+        }
+        if (requested.isEmpty()) {
+            return null;
+        }
+        Set<String> available = propertyNames.computeIfAbsent(type, t -> introspect(objectMapper, t));
+        List<String> unknown = new ArrayList<>();
+        for (String field : requested) {
+            if (!available.contains(field)) {
+                unknown.add(field);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Campos desconocidos en fields: " + unknown
+                    + ". Campos disponibles: " + available);
+        }
+        return new FieldSelection(type, requested);
+    }
+
+    public SimpleModule module() {
+        SimpleModule module = new SimpleModule("FieldProjections");
+        module.setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
+                                                      JsonSerializer<?> serializer) {
+                if (isProjectable(beanDesc.getBeanClass()) && serializer instanceof BeanSerializerBase) {
+                    return new ProjectingSerializer((BeanSerializerBase) serializer);
+                }
+                return serializer;
+            }
+        });
+        return module;
+    }
+
+    private static Set<String> introspect(ObjectMapper objectMapper, Class<?> type) {
+        Set<String> names = new LinkedHashSet<>();
+        for (BeanPropertyDefinition property : objectMapper.getSerializationConfig()
+                .introspect(objectMapper.constructType(type)).findProperties()) {
+            if (property.couldSerialize()) {
+                names.add(property.getName());
+            }
+        }
+        return Collections.unmodifiableSet(names);
+    }
+}
@@ -0,0 +1,71 @@
+package com.starwars.shared.projection;
+
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyFilter;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Campos pedidos con {@code ?fields=} para un tipo de DTO. Es un filtro de propiedades de Jackson que
+ * viaja registrado con {@link #FILTER_ID} en el {@link FilterProvider} de la respuesta, el canal que
+ * Spring ya ofrece por request; {@link ProjectingSerializer} lo busca ahí y escribe solo esos campos.
+ */
+public class FieldSelection extends SimpleBeanPropertyFilter {
+
+    public static final String FILTER_ID = "fieldSelection";
+
+    private final Class<?> target;
+    private final Set<String> fields;
+
+    FieldSelection(Class<?> target, Set<String> fields) {
+        this.target = target;
+        this.fields = Collections.unmodifiableSet(fields);
+    }
+
+    public Class<?> getTarget() {
+        return target;
+    }
+
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    boolean appliesTo(Class<?> type) {
+        return target == type;
+    }
+
+    /**
+     * Proveedor de filtros con esta selección, para {@code MappingJacksonValue#setFilters} u {@code ObjectWriter#with}.
+     */
+    public FilterProvider toFilterProvider() {
+        return new SimpleFilterProvider().setFailOnUnknownId(false).addFilter(FILTER_ID, this);
+    }
+
+    /**
+     * Selección registrada en la serialización en curso, o null si no se pidieron campos.
+     */
+    static FieldSelection of(SerializerProvider provider) {
+        FilterProvider filters = provider.getFilterProvider();
+        if (filters == null) {
+            return null;
+        }
+        PropertyFilter filter = filters.findPropertyFilter(FILTER_ID, null);
+        return filter instanceof FieldSelection ? (FieldSelection) filter : null;
+    }
+
+    @Override
+    protected boolean include(BeanPropertyWriter writer) {
+        return fields.contains(writer.getName());
+    }
+
+    @Override
+    protected boolean include(PropertyWriter writer) {
+        return fields.contains(writer.getName());
+    }
+}
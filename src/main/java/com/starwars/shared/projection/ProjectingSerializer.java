@@ -0,0 +1,92 @@
+package com.starwars.shared.projection;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Envuelve el serializador de Jackson de un DTO proyectable. Sin selección de campos delega tal cual;
+ * con selección escribe solo los {@link BeanPropertyWriter} elegidos, que se calculan una vez por
+ * combinación de campos y se reutilizan, así que proyectar no agrega introspección por request.
+ */
+class ProjectingSerializer extends StdSerializer<Object> implements ContextualSerializer, ResolvableSerializer {
+
+    private static final int MAX_CACHED_PROJECTIONS = 256;
+
+    private final BeanSerializerBase delegate;
+    private final Map<Set<String>, BeanPropertyWriter[]> projections = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    ProjectingSerializer(BeanSerializerBase delegate) {
+        super((Class<Object>) delegate.handledType());
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        delegate.resolve(provider);
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+        JsonSerializer<?> contextual = delegate.createContextual(provider, property);
+        if (contextual == delegate) {
+            return this;
+        }
+        return contextual instanceof BeanSerializerBase ? new ProjectingSerializer((BeanSerializerBase) contextual) : contextual;
+    }
+
+    @Override
+    public void serialize(Object bean, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        FieldSelection selection = FieldSelection.of(provider);
+        if (selection == null || !selection.appliesTo(handledType())) {
+            delegate.serialize(bean, gen, provider);
+            return;
+        }
+        BeanPropertyWriter[] writers = projection(selection.getFields());
+        gen.writeStartObject(bean);
+        for (BeanPropertyWriter writer : writers) {
+            try {
+                writer.serializeAsField(bean, gen, provider);
+            } catch (Exception e) {
+                wrapAndThrow(provider, e, bean, writer.getName());
+            }
+        }
+        gen.writeEndObject();
+    }
+
+    private BeanPropertyWriter[] projection(Set<String> fields) {
+        BeanPropertyWriter[] cached = projections.get(fields);
+        if (cached != null) {
+            return cached;
+        }
+        List<BeanPropertyWriter> selected = new ArrayList<>(fields.size());
+        for (Iterator<PropertyWriter> it = delegate.properties(); it.hasNext(); ) {
+            PropertyWriter writer = it.next();
+            if (writer instanceof BeanPropertyWriter && fields.contains(writer.getName())) {
+                selected.add((BeanPropertyWriter) writer);
+            }
+        }
+        BeanPropertyWriter[] computed = selected.toArray(new BeanPropertyWriter[0]);
+        if (projections.size() < MAX_CACHED_PROJECTIONS) {
+            projections.putIfAbsent(fields, computed);
+        }
+        return computed;
+    }
+}
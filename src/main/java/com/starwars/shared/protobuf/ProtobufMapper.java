@@ -0,0 +1,202 @@
+package com.starwars.shared.protobuf;
+
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Message;
+import com.starwars.films.dto.FilmResponseDto;
+import com.starwars.people.dto.PersonResponseDto;
+import com.starwars.shared.dto.PageResponseDto;
+import com.starwars.starships.dto.StarshipResponseDto;
+import com.starwars.vehicles.dto.VehicleResponseDto;
+
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Conversión de los DTOs de respuesta a los mensajes definidos en {@code starwars.proto}.
+ * Los atributos null no se asignan, igual que Jackson los omite en JSON.
+ */
+public final class ProtobufMapper {
+
+    private ProtobufMapper() {
+    }
+
+    public static Person toMessage(PersonResponseDto dto) {
+        Person.Builder builder = Person.newBuilder();
+        set(dto.getId(), builder::setId);
+        set(dto.getName(), builder::setName);
+        set(dto.getHeight(), builder::setHeight);
+        set(dto.getMass(), builder::setMass);
+        set(dto.getHairColor(), builder::setHairColor);
+        set(dto.getSkinColor(), builder::setSkinColor);
+        set(dto.getEyeColor(), builder::setEyeColor);
+        set(dto.getBirthYear(), builder::setBirthYear);
+        set(dto.getGender(), builder::setGender);
+        set(dto.getHomeworld(), builder::setHomeworld);
+        return builder.build();
+    }
+
+    public static Film toMessage(FilmResponseDto dto) {
+        Film.Builder builder = Film.newBuilder().setEpisodeId(dto.getEpisodeId());
+        set(dto.getId(), builder::setId);
+        set(dto.getTitle(), builder::setTitle);
+        set(dto.getOpeningCrawl(), builder::setOpeningCrawl);
+        set(dto.getDirector(), builder::setDirector);
+        set(dto.getProducer(), builder::setProducer);
+        set(dto.getReleaseDate(), builder::setReleaseDate);
+        return builder.build();
+    }
+
+    public static Starship toMessage(StarshipResponseDto dto) {
+        Starship.Builder builder = Starship.newBuilder();
+        set(dto.getId(), builder::setId);
+        set(dto.getName(), builder::setName);
+        set(dto.getModel(), builder::setModel);
+        set(dto.getManufacturer(), builder::setManufacturer);
+        set(dto.getCostInCredits(), builder::setCostInCredits);
+        set(dto.getLength(), builder::setLength);
+        set(dto.getCrew(), builder::setCrew);
+        set(dto.getPassengers(), builder::setPassengers);
+        set(dto.getStarshipClass(), builder::setStarshipClass);
+        return builder.build();
+    }
+
+    public static Vehicle toMessage(VehicleResponseDto dto) {
+        Vehicle.Builder builder = Vehicle.newBuilder();
+        set(dto.getId(), builder::setId);
+        set(dto.getName(), builder::setName);
+        set(dto.getModel(), builder::setModel);
+        set(dto.getManufacturer(), builder::setManufacturer);
+        set(dto.getCostInCredits(), builder::setCostInCredits);
+        set(dto.getLength(), builder::setLength);
+        set(dto.getCrew(), builder::setCrew);
+        set(dto.getPassengers(), builder::setPassengers);
+        set(dto.getVehicleClass(), builder::setVehicleClass);
+        return builder.build();
+    }
+
+    public static PersonPage toPersonPage(PageResponseDto<PersonResponseDto> page) {
+        PersonPage.Builder builder = PersonPage.newBuilder()
+                .setTotalPages(page.getTotalPages())
+                .setTotalElements(page.getTotalElements())
+                .setPage(page.getPage())
+                .setSize(page.getSize())
+                .setFirst(page.isFirst())
+                .setLast(page.isLast())
+                .setHasNext(page.isHasNext())
+                .setHasPrevious(page.isHasPrevious())
+                .putAllFacets(facets(page.getFacets()));
+        page.getContent().forEach(item -> builder.addContent(toMessage(item)));
+        set(page.getNextCursor(), builder::setNextCursor);
+        set(page.getPreviousCursor(), builder::setPreviousCursor);
+        return builder.build();
+    }
+
+    public static FilmPage toFilmPage(PageResponseDto<FilmResponseDto> page) {
+        FilmPage.Builder builder = FilmPage.newBuilder()
+                .setTotalPages(page.getTotalPages())
+                .setTotalElements(page.getTotalElements())
+                .setPage(page.getPage())
+                .setSize(page.getSize())
+                .setFirst(page.isFirst())
+                .setLast(page.isLast())
+                .setHasNext(page.isHasNext())
+                .setHasPrevious(page.isHasPrevious())
+                .putAllFacets(facets(page.getFacets()));
+        page.getContent().forEach(item -> builder.addContent(toMessage(item)));
+        set(page.getNextCursor(), builder::setNextCursor);
+        set(page.getPreviousCursor(), builder::setPreviousCursor);
+        return builder.build();
+    }
+
+    public static StarshipPage toStarshipPage(PageResponseDto<StarshipResponseDto> page) {
+        StarshipPage.Builder builder = StarshipPage.newBuilder()
+                .setTotalPages(page.getTotalPages())
+                .setTotalElements(page.getTotalElements())
+                .setPage(page.getPage())
+                .setSize(page.getSize())
+                .setFirst(page.isFirst())
+                .setLast(page.isLast())
+                .setHasNext(page.isHasNext())
+                .setHasPrevious(page.isHasPrevious())
+                .putAllFacets(facets(page.getFacets()));
+        page.getContent().forEach(item -> builder.addContent(toMessage(item)));
+        set(page.getNextCursor(), builder::setNextCursor);
+        set(page.getPreviousCursor(), builder::setPreviousCursor);
+        return builder.build();
+    }
+
+    public static VehiclePage toVehiclePage(PageResponseDto<VehicleResponseDto> page) {
+        VehiclePage.Builder builder = VehiclePage.newBuilder()
+                .setTotalPages(page.getTotalPages())
+                .setTotalElements(page.getTotalElements())
+                .setPage(page.getPage())
+                .setSize(page.getSize())
+                .setFirst(page.isFirst())
+                .setLast(page.isLast())
+                .setHasNext(page.isHasNext())
+                .setHasPrevious(page.isHasPrevious())
+                .putAllFacets(facets(page.getFacets()));
+        page.getContent().forEach(item -> builder.addContent(toMessage(item)));
+        set(page.getNextCursor(), builder::setNextCursor);
+        set(page.getPreviousCursor(), builder::setPreviousCursor);
+        return builder.build();
+    }
+
+    public static ErrorResponse toMessage(com.starwars.shared.exception.ErrorResponse dto) {
+        ErrorResponse.Builder builder = ErrorResponse.newBuilder().setStatus(dto.getStatus());
+        if (dto.getTimestamp() != null) {
+            builder.setTimestamp(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dto.getTimestamp()));
+        }
+        set(dto.getError(), builder::setError);
+        set(dto.getMessage(), builder::setMessage);
+        set(dto.getPath(), builder::setPath);
+        if (dto.getValidationErrors() != null) {
+            builder.putAllValidationErrors(dto.getValidationErrors());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Deja solo los campos de {@code fields}, por su nombre JSON, igual que {@code ?fields=} en JSON.
+     * En una página se proyecta cada elemento de {@code content} y los metadatos quedan completos.
+     */
+    public static Message project(Message message, Set<String> fields) {
+        FieldDescriptor content = message.getDescriptorForType().findFieldByName("content");
+        if (content == null || !content.isRepeated()) {
+            return projectFields(message, fields);
+        }
+        Message.Builder builder = message.toBuilder().clearField(content);
+        for (Object item : (List<?>) message.getField(content)) {
+            builder.addRepeatedField(content, projectFields((Message) item, fields));
+        }
+        return builder.build();
+    }
+
+    private static Message projectFields(Message message, Set<String> fields) {
+        Message.Builder builder = message.toBuilder();
+        for (FieldDescriptor field : message.getDescriptorForType().getFields()) {
+            if (!fields.contains(field.getJsonName())) {
+                builder.clearField(field);
+            }
+        }
+        return builder.build();
+    }
+
+    private static Map<String, FacetCounts> facets(Map<String, Map<String, Integer>> facets) {
+        Map<String, FacetCounts> messages = new LinkedHashMap<>();
+        if (facets != null) {
+            facets.forEach((facet, counts) -> messages.put(facet, FacetCounts.newBuilder().putAllCounts(counts).build()));
+        }
+        return messages;
+    }
+
+    private static void set(String value, Consumer<String> setter) {
+        if (value != null) {
+            setter.accept(value);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.starwars.shared.protobuf;
+
+import com.google.protobuf.Message;
+import com.starwars.films.dto.FilmResponseDto;
+import com.starwars.people.dto.PersonResponseDto;
+import com.starwars.shared.dto.PageResponseDto;
+import com.starwars.shared.exception.ErrorResponse;
+import com.starwars.starships.dto.StarshipResponseDto;
+import com.starwars.vehicles.dto.VehicleResponseDto;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Escribe los DTOs de respuesta como protobuf ({@code application/x-protobuf}) sin cambiar los
+ * controladores: traduce cada DTO, página o error a su mensaje de {@code starwars.proto}.
+ * Solo escribe; la API no recibe cuerpos protobuf.
+ */
+@SuppressWarnings("unchecked")
+public class ResourceProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    public ResourceProtobufHttpMessageConverter() {
+        super(APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return isEntity(clazz) || clazz == PageResponseDto.class || clazz == ErrorResponse.class;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        ResolvableType resolved = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        Class<?> raw = resolved.resolve(clazz);
+        if (raw == PageResponseDto.class) {
+            return isEntity(resolved.getGeneric(0).resolve());
+        }
+        return isEntity(raw) || raw == ErrorResponse.class;
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        // Con ?fields= el cuerpo ya llega como mensaje proyectado (FieldProjectionAdvice)
+        Message message = body instanceof Message ? (Message) body : toMessage(body, type);
+        message.writeTo(outputMessage.getBody());
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("La API no acepta cuerpos protobuf", inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("La API no acepta cuerpos protobuf", inputMessage);
+    }
+
+    public static Message toMessage(Object body, Type type) {
+        if (body instanceof PersonResponseDto) {
+            return ProtobufMapper.toMessage((PersonResponseDto) body);
+        }
+        if (body instanceof FilmResponseDto) {
+            return ProtobufMapper.toMessage((FilmResponseDto) body);
+        }
+        if (body instanceof StarshipResponseDto) {
+            return ProtobufMapper.toMessage((StarshipResponseDto) body);
+        }
+        if (body instanceof VehicleResponseDto) {
+            return ProtobufMapper.toMessage((VehicleResponseDto) body);
+        }
+        if (body instanceof ErrorResponse) {
+            return ProtobufMapper.toMessage((ErrorResponse) body);
+        }
+        Class<?> element = type != null ? ResolvableType.forType(type).getGeneric(0).resolve() : null;
+        PageResponseDto<?> page = (PageResponseDto<?>) body;
+        if (element == PersonResponseDto.class) {
+            return ProtobufMapper.toPersonPage((PageResponseDto<PersonResponseDto>) page);
+        }
+        if (element == FilmResponseDto.class) {
+            return ProtobufMapper.toFilmPage((PageResponseDto<FilmResponseDto>) page);
+        }
+        if (element == StarshipResponseDto.class) {
+            return ProtobufMapper.toStarshipPage((PageResponseDto<StarshipResponseDto>) page);
+        }
+        if (element == VehicleResponseDto.class) {
+            return ProtobufMapper.toVehiclePage((PageResponseDto<VehicleResponseDto>) page);
+        }
+        throw new IllegalStateException("Tipo sin representación protobuf: " + type);
+    }
+
+    private static boolean isEntity(Class<?> clazz) {
+        return clazz == PersonResponseDto.class || clazz == FilmResponseDto.class
+                || clazz == StarshipResponseDto.class || clazz == VehicleResponseDto.class;
+    }
+}
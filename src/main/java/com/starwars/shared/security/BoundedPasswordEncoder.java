@@ -0,0 +1,118 @@
+package com.starwars.shared.security;
+
+import com.starwars.shared.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ejecuta el hash y la verificación de contraseñas del encoder delegado en un pool propio, con un hilo
+ * por núcleo y una cola acotada. Así una ráfaga de logins o registros nunca ocupa más CPU que la del
+ * pool y deja lugar al resto de la API; lo que no entra en la cola se rechaza en el momento con
+ * {@link TooManyRequestsException} (429) en vez de acumular espera.
+ *
+ * <p>El hilo del request espera el resultado, porque la autenticación de Spring Security es sincrónica.
+ *
+ * <p>Métricas: {@code swapi.password.hash.duration} con {@code operation=encode|matches} (solo el cálculo),
+ * {@code swapi.password.hash.queue} (tareas esperando) y {@code swapi.password.hash.rejected}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    /** Tiempo sugerido al cliente para reintentar; alcanza para vaciar una cola llena con BCrypt 12. */
+    static final long RETRY_AFTER_SECONDS = 1;
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    /**
+     * @param threads hilos del pool; 0 o menos usa la cantidad de núcleos
+     * @param queueCapacity operaciones que pueden esperar un hilo libre antes de rechazar
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry registry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.encodeTimer = Timer.builder("swapi.password.hash.duration").tag("operation", "encode")
+                .description("Tiempo de cálculo del hash de una contraseña").register(registry);
+        this.matchesTimer = Timer.builder("swapi.password.hash.duration").tag("operation", "matches")
+                .description("Tiempo de verificación de una contraseña contra su hash").register(registry);
+        this.rejected = Counter.builder("swapi.password.hash.rejected")
+                .description("Operaciones rechazadas con la cola llena").register(registry);
+        Gauge.builder("swapi.password.hash.queue", executor, e -> e.getQueue().size())
+                .description("Operaciones esperando un hilo de hash").register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.recordCallable(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.recordCallable(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Callable<T> operation) {
+        Future<T> future;
+        try {
+            future = executor.submit(operation);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException(
+                    "Hay demasiados inicios de sesión en curso. Por favor, inténtalo en unos segundos.",
+                    RETRY_AFTER_SECONDS);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido mientras se procesaba la contraseña", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Error al procesar la contraseña", cause);
+        }
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hash-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.starwars.shared.security;
+
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link UserCache} en memoria con tope de entradas y vigencia por entrada. La vigencia acota cuánto
+ * puede tardar en verse un cambio hecho fuera de la aplicación; los cambios hechos por la aplicación se
+ * invalidan explícitamente con {@link #removeUserFromCache}. Al llenarse se purgan las entradas vencidas
+ * y, si no hay lugar, el usuario no se guarda.
+ */
+public class BoundedUserCache implements UserCache {
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public BoundedUserCache(long ttlSeconds, int maxEntries) {
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            return null;
+        }
+        if (isExpired(entry, System.currentTimeMillis())) {
+            entries.remove(username, entry);
+            return null;
+        }
+        return entry.user;
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        long now = System.currentTimeMillis();
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(entry -> isExpired(entry, now));
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.put(user.getUsername(), new Entry(user, now));
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        entries.remove(username);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return now - entry.loadedAt >= ttlMillis;
+    }
+
+    private static final class Entry {
+        private final UserDetails user;
+        private final long loadedAt;
+
+        private Entry(UserDetails user, long loadedAt) {
+            this.user = user;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.starwars.shared.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt con un costo fijo para toda la aplicación, que puede calibrarse al iniciar según el hardware
+ * ({@link #calibrate}). {@link #upgradeEncoding} pide recalcular los hashes con un costo menor al
+ * configurado, nunca los de costo mayor: con nodos de costos distintos detrás de un balanceador, un hash
+ * no alterna entre costos en cada login ni baja de costo al pasar por el nodo más lento. La calibración
+ * mide un solo nodo; para un costo común a toda la flota se fija {@code auth.password-hashing.cost}.
+ */
+@Slf4j
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}$");
+
+    private final int cost;
+
+    public CalibratedBCryptPasswordEncoder(int cost) {
+        super(cost);
+        this.cost = cost;
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int storedCost = costOf(encodedPassword);
+        return storedCost > 0 && storedCost < cost;
+    }
+
+    /**
+     * Costo del hash, o -1 si no es un hash BCrypt.
+     */
+    public static int costOf(String encodedPassword) {
+        if (encodedPassword == null) {
+            return -1;
+        }
+        Matcher matcher = BCRYPT_HASH.matcher(encodedPassword);
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    /**
+     * Elige el mayor costo entre {@code minCost} y {@code maxCost} cuyo hash tarda a lo sumo
+     * {@code targetMillis} en esta máquina. Mide el costo mínimo y extrapola, porque cada punto de costo
+     * duplica el tiempo; nunca devuelve menos que {@code minCost}, aunque el mínimo ya supere el objetivo.
+     * El resultado vale para esta máquina: otro tipo de nodo calibra otro costo.
+     */
+    public static int calibrate(long targetMillis, int minCost, int maxCost) {
+        String salt = BCrypt.gensalt(minCost);
+        BCrypt.hashpw("calibracion", salt);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 2; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibracion", salt);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double millis = best / 1_000_000.0;
+        int cost = minCost;
+        while (cost < maxCost && millis * 2 <= targetMillis) {
+            millis *= 2;
+            cost++;
+        }
+        log.info("Costo de BCrypt calibrado para este nodo: {} (~{} ms por hash, objetivo {} ms); con varios nodos, "
+                + "fijarlo en PASSWORD_HASH_COST", cost, Math.round(millis), targetMillis);
+        return cost;
+    }
+}
@@ -0,0 +1,74 @@
+package com.starwars.shared.security;
+
+import com.starwars.auth.service.UserDetailsServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.CachingUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+
+/**
+ * Arma el principal de un request autenticado a partir de un token ya verificado. Según
+ * {@code jwt.principal-mode}:
+ * <ul>
+ *   <li>{@code database}: consulta el usuario en cada request</li>
+ *   <li>{@code cached} (por defecto): consulta el usuario la primera vez y lo reutiliza desde un
+ *       {@link BoundedUserCache}, que se invalida con cada {@link UserChangedEvent}</li>
+ *   <li>{@code stateless}: no consulta la base; el principal sale del subject del token. Un usuario
+ *       eliminado conserva el acceso hasta que vence su token.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class JwtPrincipalResolver {
+
+    public enum Mode {
+        DATABASE,
+        CACHED,
+        STATELESS
+    }
+
+    private final Mode mode;
+    private final BoundedUserCache userCache;
+    private final UserDetailsService userDetailsService;
+
+    @Autowired
+    public JwtPrincipalResolver(UserDetailsServiceImpl userDetailsService,
+                                @Value("${jwt.principal-mode:cached}") Mode mode,
+                                @Value("${jwt.principal-cache.ttl-seconds:300}") long cacheTtlSeconds,
+                                @Value("${jwt.principal-cache.max-entries:10000}") int cacheMaxEntries) {
+        this.mode = mode;
+        this.userCache = new BoundedUserCache(cacheTtlSeconds, cacheMaxEntries);
+        if (mode == Mode.CACHED) {
+            CachingUserDetailsService caching = new CachingUserDetailsService(userDetailsService);
+            caching.setUserCache(userCache);
+            this.userDetailsService = caching;
+        } else {
+            this.userDetailsService = userDetailsService;
+        }
+        log.info("Principal de los requests con JWT: modo {}", mode);
+    }
+
+    /**
+     * @param token resultado válido de {@link JwtUtil#validate}
+     * @throws org.springframework.security.core.userdetails.UsernameNotFoundException si el modo consulta
+     *         la base y el usuario ya no existe
+     */
+    public UserDetails resolve(JwtValidationResult token) {
+        if (mode == Mode.STATELESS) {
+            return new User(token.getSubject(), "", Collections.emptyList());
+        }
+        return userDetailsService.loadUserByUsername(token.getSubject());
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        userCache.removeUserFromCache(event.getUsername());
+    }
+}
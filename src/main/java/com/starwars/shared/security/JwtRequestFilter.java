@@ -1,10 +1,11 @@
 package com.starwars.shared.security;
 
-import com.starwars.auth.service.UserDetailsServiceImpl;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -14,13 +15,26 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Autentica los requests con {@code Authorization: Bearer}. Un token vencido es tráfico normal de un
+ * cliente que todavía no renovó su sesión y se registra en debug; las fallas de firma, formato o emisor
+ * se registran en WARN, a lo sumo una vez por minuto, con la cantidad de rechazos omitidos desde el aviso anterior.
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtRequestFilter extends OncePerRequestFilter {
 
-    private final UserDetailsServiceImpl userDetailsService;
+    private static final long WARN_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final JwtPrincipalResolver principalResolver;
     private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AtomicLong nextWarn = new AtomicLong(System.nanoTime());
+    private final AtomicLong suppressedWarnings = new AtomicLong();
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
@@ -28,36 +42,48 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
-
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            try {
-                // Primero validar que el token sea válido antes de extraer username
-                if (jwtUtil.validateToken(jwt)) {
-                    username = jwtUtil.extractUsername(jwt);
-                }
-            } catch (Exception e) {
-                // El token puede haber expirado o ser inválido
-                logger.warn("No se pudo validar o extraer el username del JWT", e);
+            // Firma, emisor y vencimiento se verifican una sola vez, o ninguna si el token ya está en caché;
+            // el subject sale del mismo resultado
+            JwtValidationResult result = verifiedTokenCache.validate(authorizationHeader.substring(7), jwtUtil::validate);
+            if (!result.isValid()) {
+                logRejection(result.getFailure());
+            } else if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                authenticate(request, result);
             }
         }
 
-        // Si obtuvimos el username y no hay una autenticación ya establecida en el contexto de seguridad...
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        chain.doFilter(request, response);
+    }
 
-            // Si el token es válido, configuramos la autenticación de Spring Security manualmente
-            if (jwtUtil.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-            }
+    private void authenticate(HttpServletRequest request, JwtValidationResult token) {
+        UserDetails userDetails;
+        try {
+            userDetails = principalResolver.resolve(token);
+        } catch (UsernameNotFoundException e) {
+            // Token con firma válida de un usuario que ya no existe: el request sigue sin autenticar
+            log.warn("JWT de un usuario inexistente: {}", token.getSubject());
+            return;
         }
+        UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+        authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+    }
 
-        chain.doFilter(request, response);
+    private void logRejection(JwtValidationResult.Failure failure) {
+        if (failure == JwtValidationResult.Failure.EXPIRED || failure == JwtValidationResult.Failure.NOT_YET_VALID) {
+            log.debug("JWT rechazado: {}", failure);
+            return;
+        }
+        long now = System.nanoTime();
+        long due = nextWarn.get();
+        if (now - due >= 0 && nextWarn.compareAndSet(due, now + WARN_INTERVAL_NANOS)) {
+            log.warn("JWT rechazado: {} ({} más sin registrar desde el aviso anterior)", failure,
+                    suppressedWarnings.getAndSet(0));
+        } else {
+            suppressedWarnings.incrementAndGet();
+            log.debug("JWT rechazado: {}", failure);
+        }
     }
 }
-
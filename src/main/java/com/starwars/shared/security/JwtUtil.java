@@ -2,6 +2,7 @@ package com.starwars.shared.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,31 +10,88 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.security.Key;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
 
+/**
+ * Emisión y validación de JWT firmados con HMAC. Las claves y el parser se construyen una sola vez al
+ * iniciar: el parser es inmutable y seguro entre hilos, y elige la clave de verificación por el {@code kid}
+ * del encabezado. Los tokens nuevos se firman con {@code jwt.secret} bajo el id {@code jwt.key-id}; las
+ * claves anteriores listadas en {@code jwt.verification-keys} siguen aceptándose hasta que se retiren, así
+ * rotar el secreto no invalida las sesiones abiertas. Los tokens sin {@code kid} (emitidos antes de que
+ * existiera) se verifican con la clave vigente. Cada secreto debe tener al menos los 512 bits que exige
+ * HS512; uno más corto hace fallar el arranque en lugar del primer login.
+ */
 @Service
 public class JwtUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
-    
-    @Value("${jwt.secret}")
-    private String jwtSecret;
-
-    @Value("${jwt.expiration:86400000}") // 24 horas
-    private long jwtExpiration;
+    private static final SignatureAlgorithm ALGORITHM = SignatureAlgorithm.HS512;
+
+    private final long jwtExpiration;
+    private final String jwtIssuer;
+    private final String signingKeyId;
+    private final SecretKey signingKey;
+    private final Map<String, SecretKey> verificationKeys;
+    private final JwtParser parser;
+
+    public JwtUtil(@Value("${jwt.secret}") String jwtSecret,
+                   @Value("${jwt.expiration:900000}") long jwtExpiration, // 15 minutos; la sesión sigue con /auth/refresh
+                   @Value("${jwt.issuer:starwars-api}") String jwtIssuer,
+                   @Value("${jwt.key-id:default}") String signingKeyId,
+                   @Value("#{${jwt.verification-keys:{:}}}") Map<String, String> previousSecrets) {
+        this.jwtExpiration = jwtExpiration;
+        this.jwtIssuer = jwtIssuer;
+        this.signingKeyId = signingKeyId;
+        this.signingKey = toKey(signingKeyId, jwtSecret);
+
+        Map<String, SecretKey> keys = new HashMap<>();
+        previousSecrets.forEach((kid, secret) -> keys.put(kid, toKey(kid, secret)));
+        keys.put(signingKeyId, signingKey);
+        this.verificationKeys = Collections.unmodifiableMap(keys);
+
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return verificationKeyFor(header.getKeyId());
+                    }
+                })
+                .requireIssuer(jwtIssuer) // Validar issuer
+                .build();
+        logger.info("JWT: firmando con la clave '{}'; claves de verificación activas: {}", signingKeyId, keys.keySet());
+    }
 
-    @Value("${jwt.issuer:starwars-api}")
-    private String jwtIssuer;
+    private static SecretKey toKey(String kid, String secret) {
+        byte[] bytes = secret.getBytes();
+        int minBytes = ALGORITHM.getMinKeyLength() / 8;
+        if (bytes.length < minBytes) {
+            throw new IllegalArgumentException("El secreto JWT '" + kid + "' tiene " + bytes.length
+                    + " bytes; " + ALGORITHM.getValue() + " exige al menos " + minBytes);
+        }
+        return Keys.hmacShaKeyFor(bytes);
+    }
 
-    private SecretKey getSigningKey() {
-        // Asegurar que la clave tenga al menos 256 bits (32 bytes)
-        if (jwtSecret.length() < 32) {
-            logger.warn("JWT secret is too short. Minimum 32 characters recommended.");
+    private SecretKey verificationKeyFor(String kid) {
+        if (kid == null) {
+            return signingKey;
         }
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        SecretKey key = verificationKeys.get(kid);
+        if (key == null) {
+            throw new SignatureException("Clave de firma desconocida: " + kid);
+        }
+        return key;
+    }
+
+    /**
+     * Segundos de validez de los tokens que se emiten.
+     */
+    public long getExpirationSeconds() {
+        return jwtExpiration / 1000;
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -43,12 +101,13 @@ public class JwtUtil {
 
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKeyId)
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuer(jwtIssuer)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512) // Usar HS512 en lugar de HS256
+                .signWith(signingKey, ALGORITHM)
                 .compact();
     }
 
@@ -67,46 +126,47 @@ public class JwtUtil {
 
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .requireIssuer(jwtIssuer) // Validar issuer
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return parser.parseClaimsJws(token).getBody();
         } catch (JwtException | IllegalArgumentException e) {
             logger.error("Error parsing JWT token: {}", e.getMessage());
             throw new JwtException("Token JWT inválido");
         }
     }
 
-    private Boolean isTokenExpired(String token) {
+    /**
+     * Parsea el token y verifica firma, emisor y vencimiento en una sola pasada. El resultado trae el
+     * subject y el vencimiento ya extraídos, así quien valida no necesita volver a parsear el token.
+     */
+    public JwtValidationResult validate(String token) {
         try {
-            return extractExpiration(token).before(new Date());
-        } catch (Exception e) {
-            logger.error("Error checking token expiration: {}", e.getMessage());
-            return true; // Si hay error, considerar como expirado
+            return JwtValidationResult.valid(parser.parseClaimsJws(token).getBody());
+        } catch (ExpiredJwtException e) {
+            return rejected(JwtValidationResult.Failure.EXPIRED, e);
+        } catch (PrematureJwtException e) {
+            return rejected(JwtValidationResult.Failure.NOT_YET_VALID, e);
+        } catch (InvalidClaimException e) {
+            return rejected(JwtValidationResult.Failure.INVALID_ISSUER, e);
+        } catch (SignatureException e) {
+            return rejected(JwtValidationResult.Failure.INVALID_SIGNATURE, e);
+        } catch (UnsupportedJwtException e) {
+            return rejected(JwtValidationResult.Failure.UNSUPPORTED, e);
+        } catch (JwtException | IllegalArgumentException e) {
+            return rejected(JwtValidationResult.Failure.MALFORMED, e);
         }
     }
 
+    private JwtValidationResult rejected(JwtValidationResult.Failure failure, Exception e) {
+        logger.debug("JWT rechazado ({}): {}", failure, e.getMessage());
+        return JwtValidationResult.invalid(failure);
+    }
+
     public Boolean validateToken(String token, UserDetails userDetails) {
-        try {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername()) 
-                    && !isTokenExpired(token));
-        } catch (JwtException | IllegalArgumentException e) {
-            logger.error("JWT validation failed: {}", e.getMessage());
-            return false;
-        }
+        JwtValidationResult result = validate(token);
+        return result.isValid() && userDetails.getUsername().equals(result.getSubject());
     }
 
     // Método adicional para validar token sin UserDetails (útil para filtros)
     public Boolean validateToken(String token) {
-        try {
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            logger.error("JWT validation failed: {}", e.getMessage());
-            return false;
-        }
+        return validate(token).isValid();
     }
 }
-
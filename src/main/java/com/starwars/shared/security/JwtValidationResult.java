@@ -0,0 +1,52 @@
+package com.starwars.shared.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * Resultado de parsear y verificar un JWT una sola vez: los datos del token si es válido, o el motivo
+ * por el que se rechazó.
+ */
+@Getter
+public final class JwtValidationResult {
+
+    public enum Failure {
+        /** El texto no es un JWS compacto (vacío, segmentos de más o de menos, base64 o JSON inválido). */
+        MALFORMED,
+        /** La firma no corresponde a la clave configurada. */
+        INVALID_SIGNATURE,
+        EXPIRED,
+        /** El token tiene {@code nbf} en el futuro. */
+        NOT_YET_VALID,
+        /** El emisor no es el configurado en {@code jwt.issuer}. */
+        INVALID_ISSUER,
+        /** JWT sin firmar, cifrado o con un algoritmo que no se acepta. */
+        UNSUPPORTED
+    }
+
+    private final String subject;
+    private final String issuer;
+    private final Date expiration;
+    private final Failure failure;
+
+    private JwtValidationResult(String subject, String issuer, Date expiration, Failure failure) {
+        this.subject = subject;
+        this.issuer = issuer;
+        this.expiration = expiration;
+        this.failure = failure;
+    }
+
+    static JwtValidationResult valid(Claims claims) {
+        return new JwtValidationResult(claims.getSubject(), claims.getIssuer(), claims.getExpiration(), null);
+    }
+
+    static JwtValidationResult invalid(Failure failure) {
+        return new JwtValidationResult(null, null, null, failure);
+    }
+
+    public boolean isValid() {
+        return failure == null;
+    }
+}
@@ -0,0 +1,224 @@
+package com.starwars.shared.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cuotas de requests por cliente, con un token bucket por cliente y por regla. Cada regla es un patrón
+ * de ruta con su cuota ({@code permisos/segundos}); la primera que coincide con la ruta se aplica, y las
+ * demás rutas usan la cuota por defecto.
+ *
+ * <p>Cada bucket es un único {@link AtomicLong} con el instante en que volvería a estar lleno (algoritmo
+ * GCRA, equivalente a un token bucket con capacidad igual a los permisos): consumir es una lectura y un
+ * compareAndSet, sin locks. Los buckets viven en un {@link ConcurrentHashMap} por regla, que reparte la
+ * contención entre sus bins. Un bucket que ya se llenó equivale a no tener bucket, así que los inactivos
+ * se descartan en un barrido periódico sin perder información. Con {@code max-clients} buckets ya creados,
+ * el cliente nuevo hace lugar: se descartan los llenos y, si no alcanza, el 10% más cercano a llenarse, que
+ * es el que menos cuota pierde al olvidarse. Una avalancha de claves distintas (un request cada una) se
+ * desaloja a sí misma y nunca deja sin bucket propio a un cliente nuevo.
+ *
+ * <p>Métricas: {@code swapi.rate-limit.requests} con {@code route} y {@code result=allowed|rejected}, y
+ * {@code swapi.rate-limit.clients}.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final boolean enabled;
+    private final int maxClients;
+    private final List<Rule> rules = new ArrayList<>();
+    private final Rule defaultRule;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final AtomicLong nextSweep;
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public RateLimiter(@Value("${swapi.rate-limit.enabled:true}") boolean enabled,
+                       @Value("${swapi.rate-limit.default-quota:120/60}") String defaultQuota,
+                       @Value("#{${swapi.rate-limit.routes:{:}}}") Map<String, String> routeQuotas,
+                       @Value("${swapi.rate-limit.max-clients:100000}") int maxClients,
+                       MeterRegistry registry) {
+        this.enabled = enabled;
+        this.maxClients = maxClients;
+        for (Map.Entry<String, String> route : routeQuotas.entrySet()) {
+            rules.add(new Rule(route.getKey(), route.getValue(), registry));
+        }
+        this.defaultRule = new Rule("default", defaultQuota, registry);
+        this.nextSweep = new AtomicLong(System.nanoTime() + SWEEP_INTERVAL_NANOS);
+        Gauge.builder("swapi.rate-limit.clients", this, RateLimiter::clientCount)
+                .description("Buckets de clientes activos").register(registry);
+        log.info("Rate limiting {}: {} por defecto, rutas {}", enabled ? "activo" : "desactivado", defaultQuota,
+                routeQuotas.isEmpty() ? Collections.emptyMap() : routeQuotas);
+    }
+
+    /**
+     * Consume un permiso del cliente en la regla que corresponde a la ruta.
+     *
+     * @return 0 si el request puede seguir; si no, los nanosegundos hasta que haya un permiso
+     */
+    public long tryAcquire(String path, String client) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        sweepIfDue(now);
+        Rule rule = ruleFor(path);
+        AtomicLong bucket = rule.buckets.get(client);
+        if (bucket == null) {
+            if (clientCount() >= maxClients) {
+                makeRoom(now);
+            }
+            bucket = rule.buckets.computeIfAbsent(client, key -> new AtomicLong(now));
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + rule.intervalNanos;
+            long wait = next - rule.capacityNanos - now;
+            if (wait > 0) {
+                rule.rejected.increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                rule.allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    public int clientCount() {
+        int count = defaultRule.buckets.size();
+        for (Rule rule : rules) {
+            count += rule.buckets.size();
+        }
+        return count;
+    }
+
+    private Rule ruleFor(String path) {
+        for (Rule rule : rules) {
+            if (pathMatcher.match(rule.pattern, path)) {
+                return rule;
+            }
+        }
+        return defaultRule;
+    }
+
+    /**
+     * Descarta los buckets que ya se llenaron. Se invoca sola cada 30 segundos desde {@link #tryAcquire}.
+     */
+    public void evictIdle() {
+        long now = System.nanoTime();
+        evictIdle(defaultRule, now);
+        for (Rule rule : rules) {
+            evictIdle(rule, now);
+        }
+    }
+
+    private void sweepIfDue(long now) {
+        long due = nextSweep.get();
+        if (now - due >= 0 && nextSweep.compareAndSet(due, now + SWEEP_INTERVAL_NANOS)) {
+            evictIdle();
+        }
+    }
+
+    /**
+     * Con el mapa lleno, descarta los buckets llenos y, si no alcanza, los más cercanos a llenarse hasta dejar
+     * libre un 10% de {@code max-clients}, así el costo del recorrido se reparte entre muchos clientes nuevos.
+     * Un solo hilo desaloja a la vez; los demás siguen sin esperar y el mapa puede pasarse por unos pocos.
+     */
+    private void makeRoom(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            evictIdle();
+            int excess = clientCount() - (maxClients - Math.max(1, maxClients / 10));
+            if (excess <= 0) {
+                return;
+            }
+            long[] remaining = new long[clientCount()];
+            int count = collectRemaining(defaultRule, now, remaining, 0);
+            for (Rule rule : rules) {
+                count = collectRemaining(rule, now, remaining, count);
+            }
+            if (count == 0) {
+                return;
+            }
+            Arrays.sort(remaining, 0, count);
+            long threshold = remaining[Math.min(excess, count) - 1];
+            evictBelow(defaultRule, now, threshold);
+            for (Rule rule : rules) {
+                evictBelow(rule, now, threshold);
+            }
+            log.debug("Rate limiting: {} clientes desalojados con el mapa lleno", excess);
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static int collectRemaining(Rule rule, long now, long[] remaining, int count) {
+        for (AtomicLong bucket : rule.buckets.values()) {
+            if (count == remaining.length) {
+                break;
+            }
+            remaining[count++] = bucket.get() - now;
+        }
+        return count;
+    }
+
+    private static void evictBelow(Rule rule, long now, long threshold) {
+        rule.buckets.values().removeIf(bucket -> bucket.get() - now <= threshold);
+    }
+
+    private static void evictIdle(Rule rule, long now) {
+        rule.buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    private static final class Rule {
+        private final String pattern;
+        private final long intervalNanos;
+        private final long capacityNanos;
+        private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final Counter allowed;
+        private final Counter rejected;
+
+        private Rule(String pattern, String quota, MeterRegistry registry) {
+            String[] parts = quota.trim().split("/");
+            long permits;
+            long seconds;
+            try {
+                permits = Long.parseLong(parts[0].trim());
+                seconds = parts.length == 2 ? Long.parseLong(parts[1].trim()) : -1;
+            } catch (NumberFormatException e) {
+                permits = -1;
+                seconds = -1;
+            }
+            if (permits <= 0 || seconds <= 0) {
+                throw new IllegalArgumentException("Cuota inválida para " + pattern + ": '" + quota
+                        + "'; el formato es permisos/segundos, p. ej. 10/60");
+            }
+            this.pattern = pattern;
+            this.intervalNanos = TimeUnit.SECONDS.toNanos(seconds) / permits;
+            this.capacityNanos = intervalNanos * permits;
+            this.allowed = Counter.builder("swapi.rate-limit.requests").tag("route", pattern).tag("result", "allowed")
+                    .description("Requests dentro de la cuota").register(registry);
+            this.rejected = Counter.builder("swapi.rate-limit.requests").tag("route", pattern).tag("result", "rejected")
+                    .description("Requests rechazados con 429").register(registry);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.starwars.shared.security;
+
+import lombok.Getter;
+
+/**
+ * Publicado cuando se crea o modifica un usuario (alta, cambio de contraseña). Permite descartar lo que
+ * se haya guardado de ese usuario, como su UserDetails en caché.
+ */
+@Getter
+public class UserChangedEvent {
+    private final String username;
+
+    public UserChangedEvent(String username) {
+        this.username = username;
+    }
+}
@@ -0,0 +1,101 @@
+package com.starwars.shared.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Tokens ya verificados, para que un cliente que reutiliza el mismo JWT no pague la verificación HMAC
+ * y el parseo en cada request. La clave es el SHA-256 del token (el token en sí no queda en memoria) y
+ * el valor es el resultado de la verificación, con subject y vencimiento.
+ *
+ * <p>Solo se guardan resultados válidos con vencimiento. Una entrada vencida nunca se devuelve: se
+ * descarta al consultarla y el token se verifica de nuevo, lo que produce el rechazo por vencimiento.
+ * Al llenarse se purgan las entradas vencidas y, si no hay lugar, el token se verifica sin guardarlo.
+ *
+ * <p>Métricas: {@code swapi.jwt.cache.requests} con {@code result=hit|miss} y {@code swapi.jwt.cache.size}.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    });
+
+    private final int maxEntries;
+    private final Map<ByteBuffer, JwtValidationResult> entries = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedTokenCache(@Value("${jwt.token-cache.max-entries:10000}") int maxEntries, MeterRegistry registry) {
+        this.maxEntries = maxEntries;
+        this.hits = Counter.builder("swapi.jwt.cache.requests").tag("result", "hit")
+                .description("Tokens resueltos desde la caché, sin verificar la firma").register(registry);
+        this.misses = Counter.builder("swapi.jwt.cache.requests").tag("result", "miss")
+                .description("Tokens que hubo que verificar").register(registry);
+        Gauge.builder("swapi.jwt.cache.size", entries, Map::size)
+                .description("Tokens verificados en caché").register(registry);
+    }
+
+    /**
+     * Devuelve el resultado en caché si el token ya se verificó y no venció; si no, lo verifica con
+     * {@code verifier} y guarda el resultado cuando es válido.
+     */
+    public JwtValidationResult validate(String token, Function<String, JwtValidationResult> verifier) {
+        if (maxEntries <= 0) {
+            return verifier.apply(token);
+        }
+        ByteBuffer key = digest(token);
+        long now = System.currentTimeMillis();
+        JwtValidationResult cached = entries.get(key);
+        if (cached != null) {
+            if (isAlive(cached, now)) {
+                hits.increment();
+                return cached;
+            }
+            entries.remove(key, cached);
+        }
+        misses.increment();
+        JwtValidationResult result = verifier.apply(token);
+        if (result.isValid() && result.getExpiration() != null && isAlive(result, now)) {
+            put(key, result, now);
+        }
+        return result;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void put(ByteBuffer key, JwtValidationResult result, long now) {
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(entry -> !isAlive(entry, now));
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.put(key, result);
+    }
+
+    private static boolean isAlive(JwtValidationResult result, long now) {
+        return result.getExpiration().getTime() > now;
+    }
+
+    private static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
@@ -1,7 +1,10 @@
 package com.starwars.shared.service;
 
+import com.starwars.shared.catalog.CatalogPage;
+import com.starwars.shared.dto.api.ApiDetailResult;
 import com.starwars.shared.dto.api.ApiPageResponse;
 import com.starwars.shared.dto.PageResponseDto;
+import com.starwars.shared.http.DegradedResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,6 +12,7 @@ import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -16,6 +20,8 @@ import java.util.List;
 @Slf4j
 public abstract class BaseStarWarsService {
 
+    private static final int CATALOG_PAGE_SIZE = 100;
+
     @Autowired
     protected RestTemplate restTemplate;
 
@@ -42,6 +48,39 @@ public abstract class BaseStarWarsService {
         }
     }
 
+    /**
+     * Recorre todas las páginas expandidas de un recurso para construir la copia local del catálogo.
+     * Devuelve null si alguna página falla, para no publicar nunca un catálogo incompleto.
+     */
+    protected <T> List<ApiDetailResult<T>> fetchAllPages(String resourceUrl, ParameterizedTypeReference<ApiPageResponse<T>> typeRef) {
+        List<ApiDetailResult<T>> results = new ArrayList<>();
+        int page = 1;
+        Integer totalPages;
+        do {
+            String url = UriComponentsBuilder.fromHttpUrl(resourceUrl)
+                    .queryParam("page", page)
+                    .queryParam("limit", CATALOG_PAGE_SIZE)
+                    .queryParam("expanded", "true")
+                    .build()
+                    .toUriString();
+            ApiPageResponse<T> apiResponse = fetchApiData(url, typeRef);
+            if (apiResponse == null || apiResponse.getResults() == null) {
+                return null;
+            }
+            results.addAll(apiResponse.getResults());
+            totalPages = apiResponse.getTotalPages();
+            page++;
+        } while (totalPages != null && page <= totalPages);
+        return results;
+    }
+
+    /**
+     * Calcula el desplazamiento de una página evitando desbordes con páginas muy altas.
+     */
+    protected int offsetOf(int page, int limit) {
+        return (int) Math.min((long) (page - 1) * limit, Integer.MAX_VALUE);
+    }
+
     /**
      * Crea una respuesta de página manualmente cuando la API externa no provee metadatos de paginación.
      */
@@ -94,6 +133,56 @@ public abstract class BaseStarWarsService {
         return pageResponse;
     }
 
+    /**
+     * Página vacía que reemplaza un listado que SWAPI no pudo entregar. Se marca como degradada para
+     * que no se guarde en la caché de respuestas.
+     */
+    protected <T> PageResponseDto<T> createFallbackPage() {
+        DegradedResponse.mark();
+        return createEmptyPage();
+    }
+
+    /**
+     * Crea una respuesta de página a partir de una consulta al catálogo local, que ya trae
+     * la porción pedida, el total de coincidencias y los conteos de facetas.
+     */
+    protected <T> PageResponseDto<T> createCatalogPageResponse(CatalogPage<T> result, int page, int limit) {
+        int totalElements = result.getTotalElements();
+        if (totalElements == 0) {
+            PageResponseDto<T> emptyPage = createEmptyPage();
+            emptyPage.setFacets(result.getFacets());
+            return emptyPage;
+        }
+        int totalPages = (int) Math.ceil((double) totalElements / limit);
+
+        PageResponseDto<T> pageResponse = new PageResponseDto<>();
+        pageResponse.setContent(result.getContent());
+        if (result.isKeyset()) {
+            // En modo cursor no hay número de página: la navegación la dan los cursores
+            pageResponse.setSize(result.getContent().size());
+            pageResponse.setTotalElements(totalElements);
+            pageResponse.setTotalPages(totalPages);
+            pageResponse.setFirst(result.getPreviousCursor() == null);
+            pageResponse.setLast(result.getNextCursor() == null);
+            pageResponse.setHasNext(result.getNextCursor() != null);
+            pageResponse.setHasPrevious(result.getPreviousCursor() != null);
+            pageResponse.setNextCursor(result.getNextCursor());
+            pageResponse.setPreviousCursor(result.getPreviousCursor());
+            pageResponse.setFacets(result.getFacets());
+            return pageResponse;
+        }
+        pageResponse.setPage(page);
+        pageResponse.setSize(result.getContent().size());
+        pageResponse.setTotalElements(totalElements);
+        pageResponse.setTotalPages(totalPages);
+        pageResponse.setFirst(page == 1);
+        pageResponse.setLast(page >= totalPages);
+        pageResponse.setHasNext(page < totalPages);
+        pageResponse.setHasPrevious(page > 1);
+        pageResponse.setFacets(result.getFacets());
+        return pageResponse;
+    }
+
     protected <T> PageResponseDto<T> createPageResponse(List<T> content, ApiPageResponse<?> apiResponse, int page) {
         PageResponseDto<T> pageResponse = new PageResponseDto<>();
         pageResponse.setContent(content);
@@ -1,6 +1,10 @@
 package com.starwars.starships.controller;
 
 import com.starwars.shared.dto.PageResponseDto;
+import com.starwars.shared.export.NdjsonExporter;
+import com.starwars.shared.catalog.CatalogQuery;
+import com.starwars.shared.catalog.RangeFilter;
+import com.starwars.shared.catalog.SortOrder;
 import com.starwars.starships.dto.StarshipResponseDto;
 import com.starwars.starships.service.StarshipService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -8,11 +12,17 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.constraints.Min;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -23,11 +33,12 @@ import javax.validation.constraints.Min;
 public class StarshipsController {
 
     private final StarshipService starshipService;
+    private final NdjsonExporter ndjsonExporter;
 
     @GetMapping
     @Operation(
         summary = "Listar o buscar naves espaciales", 
-        description = "Obtiene una lista paginada de naves espaciales de Star Wars, o filtra por nombre"
+        description = "Obtiene una lista paginada de naves espaciales de Star Wars, o filtra por nombre y rangos numéricos"
     )
     public ResponseEntity<PageResponseDto<StarshipResponseDto>> listOrSearch(
             @Parameter(description = "Filtro por nombre (no sensible a mayúsculas)")
@@ -35,13 +46,65 @@ public class StarshipsController {
             @Parameter(description = "Número de página (comienza en 1)")
             @RequestParam(defaultValue = "1") @Min(1) int page,
             @Parameter(description = "Número de resultados por página")
-            @RequestParam(defaultValue = "10") @Min(1) int limit) {
+            @RequestParam(defaultValue = "10") @Min(1) int limit,
+            @Parameter(description = "Ordenamiento campo[,asc|desc], repetible para varias claves. Campos: name, model, manufacturer, costInCredits, length, crew, passengers, starshipClass")
+            @RequestParam(required = false) List<String> sort,
+            @Parameter(description = "Paginación por cursor: vacío para la primera página, luego nextCursor o previousCursor de la respuesta. Ignora page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tripulación mínima (inclusive)")
+            @RequestParam(required = false) Double minCrew,
+            @Parameter(description = "Tripulación máxima (inclusive)")
+            @RequestParam(required = false) Double maxCrew,
+            @Parameter(description = "Pasajeros mínimos (inclusive)")
+            @RequestParam(required = false) Double minPassengers,
+            @Parameter(description = "Pasajeros máximos (inclusive)")
+            @RequestParam(required = false) Double maxPassengers,
+            @Parameter(description = "Longitud mínima (inclusive)")
+            @RequestParam(required = false) Double minLength,
+            @Parameter(description = "Longitud máxima (inclusive)")
+            @RequestParam(required = false) Double maxLength,
+            @Parameter(description = "Costo mínimo en créditos (inclusive)")
+            @RequestParam(required = false) Double minCostInCredits,
+            @Parameter(description = "Costo máximo en créditos (inclusive)")
+            @RequestParam(required = false) Double maxCostInCredits,
+            @Parameter(description = "Facetas cuyos conteos se incluyen en la respuesta: starshipClass")
+            @RequestParam(required = false) List<String> facets,
+            @Parameter(description = "Filtro por clase de nave; varios valores se combinan con OR")
+            @RequestParam(required = false) List<String> starshipClass) {
 
-        log.info("Request received for starships. Name: [{}], Page: [{}], Limit: [{}]", name, page, limit);
-        PageResponseDto<StarshipResponseDto> result = starshipService.listOrSearchStarships(name, page, limit);
+        log.info("Request received for starships. Name: [{}], Page: [{}], Limit: [{}], Sort: {}, Cursor: [{}]", name, page, limit, sort, cursor);
+        Map<String, List<String>> facetFilters = new LinkedHashMap<>();
+        facetFilters.put("starshipClass", starshipClass);
+        CatalogQuery query = CatalogQuery.builder()
+                .sort(SortOrder.parse(sort))
+                .ranges(RangeFilter.collect(
+                        RangeFilter.of("crew", minCrew, maxCrew),
+                        RangeFilter.of("passengers", minPassengers, maxPassengers),
+                        RangeFilter.of("length", minLength, maxLength),
+                        RangeFilter.of("costInCredits", minCostInCredits, maxCostInCredits)))
+                .facets(facets != null ? facets : Collections.<String>emptyList())
+                .facetFilters(facetFilters)
+                .cursor(cursor)
+                .build();
+        PageResponseDto<StarshipResponseDto> result = starshipService.listOrSearchStarships(name, page, limit, query);
         return ResponseEntity.ok(result);
     }
 
+    @GetMapping("/export")
+    @Operation(
+        summary = "Exportar naves espaciales",
+        description = "Devuelve todas las naves espaciales como NDJSON (un objeto JSON por línea) en una respuesta chunked. "
+                + "Con Accept-Encoding: gzip la salida se comprime en streaming"
+    )
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "Campos a incluir de cada elemento, por ejemplo: id,name")
+            @RequestParam(required = false) List<String> fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        log.info("Exporting starships as NDJSON");
+        return ndjsonExporter.export(StarshipResponseDto.class, starshipService.exportStarships(), fields, acceptEncoding);
+    }
+
     @GetMapping("/{id}")
     @Operation(
         summary = "Obtener nave espacial por ID", 
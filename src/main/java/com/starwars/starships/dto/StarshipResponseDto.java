@@ -1,12 +1,18 @@
 package com.starwars.starships.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 @Builder
+@EqualsAndHashCode
 public class StarshipResponseDto {
     private String id;
     private String name;
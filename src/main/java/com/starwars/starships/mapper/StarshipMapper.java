@@ -1,13 +1,19 @@
 package com.starwars.starships.mapper;
 
-import com.starwars.shared.dto.api.ApiResult;
+import com.starwars.shared.dto.api.ApiDetailResult;
 import com.starwars.starships.dto.StarshipApiDto;
 import com.starwars.starships.dto.StarshipResponseDto;
+import com.starwars.shared.config.ResponseMapperConfig;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-@Mapper(componentModel = "spring")
+@Mapper(config = ResponseMapperConfig.class)
 public interface StarshipMapper {
+
+    default StarshipResponseDto toResponseDtoFromDetail(ApiDetailResult<StarshipApiDto> detailResult) {
+        return detailResult != null ? toResponseDto(detailResult.getUid(), detailResult.getProperties()) : null;
+    }
+
     @Mapping(source = "uid", target = "id")
     @Mapping(source = "properties.name", target = "name")
     @Mapping(source = "properties.model", target = "model")
@@ -17,6 +23,5 @@ public interface StarshipMapper {
     @Mapping(source = "properties.crew", target = "crew")
     @Mapping(source = "properties.passengers", target = "passengers")
     @Mapping(source = "properties.starshipClass", target = "starshipClass")
-    StarshipResponseDto toResponseDtoFromDetail(ApiResult<StarshipApiDto> apiResult);
+    StarshipResponseDto toResponseDto(String uid, StarshipApiDto properties);
 }
-
@@ -1,10 +1,40 @@
 package com.starwars.starships.repository;
 
+import com.starwars.shared.catalog.CatalogField;
+import com.starwars.shared.catalog.CatalogRepository;
+import com.starwars.shared.catalog.StringPool;
+import com.starwars.starships.dto.StarshipResponseDto;
 import org.springframework.stereotype.Repository;
 
+import java.util.Arrays;
+
+/**
+ * Copia local de las naves espaciales de SWAPI, usada para ordenar, filtrar y facetar sin consultar a SWAPI en cada request.
+ */
 @Repository
-public interface StarshipRepository {
-    // Este repositorio se mantiene vacío ya que los datos vienen de la API externa SWAPI
-    // En el futuro se podría usar para cachear datos o almacenar favoritos del usuario
-}
+public class StarshipRepository extends CatalogRepository<StarshipResponseDto> {
 
+    public StarshipRepository() {
+        super("starships", StarshipResponseDto::getId, StarshipResponseDto::getName, Arrays.asList(
+                CatalogField.text("name", StarshipResponseDto::getName),
+                CatalogField.text("model", StarshipResponseDto::getModel),
+                CatalogField.text("manufacturer", StarshipResponseDto::getManufacturer),
+                CatalogField.numeric("costInCredits", StarshipResponseDto::getCostInCredits),
+                CatalogField.numeric("length", StarshipResponseDto::getLength),
+                CatalogField.numeric("crew", StarshipResponseDto::getCrew),
+                CatalogField.numeric("passengers", StarshipResponseDto::getPassengers),
+                CatalogField.text("starshipClass", StarshipResponseDto::getStarshipClass)
+        ), Arrays.asList(
+                CatalogField.text("starshipClass", StarshipResponseDto::getStarshipClass)
+        ));
+    }
+
+    @Override
+    protected void canonicalize(StarshipResponseDto starship, StringPool pool) {
+        starship.setManufacturer(pool.canonical(starship.getManufacturer()));
+        starship.setCostInCredits(pool.canonical(starship.getCostInCredits()));
+        starship.setCrew(pool.canonical(starship.getCrew()));
+        starship.setPassengers(pool.canonical(starship.getPassengers()));
+        starship.setStarshipClass(pool.canonical(starship.getStarshipClass()));
+    }
+}
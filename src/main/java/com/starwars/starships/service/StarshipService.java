@@ -7,14 +7,18 @@ import com.starwars.starships.dto.StarshipResponseDto;
 import com.starwars.shared.exception.ResourceNotFoundException;
 import com.starwars.starships.mapper.StarshipMapper;
 import com.starwars.shared.service.BaseStarWarsService;
+import com.starwars.shared.catalog.CatalogPage;
+import com.starwars.shared.catalog.CatalogQuery;
+import com.starwars.shared.catalog.CatalogSnapshot;
+import com.starwars.starships.repository.StarshipRepository;
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -22,8 +26,18 @@ import java.util.stream.Collectors;
 public class StarshipService extends BaseStarWarsService {
 
     private final StarshipMapper starshipMapper;
+    private final StarshipRepository starshipRepository;
 
     public PageResponseDto<StarshipResponseDto> listOrSearchStarships(String name, int page, int limit) {
+        return listOrSearchStarships(name, page, limit, CatalogQuery.empty());
+    }
+
+    public PageResponseDto<StarshipResponseDto> listOrSearchStarships(String name, int page, int limit, CatalogQuery query) {
+        if (query.requiresCatalog()) {
+            CatalogSnapshot<StarshipResponseDto> catalog = starshipRepository.getSnapshot(this::loadCatalog);
+            CatalogPage<StarshipResponseDto> result = catalog.query(name, query, offsetOf(page, limit), limit);
+            return createCatalogPageResponse(result, page, limit);
+        }
         if (name != null && !name.trim().isEmpty()) {
             String url = UriComponentsBuilder.fromHttpUrl(baseUrl + "/starships")
                     .queryParam("name", name.trim())
@@ -55,7 +69,7 @@ public class StarshipService extends BaseStarWarsService {
                 return createPageResponse(starships, apiResponse, page);
             }
         }
-        return createEmptyPage();
+        return createFallbackPage();
     }
 
     public StarshipResponseDto getStarshipById(String id) {
@@ -66,10 +80,7 @@ public class StarshipService extends BaseStarWarsService {
             ApiEntityResponse<ApiDetailResult<StarshipApiDto>> apiResponse = fetchApiData(url, typeRef);
 
             if (apiResponse != null && apiResponse.getResult() != null && apiResponse.getResult().getProperties() != null) {
-                ApiResult<StarshipApiDto> tempResult = new ApiResult<>();
-                tempResult.setUid(apiResponse.getResult().getUid());
-                tempResult.setProperties(apiResponse.getResult().getProperties());
-                return starshipMapper.toResponseDtoFromDetail(tempResult);
+                return starshipMapper.toResponseDtoFromDetail(apiResponse.getResult());
             }
             
             throw new ResourceNotFoundException("Starship", "id", id);
@@ -79,15 +90,26 @@ public class StarshipService extends BaseStarWarsService {
         }
     }
 
+    /**
+     * Todos los elementos del catálogo local, ordenados por id, para exportar la colección completa.
+     */
+    public List<StarshipResponseDto> exportStarships() {
+        return starshipRepository.getSnapshot(this::loadCatalog).getItems();
+    }
+
+    private List<StarshipResponseDto> loadCatalog() {
+        ParameterizedTypeReference<ApiPageResponse<StarshipApiDto>> typeRef =
+                new ParameterizedTypeReference<ApiPageResponse<StarshipApiDto>>() {};
+        List<ApiDetailResult<StarshipApiDto>> results = fetchAllPages(baseUrl + "/starships", typeRef);
+        return results != null ? mapDetailResultToResponse(results) : null;
+    }
+
     private List<StarshipResponseDto> mapDetailResultToResponse(List<ApiDetailResult<StarshipApiDto>> results) {
-        return results.stream()
-                .map(detailResult -> {
-                    ApiResult<StarshipApiDto> tempResult = new ApiResult<>();
-                    tempResult.setUid(detailResult.getUid());
-                    tempResult.setProperties(detailResult.getProperties());
-                    return starshipMapper.toResponseDtoFromDetail(tempResult);
-                })
-                .collect(Collectors.toList());
+        List<StarshipResponseDto> mapped = new ArrayList<>(results.size());
+        for (ApiDetailResult<StarshipApiDto> detailResult : results) {
+            mapped.add(starshipMapper.toResponseDtoFromDetail(detailResult));
+        }
+        return mapped;
     }
 }
 
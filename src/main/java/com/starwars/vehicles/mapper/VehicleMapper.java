@@ -1,13 +1,19 @@
 package com.starwars.vehicles.mapper;
 
-import com.starwars.shared.dto.api.ApiResult;
+import com.starwars.shared.dto.api.ApiDetailResult;
 import com.starwars.vehicles.dto.VehicleApiDto;
 import com.starwars.vehicles.dto.VehicleResponseDto;
+import com.starwars.shared.config.ResponseMapperConfig;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-@Mapper(componentModel = "spring")
+@Mapper(config = ResponseMapperConfig.class)
 public interface VehicleMapper {
+
+    default VehicleResponseDto toResponseDtoFromDetail(ApiDetailResult<VehicleApiDto> detailResult) {
+        return detailResult != null ? toResponseDto(detailResult.getUid(), detailResult.getProperties()) : null;
+    }
+
     @Mapping(source = "uid", target = "id")
     @Mapping(source = "properties.name", target = "name")
     @Mapping(source = "properties.model", target = "model")
@@ -17,6 +23,5 @@ public interface VehicleMapper {
     @Mapping(source = "properties.crew", target = "crew")
     @Mapping(source = "properties.passengers", target = "passengers")
     @Mapping(source = "properties.vehicleClass", target = "vehicleClass")
-    VehicleResponseDto toResponseDtoFromDetail(ApiResult<VehicleApiDto> apiResult);
+    VehicleResponseDto toResponseDto(String uid, VehicleApiDto properties);
 }
-
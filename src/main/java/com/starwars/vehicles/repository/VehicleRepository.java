@@ -1,10 +1,40 @@
 package com.starwars.vehicles.repository;
 
+import com.starwars.shared.catalog.CatalogField;
+import com.starwars.shared.catalog.CatalogRepository;
+import com.starwars.shared.catalog.StringPool;
+import com.starwars.vehicles.dto.VehicleResponseDto;
 import org.springframework.stereotype.Repository;
 
+import java.util.Arrays;
+
+/**
+ * Copia local de los vehículos de SWAPI, usada para ordenar, filtrar y facetar sin consultar a SWAPI en cada request.
+ */
 @Repository
-public interface VehicleRepository {
-    // Este repositorio se mantiene vacío ya que los datos vienen de la API externa SWAPI
-    // En el futuro se podría usar para cachear datos o almacenar favoritos del usuario
-}
+public class VehicleRepository extends CatalogRepository<VehicleResponseDto> {
 
+    public VehicleRepository() {
+        super("vehicles", VehicleResponseDto::getId, VehicleResponseDto::getName, Arrays.asList(
+                CatalogField.text("name", VehicleResponseDto::getName),
+                CatalogField.text("model", VehicleResponseDto::getModel),
+                CatalogField.text("manufacturer", VehicleResponseDto::getManufacturer),
+                CatalogField.numeric("costInCredits", VehicleResponseDto::getCostInCredits),
+                CatalogField.numeric("length", VehicleResponseDto::getLength),
+                CatalogField.numeric("crew", VehicleResponseDto::getCrew),
+                CatalogField.numeric("passengers", VehicleResponseDto::getPassengers),
+                CatalogField.text("vehicleClass", VehicleResponseDto::getVehicleClass)
+        ), Arrays.asList(
+                CatalogField.text("vehicleClass", VehicleResponseDto::getVehicleClass)
+        ));
+    }
+
+    @Override
+    protected void canonicalize(VehicleResponseDto vehicle, StringPool pool) {
+        vehicle.setManufacturer(pool.canonical(vehicle.getManufacturer()));
+        vehicle.setCostInCredits(pool.canonical(vehicle.getCostInCredits()));
+        vehicle.setCrew(pool.canonical(vehicle.getCrew()));
+        vehicle.setPassengers(pool.canonical(vehicle.getPassengers()));
+        vehicle.setVehicleClass(pool.canonical(vehicle.getVehicleClass()));
+    }
+}
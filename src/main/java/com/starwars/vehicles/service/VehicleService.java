@@ -7,14 +7,18 @@ import com.starwars.vehicles.dto.VehicleResponseDto;
 import com.starwars.shared.exception.ResourceNotFoundException;
 import com.starwars.vehicles.mapper.VehicleMapper;
 import com.starwars.shared.service.BaseStarWarsService;
+import com.starwars.shared.catalog.CatalogPage;
+import com.starwars.shared.catalog.CatalogQuery;
+import com.starwars.shared.catalog.CatalogSnapshot;
+import com.starwars.vehicles.repository.VehicleRepository;
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -22,8 +26,18 @@ import java.util.stream.Collectors;
 public class VehicleService extends BaseStarWarsService {
 
     private final VehicleMapper vehicleMapper;
+    private final VehicleRepository vehicleRepository;
 
     public PageResponseDto<VehicleResponseDto> listOrSearchVehicles(String name, int page, int limit) {
+        return listOrSearchVehicles(name, page, limit, CatalogQuery.empty());
+    }
+
+    public PageResponseDto<VehicleResponseDto> listOrSearchVehicles(String name, int page, int limit, CatalogQuery query) {
+        if (query.requiresCatalog()) {
+            CatalogSnapshot<VehicleResponseDto> catalog = vehicleRepository.getSnapshot(this::loadCatalog);
+            CatalogPage<VehicleResponseDto> result = catalog.query(name, query, offsetOf(page, limit), limit);
+            return createCatalogPageResponse(result, page, limit);
+        }
         if (name != null && !name.trim().isEmpty()) {
             String url = UriComponentsBuilder.fromHttpUrl(baseUrl + "/vehicles")
                     .queryParam("name", name.trim())
@@ -55,7 +69,7 @@ public class VehicleService extends BaseStarWarsService {
                 return createPageResponse(vehicles, apiResponse, page);
             }
         }
-        return createEmptyPage();
+        return createFallbackPage();
     }
 
     public VehicleResponseDto getVehicleById(String id) {
@@ -66,10 +80,7 @@ public class VehicleService extends BaseStarWarsService {
             ApiEntityResponse<ApiDetailResult<VehicleApiDto>> apiResponse = fetchApiData(url, typeRef);
             
             if (apiResponse != null && apiResponse.getResult() != null && apiResponse.getResult().getProperties() != null) {
-                ApiResult<VehicleApiDto> tempResult = new ApiResult<>();
-                tempResult.setUid(apiResponse.getResult().getUid());
-                tempResult.setProperties(apiResponse.getResult().getProperties());
-                return vehicleMapper.toResponseDtoFromDetail(tempResult);
+                return vehicleMapper.toResponseDtoFromDetail(apiResponse.getResult());
             }
             
             throw new ResourceNotFoundException("Vehicle", "id", id);
@@ -79,15 +90,26 @@ public class VehicleService extends BaseStarWarsService {
         }
     }
 
+    /**
+     * Todos los elementos del catálogo local, ordenados por id, para exportar la colección completa.
+     */
+    public List<VehicleResponseDto> exportVehicles() {
+        return vehicleRepository.getSnapshot(this::loadCatalog).getItems();
+    }
+
+    private List<VehicleResponseDto> loadCatalog() {
+        ParameterizedTypeReference<ApiPageResponse<VehicleApiDto>> typeRef =
+                new ParameterizedTypeReference<ApiPageResponse<VehicleApiDto>>() {};
+        List<ApiDetailResult<VehicleApiDto>> results = fetchAllPages(baseUrl + "/vehicles", typeRef);
+        return results != null ? mapDetailResultToResponse(results) : null;
+    }
+
     private List<VehicleResponseDto> mapDetailResultToResponse(List<ApiDetailResult<VehicleApiDto>> results) {
-        return results.stream()
-                .map(detailResult -> {
-                    ApiResult<VehicleApiDto> tempResult = new ApiResult<>();
-                    tempResult.setUid(detailResult.getUid());
-                    tempResult.setProperties(detailResult.getProperties());
-                    return vehicleMapper.toResponseDtoFromDetail(tempResult);
-                })
-                .collect(Collectors.toList());
+        List<VehicleResponseDto> mapped = new ArrayList<>(results.size());
+        for (ApiDetailResult<VehicleApiDto> detailResult : results) {
+            mapped.add(vehicleMapper.toResponseDtoFromDetail(detailResult));
+        }
+        return mapped;
     }
 }
 
@@ -3,6 +3,7 @@
 
 CREATE TABLE IF NOT EXISTS app_users (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    username VARCHAR(50) NOT NULL UNIQUE,
-    password VARCHAR(255) NOT NULL
+    username VARCHAR(50) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_app_users_username UNIQUE (username)
 );
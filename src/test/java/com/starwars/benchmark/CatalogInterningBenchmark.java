@@ -0,0 +1,204 @@
+package com.starwars.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.people.dto.PersonApiDto;
+import com.starwars.people.mapper.PersonMapperImpl;
+import com.starwars.people.repository.PersonRepository;
+import com.starwars.shared.catalog.CatalogRepository;
+import com.starwars.shared.catalog.CatalogSnapshot;
+import com.starwars.shared.dto.api.ApiDetailResult;
+import com.starwars.starships.dto.StarshipApiDto;
+import com.starwars.starships.mapper.StarshipMapperImpl;
+import com.starwars.starships.repository.StarshipRepository;
+import com.starwars.vehicles.dto.VehicleApiDto;
+import com.starwars.vehicles.mapper.VehicleMapperImpl;
+import com.starwars.vehicles.repository.VehicleRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Ingesta de 10.000 entidades en la copia local con y sin canonicalización de atributos repetidos.
+ * Las entidades salen de parsear JSON con Jackson y mapear con MapStruct, como en la carga real, así
+ * cada valor llega como una instancia propia. Al preparar cada combinación se imprime el informe de heap:
+ * bytes retenidos por los String de las entidades, contando una sola vez las instancias compartidas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogInterningBenchmark {
+
+    private static final int ENTITIES = 10_000;
+    private static final String[] COLORS = {"blue", "brown", "yellow", "red", "black", "hazel", "blue-gray",
+            "orange", "pink", "gold", "green", "white", "grey", "n/a", "unknown"};
+    private static final String[] MANUFACTURERS = {"Corellian Engineering Corporation", "Kuat Drive Yards",
+            "Sienar Fleet Systems", "Incom Corporation", "Koensayr Manufacturing", "Cygnus Spaceworks",
+            "Gallofree Yards, Inc.", "Alliance Underground Engineering, Incom Corporation", "Theed Palace Space Vessel Engineering Corps",
+            "Republic Sienar Systems", "Rothana Heavy Engineering", "Hoersch-Kessel Drive, Inc.", "Feethan Ottraw Scalable Assemblies"};
+    private static final String[] CLASSES = {"Starfighter", "corvette", "Star Destroyer", "landing craft",
+            "Light freighter", "assault starfighter", "transport", "wheeled", "repulsorcraft", "airspeeder",
+            "walker", "speeder", "gunship", "yacht"};
+
+    @Param({"people", "starships", "vehicles"})
+    public String resource;
+
+    @Param({"false", "true"})
+    public boolean interning;
+
+    private CatalogRepository<Object> repository;
+    private List<Object> items;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        ObjectMapper mapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        switch (resource) {
+            case "starships":
+                repository = (CatalogRepository<Object>) (CatalogRepository<?>) new StarshipRepository();
+                items = parse(mapper, StarshipApiDto.class, CatalogInterningBenchmark::starship,
+                        detail -> new StarshipMapperImpl().toResponseDtoFromDetail(detail));
+                break;
+            case "vehicles":
+                repository = (CatalogRepository<Object>) (CatalogRepository<?>) new VehicleRepository();
+                items = parse(mapper, VehicleApiDto.class, CatalogInterningBenchmark::vehicle,
+                        detail -> new VehicleMapperImpl().toResponseDtoFromDetail(detail));
+                break;
+            default:
+                repository = (CatalogRepository<Object>) (CatalogRepository<?>) new PersonRepository();
+                items = parse(mapper, PersonApiDto.class, CatalogInterningBenchmark::person,
+                        detail -> new PersonMapperImpl().toResponseDtoFromDetail(detail));
+        }
+        ReflectionTestUtils.setField(repository, "ttlSeconds", 0L);
+        ReflectionTestUtils.setField(repository, "internStrings", interning);
+
+        List<Object> loaded = repository.getSnapshot(() -> items).getItems();
+        StringFootprint footprint = StringFootprint.of(loaded);
+        System.out.printf("%n%s (interning=%s): %d String distintos, %d KB retenidos por %d entidades%n",
+                resource, interning, footprint.instances, footprint.bytes / 1024, loaded.size());
+    }
+
+    @Benchmark
+    public CatalogSnapshot<Object> ingest() {
+        return repository.getSnapshot(() -> items);
+    }
+
+    /**
+     * Serializa las entidades en el formato de SWAPI y las vuelve a leer, para que cada valor sea un String nuevo.
+     */
+    private static <A, R> List<Object> parse(ObjectMapper mapper, Class<A> apiType, Function<Integer, A> generator,
+                                             Function<ApiDetailResult<A>, R> toResponse) throws IOException {
+        List<ApiDetailResult<A>> results = new ArrayList<>(ENTITIES);
+        for (int i = 1; i <= ENTITIES; i++) {
+            ApiDetailResult<A> result = new ApiDetailResult<>();
+            result.setUid(String.valueOf(i));
+            result.setProperties(generator.apply(i));
+            results.add(result);
+        }
+        JavaType type = mapper.getTypeFactory().constructCollectionType(List.class,
+                mapper.getTypeFactory().constructParametricType(ApiDetailResult.class, apiType));
+        List<ApiDetailResult<A>> parsed = mapper.readValue(mapper.writeValueAsBytes(results), type);
+        List<Object> items = new ArrayList<>(ENTITIES);
+        for (ApiDetailResult<A> detail : parsed) {
+            items.add(toResponse.apply(detail));
+        }
+        return items;
+    }
+
+    private static PersonApiDto person(int i) {
+        PersonApiDto person = new PersonApiDto();
+        person.setName("Personaje " + i);
+        person.setHeight(String.valueOf(90 + i % 140));
+        person.setMass(i % 9 == 0 ? "unknown" : String.valueOf(30 + i % 110));
+        person.setHairColor(COLORS[(i * 7) % COLORS.length]);
+        person.setSkinColor(COLORS[(i * 3) % COLORS.length]);
+        person.setEyeColor(COLORS[i % COLORS.length]);
+        person.setBirthYear((i % 900) + "BBY");
+        person.setGender(i % 11 == 0 ? "n/a" : i % 2 == 0 ? "female" : "male");
+        person.setHomeworld("https://www.swapi.tech/api/planets/" + (1 + i % 60));
+        return person;
+    }
+
+    private static StarshipApiDto starship(int i) {
+        StarshipApiDto starship = new StarshipApiDto();
+        starship.setName("Nave " + i);
+        starship.setModel("Modelo " + (i % 500));
+        starship.setManufacturer(MANUFACTURERS[i % MANUFACTURERS.length]);
+        starship.setCostInCredits(i % 5 == 0 ? "unknown" : String.valueOf(100_000 * (1 + i % 40)));
+        starship.setLength(String.valueOf(10 + i % 300));
+        starship.setCrew(String.valueOf(1 + i % 12));
+        starship.setPassengers(i % 3 == 0 ? "n/a" : String.valueOf(i % 20));
+        starship.setStarshipClass(CLASSES[i % 7]);
+        return starship;
+    }
+
+    private static VehicleApiDto vehicle(int i) {
+        VehicleApiDto vehicle = new VehicleApiDto();
+        vehicle.setName("Vehículo " + i);
+        vehicle.setModel("Modelo " + (i % 500));
+        vehicle.setManufacturer(MANUFACTURERS[(i * 5) % MANUFACTURERS.length]);
+        vehicle.setCostInCredits(i % 4 == 0 ? "unknown" : String.valueOf(5_000 * (1 + i % 30)));
+        vehicle.setLength(String.valueOf(2 + i % 40));
+        vehicle.setCrew(String.valueOf(1 + i % 6));
+        vehicle.setPassengers(String.valueOf(i % 8));
+        vehicle.setVehicleClass(CLASSES[7 + i % 7]);
+        return vehicle;
+    }
+
+    /**
+     * Estimación del heap retenido por los String de un conjunto de objetos, con compressed oops:
+     * 24 bytes por String más su arreglo (bytes Latin-1 desde Java 9, chars en Java 8), alineados a 8.
+     */
+    private static final class StringFootprint {
+        private static final boolean COMPACT_STRINGS = !System.getProperty("java.specification.version").startsWith("1.");
+
+        private long instances;
+        private long bytes;
+
+        static StringFootprint of(List<?> entities) {
+            Set<String> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+            StringFootprint footprint = new StringFootprint();
+            for (Object entity : entities) {
+                for (Field field : entity.getClass().getDeclaredFields()) {
+                    if (field.getType() != String.class || Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    String value = (String) ReflectionTestUtils.getField(entity, field.getName());
+                    if (value != null && seen.add(value)) {
+                        footprint.instances++;
+                        footprint.bytes += 24 + align(16 + (long) value.length() * (COMPACT_STRINGS ? 1 : 2));
+                    }
+                }
+            }
+            return footprint;
+        }
+
+        private static long align(long size) {
+            return (size + 7) & ~7L;
+        }
+    }
+}
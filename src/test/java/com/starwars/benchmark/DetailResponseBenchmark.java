@@ -0,0 +1,113 @@
+package com.starwars.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.people.dto.PersonApiDto;
+import com.starwars.people.mapper.PersonMapper;
+import com.starwars.people.mapper.PersonMapperImpl;
+import com.starwars.shared.dto.api.ApiDetailResult;
+import com.starwars.shared.http.CachedResponse;
+import com.starwars.shared.http.ResponseCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por request de {@code GET /people/{id}} una vez que SWAPI respondió: mapear con MapStruct y
+ * serializar con Jackson en cada hit, contra resolver la clave en {@link ResponseCache} y copiar los bytes
+ * ya serializados. Con el perfilador GC de {@link BenchmarkRunner}, {@code gc.alloc.rate.norm} da los
+ * bytes asignados por hit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DetailResponseBenchmark {
+
+    private PersonMapper mapper;
+    private ObjectMapper objectMapper;
+    private ApiDetailResult<PersonApiDto> detailResult;
+    private ResponseCache cache;
+    private MockHttpServletRequest request;
+    private BlackholeOutputStream output;
+
+    @Setup
+    public void setUp(Blackhole blackhole) throws IOException {
+        mapper = new PersonMapperImpl();
+        objectMapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        detailResult = sampleResult();
+        output = new BlackholeOutputStream(blackhole);
+
+        cache = new ResponseCache(3600, 1000, Arrays.asList("people", "films", "starships", "vehicles"));
+        request = new MockHttpServletRequest("GET", "/people/1");
+        request.addHeader("Accept", "application/json");
+        cache.put(cache.keyFor(request), new CachedResponse("application/json",
+                objectMapper.writeValueAsBytes(mapper.toResponseDtoFromDetail(detailResult))));
+    }
+
+    @Benchmark
+    public void mapAndSerialize() throws IOException {
+        objectMapper.writeValue(output, mapper.toResponseDtoFromDetail(detailResult));
+    }
+
+    @Benchmark
+    public void cachedBytes() throws IOException {
+        CachedResponse cached = cache.get(cache.keyFor(request));
+        output.write(cached.getBody());
+    }
+
+    private static ApiDetailResult<PersonApiDto> sampleResult() {
+        PersonApiDto properties = new PersonApiDto();
+        properties.setName("Luke Skywalker");
+        properties.setHeight("172");
+        properties.setMass("77");
+        properties.setHairColor("blond");
+        properties.setSkinColor("fair");
+        properties.setEyeColor("blue");
+        properties.setBirthYear("19BBY");
+        properties.setGender("male");
+        properties.setHomeworld("https://www.swapi.tech/api/planets/1");
+        ApiDetailResult<PersonApiDto> result = new ApiDetailResult<>();
+        result.setUid("1");
+        result.setProperties(properties);
+        return result;
+    }
+
+    /**
+     * Destino de escritura que no copia nada, para medir solo el trabajo previo a la red.
+     */
+    private static final class BlackholeOutputStream extends OutputStream {
+        private final Blackhole blackhole;
+
+        private BlackholeOutputStream(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(int b) {
+            blackhole.consume(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            blackhole.consume(b);
+            blackhole.consume(len);
+        }
+    }
+}
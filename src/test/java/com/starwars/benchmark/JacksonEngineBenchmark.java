@@ -0,0 +1,145 @@
+package com.starwars.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.starwars.people.dto.PersonApiDto;
+import com.starwars.people.dto.PersonResponseDto;
+import com.starwars.shared.dto.PageResponseDto;
+import com.starwars.shared.dto.api.ApiDetailResult;
+import com.starwars.shared.dto.api.ApiPageResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización de la página de 100 personajes que devuelve {@code GET /people} y deserialización de la
+ * página equivalente de SWAPI, con la misma configuración que el ObjectMapper de la aplicación: solo
+ * reflexión (antes) y con accesores generados por Afterburner o Blackbird (después).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JacksonEngineBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"reflection", "afterburner", "blackbird"})
+    public String accessors;
+
+    private ObjectMapper mapper;
+    private PageResponseDto<PersonResponseDto> page;
+    private JavaType apiPageType;
+    private byte[] apiPage;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = mapperFor(accessors);
+        page = samplePage();
+        apiPageType = mapper.getTypeFactory().constructParametricType(ApiPageResponse.class, PersonApiDto.class);
+        apiPage = mapper.writeValueAsBytes(sampleApiPage());
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws IOException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public ApiPageResponse<PersonApiDto> deserializeApiPage() throws IOException {
+        return mapper.readValue(apiPage, apiPageType);
+    }
+
+    /**
+     * Mismas opciones que aplica Spring Boot por defecto más las de {@code application.properties}.
+     */
+    private static ObjectMapper mapperFor(String accessors) {
+        ObjectMapper mapper = new ObjectMapper()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        switch (accessors) {
+            case "afterburner":
+                return mapper.registerModule(new AfterburnerModule());
+            case "blackbird":
+                return mapper.registerModule(new BlackbirdModule());
+            default:
+                return mapper;
+        }
+    }
+
+    private static PageResponseDto<PersonResponseDto> samplePage() {
+        List<PersonResponseDto> people = new ArrayList<>(PAGE_SIZE);
+        for (int i = 1; i <= PAGE_SIZE; i++) {
+            people.add(PersonResponseDto.builder()
+                    .id(String.valueOf(i))
+                    .name("Personaje número " + i)
+                    .height(String.valueOf(150 + i % 60))
+                    .mass(i % 7 == 0 ? "unknown" : String.valueOf(45 + i % 80))
+                    .hairColor(i % 3 == 0 ? "none" : "brown")
+                    .skinColor("fair")
+                    .eyeColor(i % 2 == 0 ? "blue" : "brown")
+                    .birthYear((10 + i % 90) + "BBY")
+                    .gender(i % 2 == 0 ? "female" : "male")
+                    .homeworld("https://www.swapi.tech/api/planets/" + (1 + i % 60))
+                    .build());
+        }
+        return PageResponseDto.<PersonResponseDto>builder()
+                .content(people)
+                .totalPages(1)
+                .totalElements(PAGE_SIZE)
+                .page(1)
+                .size(PAGE_SIZE)
+                .first(true)
+                .last(true)
+                .build();
+    }
+
+    private static ApiPageResponse<PersonApiDto> sampleApiPage() {
+        List<ApiDetailResult<PersonApiDto>> results = new ArrayList<>(PAGE_SIZE);
+        for (int i = 1; i <= PAGE_SIZE; i++) {
+            PersonApiDto properties = new PersonApiDto();
+            properties.setName("Personaje número " + i);
+            properties.setHeight(String.valueOf(150 + i % 60));
+            properties.setMass(i % 7 == 0 ? "unknown" : String.valueOf(45 + i % 80));
+            properties.setHairColor(i % 3 == 0 ? "none" : "brown");
+            properties.setSkinColor("fair");
+            properties.setEyeColor(i % 2 == 0 ? "blue" : "brown");
+            properties.setBirthYear((10 + i % 90) + "BBY");
+            properties.setGender(i % 2 == 0 ? "female" : "male");
+            properties.setHomeworld("https://www.swapi.tech/api/planets/" + (1 + i % 60));
+            properties.setUrl("https://www.swapi.tech/api/people/" + i);
+            properties.setCreated("2025-01-01T00:00:00.000Z");
+            properties.setEdited("2025-01-01T00:00:00.000Z");
+            ApiDetailResult<PersonApiDto> result = new ApiDetailResult<>();
+            result.setUid(String.valueOf(i));
+            result.setDescription("A person within the Star Wars universe");
+            result.setProperties(properties);
+            results.add(result);
+        }
+        ApiPageResponse<PersonApiDto> page = new ApiPageResponse<>();
+        page.setMessage("ok");
+        page.setTotalRecords(PAGE_SIZE);
+        page.setTotalPages(1);
+        page.setResults(results);
+        return page;
+    }
+}
@@ -0,0 +1,112 @@
+package com.starwars.benchmark;
+
+import com.starwars.auth.service.UserDetailsServiceImpl;
+import com.starwars.shared.security.JwtPrincipalResolver;
+import com.starwars.shared.security.JwtRequestFilter;
+import com.starwars.shared.security.JwtUtil;
+import com.starwars.shared.security.JwtValidationResult;
+import com.starwars.shared.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo del filtro JWT por request autenticado, con el usuario resuelto en memoria para aislar el trabajo
+ * sobre el token. {@code legacyValidation} repite las cuatro verificaciones HS512 que hacía el filtro antes
+ * de validar una sola vez ({@code validateToken}, {@code extractUsername} y las dos de
+ * {@code validateToken(token, userDetails)}); {@code singleValidation} es la validación actual sin el filtro.
+ * {@code filterRequest} verifica el token en cada request y {@code filterRequestCachedToken} lo resuelve
+ * desde {@link VerifiedTokenCache}, como cuando un cliente reutiliza su JWT.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "clave-de-benchmark-para-hs512-con-al-menos-sesenta-y-cuatro-caracteres";
+
+    private JwtUtil jwtUtil;
+    private JwtRequestFilter filter;
+    private JwtRequestFilter cachingFilter;
+    private String token;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 3_600_000L, "starwars-api", "default", Collections.emptyMap());
+
+        UserDetails luke = new User("luke", "password", new ArrayList<>());
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl(null, null) {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return luke;
+            }
+        };
+        filter = new JwtRequestFilter(resolver(userDetailsService), jwtUtil, new VerifiedTokenCache(0, new SimpleMeterRegistry()));
+        cachingFilter = new JwtRequestFilter(resolver(userDetailsService), jwtUtil,
+                new VerifiedTokenCache(10_000, new SimpleMeterRegistry()));
+        token = jwtUtil.generateToken(luke);
+        request = new MockHttpServletRequest("GET", "/people");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object filterRequest() throws ServletException, IOException {
+        return authenticate(filter);
+    }
+
+    @Benchmark
+    public Object filterRequestCachedToken() throws ServletException, IOException {
+        return authenticate(cachingFilter);
+    }
+
+    @Benchmark
+    public void legacyValidation(Blackhole blackhole) {
+        blackhole.consume(jwtUtil.extractExpiration(token));
+        blackhole.consume(jwtUtil.extractUsername(token));
+        blackhole.consume(jwtUtil.extractUsername(token));
+        blackhole.consume(jwtUtil.extractExpiration(token));
+    }
+
+    @Benchmark
+    public JwtValidationResult singleValidation() {
+        return jwtUtil.validate(token);
+    }
+
+    private static JwtPrincipalResolver resolver(UserDetailsServiceImpl userDetailsService) {
+        return new JwtPrincipalResolver(userDetailsService, JwtPrincipalResolver.Mode.DATABASE, 300, 100);
+    }
+
+    private Object authenticate(JwtRequestFilter jwtFilter) throws ServletException, IOException {
+        jwtFilter.doFilter(request, response, new MockFilterChain());
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,111 @@
+package com.starwars.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.starwars.people.dto.PersonResponseDto;
+import com.starwars.shared.dto.PageResponseDto;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Codificación y decodificación de una página de 100 personajes en JSON y en los formatos binarios
+ * negociables. El tamaño de cada payload se imprime al preparar el benchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageEncodingBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"json", "smile", "cbor", "msgpack"})
+    public String format;
+
+    private ObjectMapper mapper;
+    private JavaType pageType;
+    private PageResponseDto<PersonResponseDto> page;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = new ObjectMapper(factoryFor(format)).setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        pageType = mapper.getTypeFactory().constructParametricType(PageResponseDto.class, PersonResponseDto.class);
+        page = samplePage();
+        encoded = mapper.writeValueAsBytes(page);
+        System.out.printf("%n%s: %d bytes por página de %d personajes%n", format, encoded.length, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public PageResponseDto<PersonResponseDto> decode() throws IOException {
+        return mapper.readValue(encoded, pageType);
+    }
+
+    private static JsonFactory factoryFor(String format) {
+        switch (format) {
+            case "smile":
+                return new SmileFactory();
+            case "cbor":
+                return new CBORFactory();
+            case "msgpack":
+                return new MessagePackFactory();
+            default:
+                return new JsonFactory();
+        }
+    }
+
+    private static PageResponseDto<PersonResponseDto> samplePage() {
+        String[] eyeColors = {"blue", "yellow", "red", "brown", "blue-gray", "black", "orange", "hazel"};
+        String[] genders = {"male", "female", "n/a", "hermaphrodite"};
+        List<PersonResponseDto> people = new ArrayList<>(PAGE_SIZE);
+        for (int i = 1; i <= PAGE_SIZE; i++) {
+            people.add(PersonResponseDto.builder()
+                    .id(String.valueOf(i))
+                    .name("Personaje número " + i)
+                    .height(String.valueOf(150 + i % 60))
+                    .mass(i % 7 == 0 ? "unknown" : String.valueOf(45 + i % 80))
+                    .hairColor(i % 3 == 0 ? "none" : "brown")
+                    .skinColor("fair")
+                    .eyeColor(eyeColors[i % eyeColors.length])
+                    .birthYear((10 + i % 90) + "BBY")
+                    .gender(genders[i % genders.length])
+                    .homeworld("https://www.swapi.tech/api/planets/" + (1 + i % 60))
+                    .build());
+        }
+        return PageResponseDto.<PersonResponseDto>builder()
+                .content(people)
+                .totalPages(1)
+                .totalElements(PAGE_SIZE)
+                .page(1)
+                .size(PAGE_SIZE)
+                .first(true)
+                .last(true)
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.starwars.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.shared.security.RateLimitFilter;
+import com.starwars.shared.security.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de la cuota por request. {@code acquireOneClient} consume siempre del mismo bucket y
+ * {@code acquireManyClients} rota entre 10.000 clientes; las dos pasan por las tres reglas de ruta de
+ * application.properties antes de caer en la cuota por defecto. {@code filterRequest} es el filtro
+ * completo, con la clave del cliente y la ruta. Las cuotas son tan altas que nunca se rechaza.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimitFilterBenchmark {
+
+    private static final int CLIENTS = 10_000;
+    private static final String UNLIMITED = "1000000000/1";
+
+    private RateLimiter rateLimiter;
+    private RateLimitFilter filter;
+    private String[] clients;
+    private int next;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        Map<String, String> routes = new LinkedHashMap<>();
+        routes.put("/auth/login", UNLIMITED);
+        routes.put("/auth/register", UNLIMITED);
+        routes.put("/auth/check-username/**", UNLIMITED);
+        rateLimiter = new RateLimiter(true, UNLIMITED, routes, 100_000, new SimpleMeterRegistry());
+        filter = new RateLimitFilter(rateLimiter, new ObjectMapper());
+        clients = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = "ip:10.0." + (i >> 8) + "." + (i & 0xff);
+        }
+        request = new MockHttpServletRequest("GET", "/people");
+        request.setRemoteAddr("10.0.0.1");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public long acquireOneClient() {
+        return rateLimiter.tryAcquire("/people", "ip:10.0.0.1");
+    }
+
+    @Benchmark
+    public long acquireManyClients() {
+        next = (next + 1) % CLIENTS;
+        return rateLimiter.tryAcquire("/people", clients[next]);
+    }
+
+    @Benchmark
+    public Object filterRequest() throws ServletException, IOException {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        return chain.getRequest();
+    }
+}
@@ -0,0 +1,151 @@
+package com.starwars.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.StarWarsApplication;
+import com.starwars.auth.dto.RefreshTokenRequest;
+import com.starwars.auth.dto.RegisterRequest;
+import com.starwars.auth.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(classes = StarWarsApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+public class AuthControllerIntegrationTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private MockMvc mockMvc;
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    public void register_SameUsernameFromManyThreads_ShouldCreateExactlyOneUser() throws Exception {
+        // Arrange - nombre único por ejecución, porque la base se comparte entre tests
+        String username = "concurrente" + System.nanoTime() % 1_000_000;
+        String body = objectMapper.writeValueAsString(new RegisterRequest(username, "password123", "password123"));
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // Act
+        List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(post("/auth/register")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(body))
+                            .andReturn().getResponse();
+                }));
+            }
+            start.countDown();
+
+            // Assert
+            int created = 0;
+            int rejected = 0;
+            for (Future<MockHttpServletResponse> future : responses) {
+                MockHttpServletResponse response = future.get(60, TimeUnit.SECONDS);
+                if (response.getStatus() == 200) {
+                    created++;
+                } else {
+                    assertEquals(400, response.getStatus());
+                    assertTrue(response.getContentAsString(StandardCharsets.UTF_8).contains("El nombre de usuario ya está en uso"));
+                    rejected++;
+                }
+            }
+            assertEquals(1, created);
+            assertEquals(THREADS - 1, rejected);
+            assertEquals(1, userRepository.findAllUsernames().stream().filter(username::equals).count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void refresh_ShouldRotateAndRevokeSessionWhenUsedTokenIsReplayed() throws Exception {
+        // Arrange
+        JsonNode login = registerAndLogin("refresh" + System.nanoTime() % 1_000_000);
+        String firstRefresh = login.get("refreshToken").asText();
+        assertTrue(login.get("expiresIn").asLong() > 0);
+
+        // Act
+        JsonNode rotated = postJson("/auth/refresh", refreshBody(firstRefresh), 200);
+        String secondRefresh = rotated.get("refreshToken").asText();
+
+        // Assert - el token usado no vale y su reutilización revoca también el que lo reemplazó
+        assertNotEquals(firstRefresh, secondRefresh);
+        assertFalse(rotated.get("jwt").asText().isEmpty());
+        postJson("/auth/refresh", refreshBody(firstRefresh), 401);
+        postJson("/auth/refresh", refreshBody(secondRefresh), 401);
+    }
+
+    @Test
+    public void logout_ShouldRevokeRefreshToken() throws Exception {
+        // Arrange
+        JsonNode login = registerAndLogin("logout" + System.nanoTime() % 1_000_000);
+        String refresh = login.get("refreshToken").asText();
+
+        // Act
+        mockMvc.perform(post("/auth/logout").contentType(MediaType.APPLICATION_JSON).content(refreshBody(refresh)))
+                .andExpect(status().isNoContent());
+
+        // Assert
+        postJson("/auth/refresh", refreshBody(refresh), 401);
+    }
+
+    private JsonNode registerAndLogin(String username) throws Exception {
+        postJson("/auth/register", objectMapper.writeValueAsString(
+                new RegisterRequest(username, "password123", "password123")), 200);
+        return postJson("/auth/login", "{\"username\":\"" + username + "\",\"password\":\"password123\"}", 200);
+    }
+
+    private JsonNode postJson(String path, String body, int expectedStatus) throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().is(expectedStatus))
+                .andReturn().getResponse();
+        return objectMapper.readTree(response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    private String refreshBody(String refreshToken) throws Exception {
+        return objectMapper.writeValueAsString(new RefreshTokenRequest(refreshToken));
+    }
+}
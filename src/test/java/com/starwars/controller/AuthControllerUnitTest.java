@@ -2,10 +2,14 @@ package com.starwars.controller;
 
 import com.starwars.auth.dto.AuthenticationRequest;
 import com.starwars.auth.dto.AuthenticationResponse;
+import com.starwars.auth.dto.RefreshTokenRequest;
 import com.starwars.auth.dto.RegisterRequest;
 import com.starwars.auth.dto.RegisterResponse;
+import com.starwars.shared.exception.InvalidRefreshTokenException;
+import com.starwars.shared.exception.TooManyRequestsException;
 import com.starwars.shared.security.JwtUtil;
 import com.starwars.auth.service.UserDetailsServiceImpl;
+import com.starwars.auth.service.RefreshTokenService;
 import com.starwars.auth.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,6 +23,7 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import java.util.ArrayList;
 
@@ -38,6 +43,9 @@ public class AuthControllerUnitTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     @Mock
     private JwtUtil jwtUtil;
 
@@ -56,6 +64,8 @@ public class AuthControllerUnitTest {
 
         when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
         when(jwtUtil.generateToken(userDetails)).thenReturn(expectedJwt);
+        when(jwtUtil.getExpirationSeconds()).thenReturn(900L);
+        when(refreshTokenService.issue("testuser")).thenReturn("refresh-1");
 
         // Act
         ResponseEntity<?> response = authController.createAuthenticationToken(authRequest);
@@ -65,6 +75,8 @@ public class AuthControllerUnitTest {
         assertTrue(response.getBody() instanceof AuthenticationResponse);
         AuthenticationResponse authResponse = (AuthenticationResponse) response.getBody();
         assertEquals(expectedJwt, authResponse.getJwt());
+        assertEquals("refresh-1", authResponse.getRefreshToken());
+        assertEquals(900L, authResponse.getExpiresIn());
 
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
         verify(userDetailsService).loadUserByUsername("testuser");
@@ -129,6 +141,18 @@ public class AuthControllerUnitTest {
         verify(userService).registerUser(registerRequest);
     }
 
+    @Test
+    public void registerUser_PasswordHashingSaturated_ShouldPropagateTooManyRequests() {
+        // Arrange
+        RegisterRequest registerRequest = new RegisterRequest("newuser", "password123", "password123");
+
+        when(userService.registerUser(registerRequest))
+                .thenThrow(new TooManyRequestsException("Hay demasiados inicios de sesión en curso", 1));
+
+        // Act & Assert: no se convierte en 400, lo responde GlobalExceptionHandler con 429
+        assertThrows(TooManyRequestsException.class, () -> authController.registerUser(registerRequest));
+    }
+
     @Test
     public void registerUser_PasswordMismatch_ShouldReturnBadRequest() {
         // Arrange
@@ -228,4 +252,35 @@ public class AuthControllerUnitTest {
                         auth.getCredentials().equals("password123")
         ));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void refreshToken_ValidToken_ShouldReturnNewJwtAndRotatedRefreshToken() {
+        // Arrange
+        UserDetails userDetails = new User("testuser", "encodedPassword", new ArrayList<>());
+        when(refreshTokenService.rotate("refresh-1")).thenReturn(new RefreshTokenService.Rotation("testuser", "refresh-2"));
+        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
+        when(jwtUtil.generateToken(userDetails)).thenReturn("nuevo.jwt");
+        when(jwtUtil.getExpirationSeconds()).thenReturn(900L);
+
+        // Act
+        ResponseEntity<AuthenticationResponse> response = authController.refreshToken(new RefreshTokenRequest("refresh-1"));
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("nuevo.jwt", response.getBody().getJwt());
+        assertEquals("refresh-2", response.getBody().getRefreshToken());
+    }
+
+    @Test
+    public void refreshToken_UserNoLongerExists_ShouldRevokeSessionAndReject() {
+        // Arrange
+        when(refreshTokenService.rotate("refresh-1")).thenReturn(new RefreshTokenService.Rotation("borrado", "refresh-2"));
+        when(userDetailsService.loadUserByUsername("borrado")).thenThrow(new UsernameNotFoundException("borrado"));
+
+        // Act & Assert
+        assertThrows(InvalidRefreshTokenException.class,
+                () -> authController.refreshToken(new RefreshTokenRequest("refresh-1")));
+        verify(refreshTokenService).revoke("refresh-2");
+        verifyNoInteractions(jwtUtil);
+    }
+}
@@ -258,4 +258,88 @@ public class FilmsControllerIntegrationTest {
                 .andDo(print())
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    public void searchFilms_WithPhraseAndTerm_ShouldRankAndHighlightLocally() throws Exception {
+        // Arrange - La búsqueda se resuelve sobre el índice de la copia local
+        String mockCatalogResponse = "{\n" +
+                "  \"message\": \"ok\",\n" +
+                "  \"result\": [\n" +
+                "    {\n" +
+                "      \"uid\": \"1\",\n" +
+                "      \"properties\": {\n" +
+                "        \"title\": \"A New Hope\",\n" +
+                "        \"episode_id\": 4,\n" +
+                "        \"opening_crawl\": \"Rebel spies managed to steal secret plans to the Empire's ultimate weapon, the DEATH STAR, an armored space station.\",\n" +
+                "        \"director\": \"George Lucas\",\n" +
+                "        \"producer\": \"Gary Kurtz, Rick McCallum\",\n" +
+                "        \"release_date\": \"1977-05-25\"\n" +
+                "      }\n" +
+                "    },\n" +
+                "    {\n" +
+                "      \"uid\": \"2\",\n" +
+                "      \"properties\": {\n" +
+                "        \"title\": \"The Empire Strikes Back\",\n" +
+                "        \"episode_id\": 5,\n" +
+                "        \"opening_crawl\": \"Although the Death Star has been destroyed, Imperial troops have driven the Rebel forces from their hidden base.\",\n" +
+                "        \"director\": \"Irvin Kershner\",\n" +
+                "        \"producer\": \"Gary Kurtz, Rick McCallum\",\n" +
+                "        \"release_date\": \"1980-05-17\"\n" +
+                "      }\n" +
+                "    },\n" +
+                "    {\n" +
+                "      \"uid\": \"3\",\n" +
+                "      \"properties\": {\n" +
+                "        \"title\": \"Return of the Jedi\",\n" +
+                "        \"episode_id\": 6,\n" +
+                "        \"opening_crawl\": \"Luke Skywalker has returned to his home planet of Tatooine.\",\n" +
+                "        \"director\": \"Richard Marquand\",\n" +
+                "        \"producer\": \"Howard G. Kazanjian, George Lucas\",\n" +
+                "        \"release_date\": \"1983-05-25\"\n" +
+                "      }\n" +
+                "    }\n" +
+                "  ]\n" +
+                "}";
+        stubFor(WireMock.get(urlPathEqualTo("/api/films"))
+                .withQueryParam("expanded", equalTo("true"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(mockCatalogResponse)));
+
+        // Act & Assert - La frase es obligatoria; "spies" solo suma puntaje
+        mockMvc.perform(get("/films/search")
+                        .param("text", "\"death star\" spies"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(2)))
+                .andExpect(jsonPath("$.content[0].film.title", is("A New Hope")))
+                .andExpect(jsonPath("$.content[1].film.title", is("The Empire Strikes Back")))
+                .andExpect(jsonPath("$.content[0].score", greaterThan(0.0)))
+                .andExpect(jsonPath("$.content[0].highlights.openingCrawl",
+                        containsString("<em>spies</em> managed to steal")))
+                .andExpect(jsonPath("$.content[1].highlights.openingCrawl",
+                        containsString("the <em>Death</em> <em>Star</em> has been destroyed")));
+
+        mockMvc.perform(get("/films/search")
+                        .param("text", "lucas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].film.id", containsInAnyOrder("1", "3")))
+                .andExpect(jsonPath("$.content[*].highlights.director", contains("George <em>Lucas</em>")))
+                .andExpect(jsonPath("$.content[*].highlights.producer", contains("Howard G. Kazanjian, George <em>Lucas</em>")));
+    }
+
+    @Test
+    public void searchFilms_WithoutText_ShouldReturnBadRequest() throws Exception {
+        stubFor(WireMock.get(urlPathEqualTo("/api/films"))
+                .withQueryParam("expanded", equalTo("true"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"message\": \"ok\", \"result\": []}")));
+
+        mockMvc.perform(get("/films/search"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
 }
\ No newline at end of file
@@ -1,26 +1,53 @@
 package com.starwars.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.jayway.jsonpath.JsonPath;
 import com.starwars.StarWarsApplication;
+import com.starwars.shared.config.JacksonConfig;
+import com.starwars.shared.http.ResponseCompressionFilter;
+import com.starwars.shared.protobuf.PersonPage;
+import com.starwars.shared.security.JwtAuthenticationEntryPoint;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestTemplate;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -34,6 +61,18 @@ public class PeopleControllerIntegrationTest {
     @Autowired
     private WebApplicationContext webApplicationContext;
 
+    @Autowired
+    private ResponseCompressionFilter responseCompressionFilter;
+
+    @Autowired
+    private ObjectMapper applicationObjectMapper;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
+
     private MockMvc mockMvc;
     private WireMockServer wireMockServer;
     private ObjectMapper objectMapper = new ObjectMapper();
@@ -53,6 +92,25 @@ public class PeopleControllerIntegrationTest {
         wireMockServer.stop();
     }
 
+    @Test
+    public void jsonEngine_ShouldBeSharedByRestTemplateAndEntryPointWithBytecodeAccessors() throws Exception {
+        MappingJackson2HttpMessageConverter jsonConverter = restTemplate.getMessageConverters().stream()
+                .filter(MappingJackson2HttpMessageConverter.class::isInstance)
+                .map(MappingJackson2HttpMessageConverter.class::cast)
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+        assertSame(applicationObjectMapper, jsonConverter.getObjectMapper());
+        assertTrue(applicationObjectMapper.getRegisteredModuleIds().contains(JacksonConfig.accessorModule().getTypeId()));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        jwtAuthenticationEntryPoint.commence(new MockHttpServletRequest("GET", "/people"), response,
+                new BadCredentialsException("token inválido"));
+
+        assertEquals(401, response.getStatus());
+        assertEquals("Token JWT inválido o expirado",
+                JsonPath.read(response.getContentAsString(StandardCharsets.UTF_8), "$.message"));
+    }
+
     @Test
     public void listPeople_WithoutNameFilter_ShouldReturnPaginatedResults() throws Exception {
         // Arrange - Mock de la respuesta de la API externa
@@ -248,6 +306,172 @@ public class PeopleControllerIntegrationTest {
                 .andExpect(jsonPath("$.gender", is("male")));
     }
 
+    @Test
+    public void getPersonById_WithFields_ShouldSerializeOnlySelectedFields() throws Exception {
+        String mockPersonResponse = "{\n" +
+                "  \"message\": \"ok\",\n" +
+                "  \"result\": {\n" +
+                "    \"uid\": \"1\",\n" +
+                "    \"properties\": {\n" +
+                "      \"height\": \"172\",\n" +
+                "      \"mass\": \"77\",\n" +
+                "      \"gender\": \"male\",\n" +
+                "      \"name\": \"Luke Skywalker\"\n" +
+                "    }\n" +
+                "  }\n" +
+                "}";
+        stubFor(WireMock.get(urlPathEqualTo("/api/people/1"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(mockPersonResponse)));
+
+        // El orden de salida es el del DTO, no el del parámetro
+        mockMvc.perform(get("/people/1")
+                        .param("fields", "height,name"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"name\":\"Luke Skywalker\",\"height\":\"172\"}", true));
+    }
+
+    @Test
+    public void listPeople_WithFields_ShouldProjectContentButKeepPageMetadata() throws Exception {
+        stubPeopleCatalog();
+
+        mockMvc.perform(get("/people")
+                        .param("sort", "name")
+                        .param("fields", "id", "name")
+                        .param("limit", "2"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name", is("Arvel Crynyd")))
+                .andExpect(jsonPath("$.content[0].id", is("28")))
+                .andExpect(jsonPath("$.content[0].mass").doesNotExist())
+                .andExpect(jsonPath("$.content[1].gender").doesNotExist())
+                .andExpect(jsonPath("$.totalElements", is(4)))
+                .andExpect(jsonPath("$.hasNext", is(true)));
+    }
+
+    @Test
+    public void listPeople_WithUnknownField_ShouldReturn400() throws Exception {
+        stubPeopleCatalog();
+
+        mockMvc.perform(get("/people")
+                        .param("sort", "name")
+                        .param("fields", "name,homeplanet"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("homeplanet")));
+    }
+
+    @Test
+    public void getPersonById_WithBinaryAccept_ShouldNegotiateFormat() throws Exception {
+        String mockPersonResponse = "{\n" +
+                "  \"message\": \"ok\",\n" +
+                "  \"result\": {\n" +
+                "    \"uid\": \"1\",\n" +
+                "    \"properties\": {\n" +
+                "      \"height\": \"172\",\n" +
+                "      \"name\": \"Luke Skywalker\"\n" +
+                "    }\n" +
+                "  }\n" +
+                "}";
+        stubFor(WireMock.get(urlPathEqualTo("/api/people/1"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(mockPersonResponse)));
+
+        Map<String, ObjectMapper> formats = new LinkedHashMap<>();
+        formats.put("application/x-jackson-smile", new ObjectMapper(new SmileFactory()));
+        formats.put("application/cbor", new ObjectMapper(new CBORFactory()));
+        formats.put("application/x-msgpack", new ObjectMapper(new MessagePackFactory()));
+
+        for (Map.Entry<String, ObjectMapper> format : formats.entrySet()) {
+            MvcResult result = mockMvc.perform(get("/people/1")
+                            .accept(format.getKey()))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(format.getKey()))
+                    .andReturn();
+
+            JsonNode person = format.getValue().readTree(result.getResponse().getContentAsByteArray());
+            assertEquals("Luke Skywalker", person.get("name").asText());
+            assertEquals("172", person.get("height").asText());
+            // Misma configuración que JSON: los nulos se omiten
+            assertFalse(person.has("mass"));
+        }
+    }
+
+    @Test
+    public void listPeople_WithProtobufAccept_ShouldReturnPersonPageMessage() throws Exception {
+        stubPeopleCatalog();
+
+        MvcResult result = mockMvc.perform(get("/people")
+                        .param("sort", "name")
+                        .param("limit", "2")
+                        .accept("application/x-protobuf"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-protobuf"))
+                .andReturn();
+
+        PersonPage page = PersonPage.parseFrom(result.getResponse().getContentAsByteArray());
+        assertEquals(2, page.getContentCount());
+        assertEquals("Arvel Crynyd", page.getContent(0).getName());
+        assertEquals("unknown", page.getContent(0).getMass());
+        assertFalse(page.getContent(0).hasHomeworld());
+        assertEquals(4L, page.getTotalElements());
+        assertTrue(page.getHasNext());
+    }
+
+    @Test
+    public void listPeople_WithFieldsAndProtobufAccept_ShouldProjectEachPerson() throws Exception {
+        stubPeopleCatalog();
+
+        MvcResult result = mockMvc.perform(get("/people")
+                        .param("sort", "name")
+                        .param("limit", "2")
+                        .param("fields", "id,name")
+                        .accept("application/x-protobuf"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-protobuf"))
+                .andReturn();
+
+        PersonPage page = PersonPage.parseFrom(result.getResponse().getContentAsByteArray());
+        assertEquals("Arvel Crynyd", page.getContent(0).getName());
+        assertTrue(page.getContent(0).hasId());
+        assertFalse(page.getContent(0).hasMass());
+        assertEquals(4L, page.getTotalElements());
+    }
+
+    @Test
+    public void listPeople_InvalidSortWithProtobufAccept_ShouldEncodeErrorInProtobuf() throws Exception {
+        stubPeopleCatalog();
+
+        MvcResult result = mockMvc.perform(get("/people")
+                        .param("sort", "homeworld")
+                        .accept("application/x-protobuf"))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+
+        com.starwars.shared.protobuf.ErrorResponse error =
+                com.starwars.shared.protobuf.ErrorResponse.parseFrom(result.getResponse().getContentAsByteArray());
+        assertEquals(400, error.getStatus());
+        assertTrue(error.getMessage().contains("homeworld"));
+    }
+
+    @Test
+    public void listPeople_InvalidPageWithMessagePackAccept_ShouldEncodeErrorInMessagePack() throws Exception {
+        MvcResult result = mockMvc.perform(get("/people")
+                        .param("page", "0")
+                        .accept("application/x-msgpack"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType("application/x-msgpack"))
+                .andReturn();
+
+        JsonNode error = new ObjectMapper(new MessagePackFactory()).readTree(result.getResponse().getContentAsByteArray());
+        assertEquals(400, error.get("status").asInt());
+    }
+
     @Test
     public void getPersonById_InvalidId_ShouldReturn404() throws Exception {
         // Arrange - Mock de respuesta 404
@@ -365,4 +589,253 @@ public class PeopleControllerIntegrationTest {
                 .andExpect(jsonPath("$.content", hasSize(0)))
                 .andExpect(jsonPath("$.totalElements", is(0)));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void listPeople_WithSort_ShouldReturnCatalogOrderedByKeys() throws Exception {
+        // Arrange - El ordenamiento se resuelve sobre la copia local del catálogo
+        stubPeopleCatalog();
+
+        // Act & Assert - Masa descendente, desconocidos al final
+        mockMvc.perform(get("/people")
+                        .param("sort", "mass,desc")
+                        .param("page", "1")
+                        .param("limit", "2"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].name", is("Darth Vader")))
+                .andExpect(jsonPath("$.content[1].name", is("Luke Skywalker")))
+                .andExpect(jsonPath("$.totalElements", is(4)))
+                .andExpect(jsonPath("$.totalPages", is(2)))
+                .andExpect(jsonPath("$.hasNext", is(true)));
+
+        mockMvc.perform(get("/people")
+                        .param("sort", "mass,desc")
+                        .param("page", "2")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name", is("C-3PO")))
+                .andExpect(jsonPath("$.content[1].name", is("Arvel Crynyd")))
+                .andExpect(jsonPath("$.last", is(true)));
+
+        // Varias claves: género ascendente y, dentro de cada género, altura descendente
+        mockMvc.perform(get("/people")
+                        .param("sort", "gender,asc", "height,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name",
+                        contains("Darth Vader", "Luke Skywalker", "Arvel Crynyd", "C-3PO")));
+    }
+
+    @Test
+    public void listPeople_WithSortAndNameFilter_ShouldFilterLocally() throws Exception {
+        stubPeopleCatalog();
+
+        mockMvc.perform(get("/people")
+                        .param("name", "DAR")
+                        .param("sort", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].name", is("Darth Vader")))
+                .andExpect(jsonPath("$.totalElements", is(1)));
+    }
+
+    @Test
+    public void listPeople_WithUnknownSortField_ShouldReturn400() throws Exception {
+        stubPeopleCatalog();
+
+        mockMvc.perform(get("/people")
+                        .param("sort", "homeworld,asc"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void listPeople_WithCursor_ShouldFollowNextAndPreviousCursors() throws Exception {
+        stubPeopleCatalog();
+
+        MvcResult firstPage = mockMvc.perform(get("/people")
+                        .param("sort", "mass,desc")
+                        .param("cursor", "")
+                        .param("limit", "2"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", contains("Darth Vader", "Luke Skywalker")))
+                .andExpect(jsonPath("$.totalElements", is(4)))
+                .andExpect(jsonPath("$.first", is(true)))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.previousCursor").doesNotExist())
+                .andReturn();
+        String nextCursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.nextCursor");
+
+        // El cursor ya lleva el ordenamiento, no hace falta repetir sort
+        MvcResult secondPage = mockMvc.perform(get("/people")
+                        .param("cursor", nextCursor)
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", contains("C-3PO", "Arvel Crynyd")))
+                .andExpect(jsonPath("$.last", is(true)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist())
+                .andReturn();
+        String previousCursor = JsonPath.read(secondPage.getResponse().getContentAsString(), "$.previousCursor");
+
+        mockMvc.perform(get("/people")
+                        .param("cursor", previousCursor)
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", contains("Darth Vader", "Luke Skywalker")));
+    }
+
+    @Test
+    public void listPeople_WithInvalidCursor_ShouldReturn400() throws Exception {
+        stubPeopleCatalog();
+
+        mockMvc.perform(get("/people")
+                        .param("cursor", "xyz"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void listPeople_WithFacets_ShouldReturnCountsAlongsidePage() throws Exception {
+        stubPeopleCatalog();
+
+        mockMvc.perform(get("/people")
+                        .param("facets", "gender,eyeColor")
+                        .param("eyeColor", "yellow")
+                        .param("limit", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].name", is("C-3PO")))
+                .andExpect(jsonPath("$.totalElements", is(2)))
+                .andExpect(jsonPath("$.facets.gender.male", is(1)))
+                .andExpect(jsonPath("$.facets.gender['n/a']", is(1)))
+                .andExpect(jsonPath("$.facets.eyeColor.yellow", is(2)))
+                .andExpect(jsonPath("$.facets.eyeColor.blue", is(1)))
+                .andExpect(jsonPath("$.facets.eyeColor.brown", is(1)));
+
+        mockMvc.perform(get("/people")
+                        .param("gender", "male")
+                        .param("eyeColor", "yellow", "blue"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", contains("Luke Skywalker", "Darth Vader")))
+                .andExpect(jsonPath("$.facets").doesNotExist());
+    }
+
+    @Test
+    public void listPeople_WithAcceptEncodingGzip_ShouldCompressResponse() throws Exception {
+        // Catálogo suficientemente grande para superar el umbral de compresión
+        StringBuilder results = new StringBuilder();
+        for (int i = 1; i <= 30; i++) {
+            results.append(i > 1 ? "," : "")
+                    .append("{\"uid\": \"").append(i).append("\", \"properties\": {\"name\": \"Clone Trooper ").append(i)
+                    .append("\", \"height\": \"183\", \"mass\": \"80\", \"eye_color\": \"brown\", \"gender\": \"male\"}}");
+        }
+        stubFor(WireMock.get(urlPathEqualTo("/api/people"))
+                .withQueryParam("limit", equalTo("100"))
+                .withQueryParam("expanded", equalTo("true"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"message\": \"ok\", \"total_records\": 30, \"total_pages\": 1, \"results\": [" + results + "]}")));
+        MockMvc compressingMockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .addFilters(responseCompressionFilter)
+                .build();
+
+        MvcResult result = compressingMockMvc.perform(get("/people")
+                        .param("sort", "name")
+                        .param("limit", "30")
+                        .header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().stringValues("Vary", "Accept", "Accept-Encoding"))
+                .andReturn();
+
+        byte[] compressed = result.getResponse().getContentAsByteArray();
+        String json;
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            json = StreamUtils.copyToString(input, StandardCharsets.UTF_8);
+        }
+        assertTrue(compressed.length < json.length());
+        assertEquals(Integer.valueOf(30), JsonPath.read(json, "$.totalElements"));
+        assertEquals("Clone Trooper 1", JsonPath.read(json, "$.content[0].name"));
+    }
+
+    @Test
+    public void exportPeople_ShouldStreamWholeCatalogAsNdjson() throws Exception {
+        stubPeopleCatalog();
+
+        MvcResult started = mockMvc.perform(get("/people/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(4, lines.length);
+        assertEquals("Luke Skywalker", objectMapper.readTree(lines[0]).get("name").asText());
+        assertEquals("28", objectMapper.readTree(lines[3]).get("id").asText());
+        assertTrue(result.getResponse().getContentAsString().endsWith("}\n"));
+    }
+
+    @Test
+    public void exportPeople_WithGzipAndFields_ShouldStreamCompressedProjection() throws Exception {
+        stubPeopleCatalog();
+
+        MvcResult started = mockMvc.perform(get("/people/export")
+                        .param("fields", "id,name")
+                        .header("Accept-Encoding", "gzip"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn();
+
+        String ndjson;
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            ndjson = StreamUtils.copyToString(input, StandardCharsets.UTF_8);
+        }
+        String[] lines = ndjson.split("\n");
+        assertEquals(4, lines.length);
+        for (String line : lines) {
+            JsonNode person = objectMapper.readTree(line);
+            assertEquals(2, person.size());
+            assertTrue(person.has("id") && person.has("name"));
+        }
+    }
+
+    @Test
+    public void exportPeople_WithUnknownField_ShouldReturn400BeforeStreaming() throws Exception {
+        stubPeopleCatalog();
+
+        mockMvc.perform(get("/people/export").param("fields", "name,lightsaber"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("lightsaber")));
+    }
+
+    private void stubPeopleCatalog() {
+        String mockCatalogResponse = "{\n" +
+                "  \"message\": \"ok\",\n" +
+                "  \"total_records\": 4,\n" +
+                "  \"total_pages\": 1,\n" +
+                "  \"previous\": null,\n" +
+                "  \"next\": null,\n" +
+                "  \"results\": [\n" +
+                "    {\"uid\": \"1\", \"properties\": {\"name\": \"Luke Skywalker\", \"height\": \"172\", \"mass\": \"77\", \"eye_color\": \"blue\", \"gender\": \"male\"}},\n" +
+                "    {\"uid\": \"2\", \"properties\": {\"name\": \"C-3PO\", \"height\": \"167\", \"mass\": \"75\", \"eye_color\": \"yellow\", \"gender\": \"n/a\"}},\n" +
+                "    {\"uid\": \"4\", \"properties\": {\"name\": \"Darth Vader\", \"height\": \"202\", \"mass\": \"136\", \"eye_color\": \"yellow\", \"gender\": \"male\"}},\n" +
+                "    {\"uid\": \"28\", \"properties\": {\"name\": \"Arvel Crynyd\", \"height\": \"unknown\", \"mass\": \"unknown\", \"eye_color\": \"brown\", \"gender\": \"male\"}}\n" +
+                "  ]\n" +
+                "}";
+
+        stubFor(WireMock.get(urlPathEqualTo("/api/people"))
+                .withQueryParam("limit", equalTo("100"))
+                .withQueryParam("expanded", equalTo("true"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(mockCatalogResponse)));
+    }
+}
@@ -238,4 +238,83 @@ public class StarshipsControllerIntegrationTest {
                 .andDo(print())
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void listStarships_WithRangeFilters_ShouldCombineRangesAndName() throws Exception {
+        // Arrange - Catálogo repartido en dos páginas de SWAPI
+        stubStarshipCatalog();
+
+        // Act & Assert - Tripulación entre 5 y 50 y costo menor a 1e6
+        mockMvc.perform(get("/starships")
+                        .param("minCrew", "1")
+                        .param("maxCrew", "50")
+                        .param("maxCostInCredits", "1e6")
+                        .param("sort", "costInCredits"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", contains("Millennium Falcon", "X-wing")))
+                .andExpect(jsonPath("$.totalElements", is(2)));
+
+        mockMvc.perform(get("/starships")
+                        .param("name", "wing")
+                        .param("minCostInCredits", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", contains("X-wing")))
+                .andExpect(jsonPath("$.totalElements", is(1)));
+
+        // Paginación sobre el resultado filtrado
+        mockMvc.perform(get("/starships")
+                        .param("minLength", "20")
+                        .param("page", "2")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", contains("Millennium Falcon")))
+                .andExpect(jsonPath("$.totalElements", is(3)))
+                .andExpect(jsonPath("$.totalPages", is(2)));
+    }
+
+    @Test
+    public void listStarships_WithInvertedRange_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/starships")
+                        .param("minCrew", "50")
+                        .param("maxCrew", "5"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    private void stubStarshipCatalog() {
+        String firstPage = "{\n" +
+                "  \"message\": \"ok\",\n" +
+                "  \"total_records\": 4,\n" +
+                "  \"total_pages\": 2,\n" +
+                "  \"results\": [\n" +
+                "    {\"uid\": \"2\", \"properties\": {\"name\": \"CR90 corvette\", \"cost_in_credits\": \"3500000\", \"length\": \"150\", \"crew\": \"30-165\", \"passengers\": \"600\", \"starship_class\": \"corvette\"}},\n" +
+                "    {\"uid\": \"3\", \"properties\": {\"name\": \"Star Destroyer\", \"cost_in_credits\": \"150000000\", \"length\": \"1,600\", \"crew\": \"47,060\", \"passengers\": \"n/a\", \"starship_class\": \"Star Destroyer\"}}\n" +
+                "  ]\n" +
+                "}";
+        String secondPage = "{\n" +
+                "  \"message\": \"ok\",\n" +
+                "  \"total_records\": 4,\n" +
+                "  \"total_pages\": 2,\n" +
+                "  \"results\": [\n" +
+                "    {\"uid\": \"10\", \"properties\": {\"name\": \"Millennium Falcon\", \"cost_in_credits\": \"100000\", \"length\": \"34.37\", \"crew\": \"4\", \"passengers\": \"6\", \"starship_class\": \"Light freighter\"}},\n" +
+                "    {\"uid\": \"12\", \"properties\": {\"name\": \"X-wing\", \"cost_in_credits\": \"149999\", \"length\": \"12.5\", \"crew\": \"1\", \"passengers\": \"0\", \"starship_class\": \"Starfighter\"}}\n" +
+                "  ]\n" +
+                "}";
+
+        stubFor(WireMock.get(urlPathEqualTo("/api/starships"))
+                .withQueryParam("page", equalTo("1"))
+                .withQueryParam("limit", equalTo("100"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(firstPage)));
+        stubFor(WireMock.get(urlPathEqualTo("/api/starships"))
+                .withQueryParam("page", equalTo("2"))
+                .withQueryParam("limit", equalTo("100"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(secondPage)));
+    }
+}
@@ -0,0 +1,109 @@
+package com.starwars.service;
+
+import com.starwars.shared.exception.TooManyRequestsException;
+import com.starwars.shared.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedPasswordEncoderUnitTest {
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    public void tearDown() {
+        callers.shutdownNow();
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    public void encodeAndMatches_ShouldDelegateAndRecordHashLatency() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 0, 8, registry);
+
+        String hash = encoder.encode("admin123");
+
+        assertTrue(encoder.matches("admin123", hash));
+        assertFalse(encoder.matches("otra", hash));
+        assertEquals(1, registry.get("swapi.password.hash.duration").tag("operation", "encode").timer().count());
+        assertEquals(2, registry.get("swapi.password.hash.duration").tag("operation", "matches").timer().count());
+        assertEquals(0, registry.get("swapi.password.hash.queue").gauge().value());
+    }
+
+    @Test
+    public void matches_WhenPoolAndQueueAreFull_ShouldRejectImmediatelyWith429() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(started, release), 1, 1, registry);
+
+        Future<Boolean> running = callers.submit(() -> encoder.matches("a", "a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<Boolean> queued = callers.submit(() -> encoder.matches("b", "b"));
+        waitUntil(() -> registry.get("swapi.password.hash.queue").gauge().value() == 1);
+
+        TooManyRequestsException rejected = assertThrows(TooManyRequestsException.class,
+                () -> encoder.matches("c", "c"));
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+        assertTrue(rejected.getRetryAfterSeconds() > 0);
+        assertEquals(1, registry.get("swapi.password.hash.rejected").counter().count());
+    }
+
+    @Test
+    public void matches_DelegateFailure_ShouldPropagateOriginalException() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, new SimpleMeterRegistry());
+
+        assertThrows(IllegalArgumentException.class, () -> encoder.encode(null));
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "La condición no se cumplió a tiempo");
+            Thread.sleep(5);
+        }
+    }
+
+    /** Encoder que retiene el hilo hasta que el test lo libera, para llenar el pool de forma determinista. */
+    private static final class BlockingEncoder implements PasswordEncoder {
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+
+        private BlockingEncoder(CountDownLatch started, CountDownLatch release) {
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            started.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS) && rawPassword.toString().equals(encodedPassword);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
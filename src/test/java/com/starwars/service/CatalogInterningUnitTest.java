@@ -0,0 +1,89 @@
+package com.starwars.service;
+
+import com.starwars.people.dto.PersonResponseDto;
+import com.starwars.people.repository.PersonRepository;
+import com.starwars.shared.catalog.StringPool;
+import com.starwars.starships.dto.StarshipResponseDto;
+import com.starwars.starships.repository.StarshipRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatalogInterningUnitTest {
+
+    @Test
+    public void stringPool_ShouldReturnSharedInstanceUntilFull() {
+        StringPool pool = new StringPool(2);
+        String male = pool.canonical(new String("male"));
+
+        assertSame(male, pool.canonical(new String("male")));
+        assertNull(pool.canonical(null));
+        pool.canonical(new String("female"));
+        String unknown = new String("n/a");
+        assertSame(unknown, pool.canonical(unknown));
+        assertNotSame(unknown, pool.canonical(new String("n/a")));
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    public void personRepository_ShouldShareLowCardinalityValuesAcrossEntitiesAndRefreshes() {
+        PersonRepository repository = new PersonRepository();
+        ReflectionTestUtils.setField(repository, "ttlSeconds", 0L);
+
+        List<PersonResponseDto> first = repository.getSnapshot(() -> Arrays.asList(
+                person("1", "Luke Skywalker"), person("2", "Biggs Darklighter"))).getItems();
+        List<PersonResponseDto> refreshed = repository.getSnapshot(() -> Arrays.asList(
+                person("1", "Luke Skywalker"))).getItems();
+
+        PersonResponseDto luke = first.get(0);
+        PersonResponseDto biggs = first.get(1);
+        assertSame(luke.getGender(), biggs.getGender());
+        assertSame(luke.getEyeColor(), biggs.getEyeColor());
+        assertSame(luke.getHomeworld(), biggs.getHomeworld());
+        assertSame(luke.getGender(), refreshed.get(0).getGender());
+        assertNotSame(luke.getName(), refreshed.get(0).getName());
+        assertNotSame(luke.getHeight(), biggs.getHeight());
+    }
+
+    @Test
+    public void starshipRepository_WithInterningDisabled_ShouldKeepParsedInstances() {
+        StarshipRepository repository = new StarshipRepository();
+        ReflectionTestUtils.setField(repository, "ttlSeconds", 0L);
+        ReflectionTestUtils.setField(repository, "internStrings", false);
+
+        List<StarshipResponseDto> starships = repository.getSnapshot(() -> Arrays.asList(
+                starship("12", "X-wing"), starship("22", "Imperial shuttle"))).getItems();
+
+        assertEquals(starships.get(0).getManufacturer(), starships.get(1).getManufacturer());
+        assertNotSame(starships.get(0).getManufacturer(), starships.get(1).getManufacturer());
+    }
+
+    /**
+     * Cada valor se crea con {@code new String} para reproducir lo que entrega Jackson al parsear la respuesta.
+     */
+    private PersonResponseDto person(String id, String name) {
+        return PersonResponseDto.builder()
+                .id(id)
+                .name(new String(name))
+                .height(new String("172"))
+                .hairColor(new String("brown"))
+                .skinColor(new String("fair"))
+                .eyeColor(new String("blue"))
+                .gender(new String("male"))
+                .homeworld(new String("https://www.swapi.tech/api/planets/1"))
+                .build();
+    }
+
+    private StarshipResponseDto starship(String id, String name) {
+        return StarshipResponseDto.builder()
+                .id(id)
+                .name(name)
+                .manufacturer(new String("Incom Corporation"))
+                .starshipClass(new String("Starfighter"))
+                .build();
+    }
+}
@@ -0,0 +1,320 @@
+package com.starwars.service;
+
+import com.starwars.shared.catalog.CatalogField;
+import com.starwars.shared.catalog.CatalogPage;
+import com.starwars.shared.catalog.CatalogQuery;
+import com.starwars.shared.catalog.CatalogSnapshot;
+import com.starwars.shared.catalog.RangeFilter;
+import com.starwars.shared.catalog.SortOrder;
+import com.starwars.starships.dto.StarshipResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatalogSnapshotUnitTest {
+
+    private CatalogSnapshot<StarshipResponseDto> snapshot;
+
+    @BeforeEach
+    public void setUp() {
+        List<StarshipResponseDto> starships = Arrays.asList(
+                createStarship("2", "CR90 corvette", "3500000", "corvette"),
+                createStarship("3", "Star Destroyer", "150000000", "Star Destroyer"),
+                createStarship("5", "Sentinel-class landing craft", "240000", "landing craft"),
+                createStarship("9", "Death Star", "1,000,000,000,000", "Deep Space Mobile Battlestation"),
+                createStarship("10", "Millennium Falcon", "100000", "Light freighter"),
+                createStarship("11", "Y-wing", "unknown", "assault starfighter"),
+                createStarship("12", "X-wing", "149999", "Starfighter")
+        );
+        snapshot = new CatalogSnapshot<>(starships, StarshipResponseDto::getId, StarshipResponseDto::getName, Arrays.asList(
+                CatalogField.text("name", StarshipResponseDto::getName),
+                CatalogField.numeric("costInCredits", StarshipResponseDto::getCostInCredits),
+                CatalogField.text("starshipClass", StarshipResponseDto::getStarshipClass)
+        ), Arrays.asList(
+                CatalogField.text("starshipClass", StarshipResponseDto::getStarshipClass),
+                CatalogField.text("name", StarshipResponseDto::getName)
+        ));
+    }
+
+    @Test
+    public void query_WithoutSort_ShouldKeepNativeOrder() {
+        CatalogPage<StarshipResponseDto> page = snapshot.query(null, CatalogQuery.empty(), 0, 3);
+
+        assertEquals(Arrays.asList("2", "3", "5"), ids(page));
+        assertEquals(7, page.getTotalElements());
+    }
+
+    @Test
+    public void query_NumericAscending_ShouldParseSwapiNumbersAndPutUnknownLast() {
+        CatalogPage<StarshipResponseDto> page = snapshot.query(null, sortBy("costInCredits"), 0, 10);
+
+        assertEquals(Arrays.asList("10", "12", "5", "2", "3", "9", "11"), ids(page));
+    }
+
+    @Test
+    public void query_NumericDescending_ShouldKeepUnknownLast() {
+        CatalogPage<StarshipResponseDto> page = snapshot.query(null, sortBy("costInCredits,desc"), 0, 10);
+
+        assertEquals(Arrays.asList("9", "3", "2", "5", "12", "10", "11"), ids(page));
+    }
+
+    @Test
+    public void query_WithOffset_ShouldSliceSortedPermutation() {
+        CatalogPage<StarshipResponseDto> page = snapshot.query(null, sortBy("name"), 2, 2);
+
+        assertEquals(Arrays.asList("10", "5"), ids(page));
+        assertEquals(7, page.getTotalElements());
+    }
+
+    @Test
+    public void query_OffsetBeyondTotal_ShouldReturnEmptyContentWithTotals() {
+        CatalogPage<StarshipResponseDto> page = snapshot.query(null, sortBy("name"), 20, 5);
+
+        assertTrue(page.getContent().isEmpty());
+        assertEquals(7, page.getTotalElements());
+    }
+
+    @Test
+    public void query_MultiKey_ShouldBreakTiesWithSecondaryKey() {
+        List<StarshipResponseDto> starships = Arrays.asList(
+                createStarship("1", "B", "10", "fighter"),
+                createStarship("2", "A", "10", "fighter"),
+                createStarship("3", "C", "5", "freighter"),
+                createStarship("4", "D", "20", "fighter")
+        );
+        CatalogSnapshot<StarshipResponseDto> small = new CatalogSnapshot<>(starships, StarshipResponseDto::getId, StarshipResponseDto::getName, Arrays.asList(
+                CatalogField.text("name", StarshipResponseDto::getName),
+                CatalogField.numeric("costInCredits", StarshipResponseDto::getCostInCredits),
+                CatalogField.text("starshipClass", StarshipResponseDto::getStarshipClass)
+        ));
+
+        CatalogPage<StarshipResponseDto> page = small.query(null, sortBy("starshipClass", "costInCredits,desc", "name"), 0, 10);
+
+        assertEquals(Arrays.asList("4", "2", "1", "3"), ids(page));
+    }
+
+    @Test
+    public void query_WithNameFilter_ShouldCountOnlyMatches() {
+        CatalogPage<StarshipResponseDto> page = snapshot.query("wing", sortBy("name,desc"), 0, 10);
+
+        assertEquals(Arrays.asList("11", "12"), ids(page));
+        assertEquals(2, page.getTotalElements());
+    }
+
+    @Test
+    public void query_WithRange_ShouldUseInclusiveBoundsAndSkipUnknown() {
+        CatalogQuery query = CatalogQuery.builder()
+                .ranges(RangeFilter.collect(RangeFilter.of("costInCredits", 149999.0, 3500000.0)))
+                .build();
+
+        CatalogPage<StarshipResponseDto> page = snapshot.query(null, query, 0, 10);
+
+        assertEquals(Arrays.asList("2", "5", "12"), ids(page));
+        assertEquals(3, page.getTotalElements());
+    }
+
+    @Test
+    public void query_WithOpenRangeNameAndSort_ShouldIntersectFilters() {
+        CatalogQuery query = CatalogQuery.builder()
+                .sort(SortOrder.parse(Collections.singletonList("costInCredits,desc")))
+                .ranges(RangeFilter.collect(RangeFilter.of("costInCredits", null, 1e6)))
+                .build();
+
+        CatalogPage<StarshipResponseDto> page = snapshot.query("a", query, 0, 10);
+
+        assertEquals(Arrays.asList("5", "10"), ids(page));
+    }
+
+    @Test
+    public void query_RangeOnTextField_ShouldThrowIllegalArgumentException() {
+        CatalogQuery query = CatalogQuery.builder()
+                .ranges(RangeFilter.collect(RangeFilter.of("name", 1.0, null)))
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> snapshot.query(null, query, 0, 10));
+    }
+
+    @Test
+    public void query_WithFacets_ShouldCountOverFilteredSet() {
+        CatalogQuery query = CatalogQuery.builder()
+                .facets(Collections.singletonList("starshipClass"))
+                .ranges(RangeFilter.collect(RangeFilter.of("costInCredits", null, 1e6)))
+                .build();
+
+        CatalogPage<StarshipResponseDto> page = snapshot.query(null, query, 0, 10);
+
+        Map<String, Integer> counts = page.getFacets().get("starshipClass");
+        assertEquals(3, counts.size());
+        assertEquals(Integer.valueOf(1), counts.get("landing craft"));
+        assertEquals(Integer.valueOf(1), counts.get("Light freighter"));
+        assertEquals(Integer.valueOf(1), counts.get("Starfighter"));
+    }
+
+    @Test
+    public void query_WithFacetFilters_ShouldUseOrWithinFacetAndAndAcrossFacets() {
+        Map<String, List<String>> filters = new HashMap<>();
+        filters.put("starshipClass", Arrays.asList("STARFIGHTER", "corvette", "assault starfighter"));
+        filters.put("name", Arrays.asList("X-wing", "Y-wing", "Death Star"));
+        CatalogQuery query = CatalogQuery.builder()
+                .facets(Arrays.asList("starshipClass", "name"))
+                .facetFilters(filters)
+                .build();
+
+        CatalogPage<StarshipResponseDto> page = snapshot.query(null, query, 0, 10);
+
+        assertEquals(Arrays.asList("11", "12"), ids(page));
+        // Cada faceta se cuenta sin su propio filtro
+        assertEquals(3, page.getFacets().get("starshipClass").size());
+        assertEquals(Integer.valueOf(1), page.getFacets().get("starshipClass").get("Deep Space Mobile Battlestation"));
+        assertEquals(3, page.getFacets().get("name").size());
+        assertEquals(Integer.valueOf(1), page.getFacets().get("name").get("CR90 corvette"));
+    }
+
+    @Test
+    public void query_UnknownFacet_ShouldThrowIllegalArgumentException() {
+        CatalogQuery query = CatalogQuery.builder()
+                .facets(Collections.singletonList("manufacturer"))
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> snapshot.query(null, query, 0, 10));
+    }
+
+    @Test
+    public void query_UnknownField_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> snapshot.query(null, sortBy("model"), 0, 10));
+    }
+
+    @Test
+    public void query_WithCursor_ShouldWalkSameOrderAsOffsetPagination() {
+        List<String> visited = new ArrayList<>();
+        String cursor = "";
+        do {
+            CatalogPage<StarshipResponseDto> page = snapshot.query(null, cursorQuery(cursor, "costInCredits,desc"), 0, 3);
+            visited.addAll(ids(page));
+            assertEquals(7, page.getTotalElements());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(ids(snapshot.query(null, sortBy("costInCredits,desc"), 0, 10)), visited);
+    }
+
+    @Test
+    public void query_WithCursorAfterRefresh_ShouldNotRepeatOrSkipItems() {
+        CatalogPage<StarshipResponseDto> first = snapshot.query(null, cursorQuery("", "name"), 0, 3);
+        assertEquals(Arrays.asList("2", "9", "10"), ids(first));
+
+        // SWAPI agrega una nave que va antes del límite del cursor: con offset se repetiría "10"
+        List<StarshipResponseDto> refreshed = new ArrayList<>(snapshot.getItems());
+        refreshed.add(createStarship("13", "A-wing", "175000", "Starfighter"));
+        CatalogSnapshot<StarshipResponseDto> newer = new CatalogSnapshot<>(refreshed, StarshipResponseDto::getId,
+                StarshipResponseDto::getName, Collections.singletonList(CatalogField.text("name", StarshipResponseDto::getName)));
+
+        CatalogPage<StarshipResponseDto> second = newer.query(null, cursorQuery(first.getNextCursor(), null), 0, 3);
+
+        assertEquals(Arrays.asList("5", "3", "12"), ids(second));
+        assertNotNull(second.getPreviousCursor());
+    }
+
+    @Test
+    public void query_WithPreviousCursor_ShouldReturnPrecedingItemsInOrder() {
+        CatalogPage<StarshipResponseDto> first = snapshot.query(null, cursorQuery("", null), 0, 3);
+        CatalogPage<StarshipResponseDto> second = snapshot.query(null, cursorQuery(first.getNextCursor(), null), 0, 3);
+        assertEquals(Arrays.asList("9", "10", "11"), ids(second));
+
+        CatalogPage<StarshipResponseDto> back = snapshot.query(null, cursorQuery(second.getPreviousCursor(), null), 0, 3);
+
+        assertEquals(ids(first), ids(back));
+        assertNull(back.getPreviousCursor());
+        assertNotNull(back.getNextCursor());
+    }
+
+    @Test
+    public void query_WithCursorAndFilter_ShouldSkipNonMatchingItems() {
+        CatalogPage<StarshipResponseDto> first = snapshot.query("wing", cursorQuery("", "costInCredits"), 0, 1);
+        CatalogPage<StarshipResponseDto> second = snapshot.query("wing", cursorQuery(first.getNextCursor(), null), 0, 1);
+
+        assertEquals(Collections.singletonList("12"), ids(first));
+        assertEquals(Collections.singletonList("11"), ids(second));
+        assertNull(second.getNextCursor());
+        assertEquals(2, second.getTotalElements());
+    }
+
+    @Test
+    public void query_WithCursorFilterAndSort_ShouldWalkBothDirectionsLikeOffsetPagination() {
+        // "a" coincide con 4 de las 7 naves, repartidas a lo largo del ordenamiento por costo
+        List<String> expected = ids(snapshot.query("a", sortBy("costInCredits,desc"), 0, 10));
+        List<String> forward = new ArrayList<>();
+        List<CatalogPage<StarshipResponseDto>> pages = new ArrayList<>();
+        String cursor = "";
+        do {
+            CatalogPage<StarshipResponseDto> page = snapshot.query("a", cursorQuery(cursor, "costInCredits,desc"), 0, 2);
+            forward.addAll(ids(page));
+            pages.add(page);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        CatalogPage<StarshipResponseDto> last = pages.get(pages.size() - 1);
+        CatalogPage<StarshipResponseDto> back = snapshot.query("a", cursorQuery(last.getPreviousCursor(), null), 0, 2);
+
+        assertEquals(expected, forward);
+        assertEquals(ids(pages.get(pages.size() - 2)), ids(back));
+        assertNull(pages.get(0).getPreviousCursor());
+    }
+
+    @Test
+    public void query_CursorWithDifferentSort_ShouldThrowIllegalArgumentException() {
+        String cursor = snapshot.query(null, cursorQuery("", "name"), 0, 2).getNextCursor();
+
+        assertThrows(IllegalArgumentException.class, () -> snapshot.query(null, cursorQuery(cursor, "costInCredits"), 0, 2));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.query(null, cursorQuery("no-es-un-cursor", null), 0, 2));
+    }
+
+    @Test
+    public void constructor_ShouldOrderItemsNumericallyById() {
+        CatalogSnapshot<StarshipResponseDto> unordered = new CatalogSnapshot<>(Arrays.asList(
+                createStarship("10", "Millennium Falcon", "100000", "Light freighter"),
+                createStarship("9", "Death Star", "1", "Deep Space Mobile Battlestation"),
+                createStarship("2", "CR90 corvette", "3500000", "corvette")
+        ), StarshipResponseDto::getId, StarshipResponseDto::getName, Collections.emptyList());
+
+        assertEquals(Arrays.asList("2", "9", "10"), ids(unordered.query(null, CatalogQuery.empty(), 0, 10)));
+    }
+
+    @Test
+    public void parseSort_DirectionWithoutField_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> SortOrder.parse(Collections.singletonList("desc")));
+    }
+
+    private CatalogQuery sortBy(String... values) {
+        return CatalogQuery.builder().sort(SortOrder.parse(Arrays.asList(values))).build();
+    }
+
+    private CatalogQuery cursorQuery(String cursor, String sort) {
+        return CatalogQuery.builder()
+                .sort(sort == null ? Collections.emptyList() : SortOrder.parse(Collections.singletonList(sort)))
+                .cursor(cursor)
+                .build();
+    }
+
+    private List<String> ids(CatalogPage<StarshipResponseDto> page) {
+        return page.getContent().stream().map(StarshipResponseDto::getId).collect(Collectors.toList());
+    }
+
+    private StarshipResponseDto createStarship(String id, String name, String cost, String starshipClass) {
+        return StarshipResponseDto.builder()
+                .id(id)
+                .name(name)
+                .costInCredits(cost)
+                .starshipClass(starshipClass)
+                .build();
+    }
+}
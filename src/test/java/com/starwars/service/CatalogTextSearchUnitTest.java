@@ -0,0 +1,132 @@
+package com.starwars.service;
+
+import com.starwars.films.dto.FilmResponseDto;
+import com.starwars.shared.catalog.CatalogField;
+import com.starwars.shared.catalog.CatalogSnapshot;
+import com.starwars.shared.catalog.SearchHit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatalogTextSearchUnitTest {
+
+    private CatalogSnapshot<FilmResponseDto> snapshot;
+
+    @BeforeEach
+    public void setUp() {
+        List<FilmResponseDto> films = Arrays.asList(
+                createFilm("1", "A New Hope", "George Lucas", "Gary Kurtz, Rick McCallum",
+                        "Rebel spaceships, striking from a hidden base, have won their first victory against "
+                                + "the evil Galactic Empire.\r\n\r\nDuring the battle, Rebel spies managed to steal "
+                                + "secret plans to the Empire's ultimate weapon, the DEATH STAR, an armored space "
+                                + "station with enough power to destroy an entire planet."),
+                createFilm("2", "The Empire Strikes Back", "Irvin Kershner", "Gary Kurtz, Rick McCallum",
+                        "It is a dark time for the Rebellion. Although the Death Star has been destroyed, "
+                                + "Imperial troops have driven the Rebel forces from their hidden base."),
+                createFilm("3", "Return of the Jedi", "Richard Marquand", "Howard G. Kazanjian, George Lucas",
+                        "Luke Skywalker has returned to his home planet of Tatooine in an attempt to rescue his "
+                                + "friend Han Solo from the clutches of the vile gangster Jabba the Hutt. The Empire "
+                                + "has secretly begun construction on a new armored space station even more "
+                                + "powerful than the first dreaded Death Star.")
+        );
+        snapshot = new CatalogSnapshot<>(films, FilmResponseDto::getId, FilmResponseDto::getTitle,
+                Collections.emptyList(), Collections.emptyList(), Arrays.asList(
+                CatalogField.text("title", FilmResponseDto::getTitle),
+                CatalogField.text("director", FilmResponseDto::getDirector),
+                CatalogField.text("producer", FilmResponseDto::getProducer),
+                CatalogField.text("openingCrawl", FilmResponseDto::getOpeningCrawl)
+        ));
+    }
+
+    @Test
+    public void search_WithPhrase_ShouldRequirePhraseAndRankByTerms() {
+        List<SearchHit<FilmResponseDto>> hits = snapshot.search("\"space station\" rebel");
+
+        // "rebel" aparece dos veces en el texto de A New Hope y ninguna en Return of the Jedi
+        assertEquals(Arrays.asList("1", "3"), ids(hits));
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+    }
+
+    @Test
+    public void search_WithLooseTerms_ShouldMatchAnyTerm() {
+        List<SearchHit<FilmResponseDto>> hits = snapshot.search("kershner HUTT");
+
+        assertEquals(Arrays.asList("2", "3"), ids(hits).stream().sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void search_ShouldHighlightMatchesPerField() {
+        List<SearchHit<FilmResponseDto>> hits = snapshot.search("\"death star\" empire");
+
+        SearchHit<FilmResponseDto> empireStrikesBack = hits.stream()
+                .filter(hit -> hit.getItem().getId().equals("2"))
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+        assertEquals("The <em>Empire</em> Strikes Back", empireStrikesBack.getSnippets().get("title"));
+        assertTrue(empireStrikesBack.getSnippets().get("openingCrawl").contains("the <em>Death</em> <em>Star</em> has been destroyed"));
+        assertFalse(empireStrikesBack.getSnippets().containsKey("director"));
+
+        String newHopeCrawl = hits.stream()
+                .filter(hit -> hit.getItem().getId().equals("1"))
+                .findFirst()
+                .orElseThrow(AssertionError::new)
+                .getSnippets().get("openingCrawl");
+        assertTrue(newHopeCrawl.startsWith("…"));
+        assertTrue(newHopeCrawl.contains("<em>DEATH</em> <em>STAR</em>"));
+        assertFalse(newHopeCrawl.contains("\r"));
+    }
+
+    @Test
+    public void search_ShouldEscapeSourceTextAroundHighlights() {
+        CatalogSnapshot<FilmResponseDto> markup = new CatalogSnapshot<>(Collections.singletonList(
+                createFilm("7", "Rogue <b>One</b>", "Gareth Edwards", "Kennedy & Tong", "x < y")),
+                FilmResponseDto::getId, FilmResponseDto::getTitle, Collections.emptyList(), Collections.emptyList(),
+                Arrays.asList(CatalogField.text("title", FilmResponseDto::getTitle),
+                        CatalogField.text("producer", FilmResponseDto::getProducer)));
+
+        SearchHit<FilmResponseDto> hit = markup.search("one tong").get(0);
+
+        assertEquals("Rogue &lt;b&gt;<em>One</em>&lt;/b&gt;", hit.getSnippets().get("title"));
+        assertEquals("Kennedy &amp; <em>Tong</em>", hit.getSnippets().get("producer"));
+    }
+
+    @Test
+    public void search_PhraseAcrossFields_ShouldNotMatch() {
+        assertTrue(snapshot.search("\"hope george\"").isEmpty());
+        assertEquals(Arrays.asList("1", "3"), ids(snapshot.search("\"george lucas\" hope")));
+    }
+
+    @Test
+    public void search_BlankText_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> snapshot.search("  "));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.search("\"\" ..."));
+    }
+
+    @Test
+    public void search_WithoutTextFields_ShouldThrowIllegalArgumentException() {
+        CatalogSnapshot<FilmResponseDto> plain = new CatalogSnapshot<>(Collections.emptyList(),
+                FilmResponseDto::getId, FilmResponseDto::getTitle, Collections.emptyList());
+
+        assertThrows(IllegalArgumentException.class, () -> plain.search("death"));
+    }
+
+    private List<String> ids(List<SearchHit<FilmResponseDto>> hits) {
+        return hits.stream().map(hit -> hit.getItem().getId()).collect(Collectors.toList());
+    }
+
+    private FilmResponseDto createFilm(String id, String title, String director, String producer, String openingCrawl) {
+        FilmResponseDto film = new FilmResponseDto();
+        film.setId(id);
+        film.setTitle(title);
+        film.setDirector(director);
+        film.setProducer(producer);
+        film.setOpeningCrawl(openingCrawl);
+        return film;
+    }
+}
@@ -53,7 +53,7 @@ public class FilmServiceUnitTest {
 
         FilmResponseDto responseDto = createFilmResponseDto("1", "A New Hope", 4, "George Lucas");
 
-        when(filmMapper.toResponseDtoFromDetail(any(ApiResult.class))).thenReturn(responseDto);
+        when(filmMapper.toResponseDtoFromDetail(any(ApiDetailResult.class))).thenReturn(responseDto);
 
         // Simulamos el método fetchApiData del padre
         FilmService spyService = spy(filmService);
@@ -75,7 +75,7 @@ public class FilmServiceUnitTest {
         assertFalse(result.isHasNext());
         assertFalse(result.isHasPrevious());
 
-        verify(filmMapper).toResponseDtoFromDetail(any(ApiResult.class));
+        verify(filmMapper).toResponseDtoFromDetail(any(ApiDetailResult.class));
     }
 
     @Test
@@ -117,7 +117,7 @@ public class FilmServiceUnitTest {
         FilmResponseDto responseDto1 = createFilmResponseDto("1", "A New Hope", 4, "George Lucas");
         FilmResponseDto responseDto2 = createFilmResponseDto("2", "The Empire Strikes Back", 5, "Irvin Kershner");
 
-        when(filmMapper.toResponseDtoFromDetail(any(ApiResult.class)))
+        when(filmMapper.toResponseDtoFromDetail(any(ApiDetailResult.class)))
                 .thenReturn(responseDto1)
                 .thenReturn(responseDto2);
 
@@ -136,7 +136,7 @@ public class FilmServiceUnitTest {
         assertEquals(2, result.getTotalElements());
         assertEquals(1, result.getTotalPages());
 
-        verify(filmMapper, times(2)).toResponseDtoFromDetail(any(ApiResult.class));
+        verify(filmMapper, times(2)).toResponseDtoFromDetail(any(ApiDetailResult.class));
     }
 
     @Test
@@ -153,7 +153,7 @@ public class FilmServiceUnitTest {
 
         FilmResponseDto responseDto = createFilmResponseDto("1", "A New Hope", 4, "George Lucas");
 
-        when(filmMapper.toResponseDtoFromDetail(any(ApiResult.class))).thenReturn(responseDto);
+        when(filmMapper.toResponseDtoFromDetail(any(ApiDetailResult.class))).thenReturn(responseDto);
 
         // Simulamos el método fetchApiData del padre
         FilmService spyService = spy(filmService);
@@ -167,7 +167,7 @@ public class FilmServiceUnitTest {
         assertEquals(1, result.getContent().size());
         assertEquals("A New Hope", result.getContent().get(0).getTitle());
 
-        verify(filmMapper).toResponseDtoFromDetail(any(ApiResult.class));
+        verify(filmMapper).toResponseDtoFromDetail(any(ApiDetailResult.class));
     }
 
     @Test
@@ -180,7 +180,7 @@ public class FilmServiceUnitTest {
 
         FilmResponseDto responseDto = createFilmResponseDto("1", "A New Hope", 4, "George Lucas");
 
-        when(filmMapper.toResponseDtoFromDetail(any(ApiResult.class))).thenReturn(responseDto);
+        when(filmMapper.toResponseDtoFromDetail(any(ApiDetailResult.class))).thenReturn(responseDto);
 
         // Simulamos el método fetchApiData del padre
         FilmService spyService = spy(filmService);
@@ -195,7 +195,7 @@ public class FilmServiceUnitTest {
         assertEquals(4, result.getEpisodeId());
         assertEquals("George Lucas", result.getDirector());
 
-        verify(filmMapper).toResponseDtoFromDetail(any(ApiResult.class));
+        verify(filmMapper).toResponseDtoFromDetail(any(ApiDetailResult.class));
     }
 
     @Test
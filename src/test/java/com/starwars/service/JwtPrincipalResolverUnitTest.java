@@ -0,0 +1,126 @@
+package com.starwars.service;
+
+import com.starwars.auth.service.UserDetailsServiceImpl;
+import com.starwars.shared.security.BoundedUserCache;
+import com.starwars.shared.security.JwtPrincipalResolver;
+import com.starwars.shared.security.JwtRequestFilter;
+import com.starwars.shared.security.JwtUtil;
+import com.starwars.shared.security.JwtValidationResult;
+import com.starwars.shared.security.UserChangedEvent;
+import com.starwars.shared.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class JwtPrincipalResolverUnitTest {
+
+    private static final String SECRET = "clave-de-prueba-para-hs512-con-al-menos-sesenta-y-cuatro-caracteres";
+
+    private JwtUtil jwtUtil;
+    private UserDetailsServiceImpl userDetailsService;
+    private JwtValidationResult lukeToken;
+
+    @BeforeEach
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 60_000, "starwars-api", "default", Collections.emptyMap());
+        userDetailsService = mock(UserDetailsServiceImpl.class);
+        when(userDetailsService.loadUserByUsername("luke")).thenAnswer(invocation -> user("luke"));
+        lukeToken = jwtUtil.validate(jwtUtil.generateToken(user("luke")));
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void resolve_DatabaseMode_ShouldLoadUserOnEveryRequest() {
+        JwtPrincipalResolver resolver = resolver(JwtPrincipalResolver.Mode.DATABASE, 100);
+
+        resolver.resolve(lukeToken);
+        resolver.resolve(lukeToken);
+
+        verify(userDetailsService, times(2)).loadUserByUsername("luke");
+    }
+
+    @Test
+    public void resolve_CachedMode_ShouldLoadUserOnceUntilUserChanges() {
+        JwtPrincipalResolver resolver = resolver(JwtPrincipalResolver.Mode.CACHED, 100);
+
+        UserDetails first = resolver.resolve(lukeToken);
+        assertSame(first, resolver.resolve(lukeToken));
+        verify(userDetailsService, times(1)).loadUserByUsername("luke");
+
+        resolver.onUserChanged(new UserChangedEvent("luke"));
+        UserDetails reloaded = resolver.resolve(lukeToken);
+
+        assertNotSame(first, reloaded);
+        assertEquals("luke", reloaded.getUsername());
+        verify(userDetailsService, times(2)).loadUserByUsername("luke");
+    }
+
+    @Test
+    public void resolve_StatelessMode_ShouldBuildPrincipalFromTokenWithoutLoadingUser() {
+        JwtPrincipalResolver resolver = resolver(JwtPrincipalResolver.Mode.STATELESS, 100);
+
+        UserDetails principal = resolver.resolve(lukeToken);
+
+        assertEquals("luke", principal.getUsername());
+        assertTrue(principal.getAuthorities().isEmpty());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    public void userCache_ShouldStayBoundedAndExpireEntries() throws Exception {
+        BoundedUserCache bounded = new BoundedUserCache(300, 1);
+        bounded.putUserInCache(user("luke"));
+        bounded.putUserInCache(user("leia"));
+
+        assertEquals(1, bounded.size());
+        assertNotNull(bounded.getUserFromCache("luke"));
+        assertNull(bounded.getUserFromCache("leia"));
+
+        BoundedUserCache expiring = new BoundedUserCache(0, 10);
+        expiring.putUserInCache(user("luke"));
+        assertNull(expiring.getUserFromCache("luke"));
+        assertEquals(0, expiring.size());
+    }
+
+    @Test
+    public void filter_DeletedUser_ShouldContinueUnauthenticated() throws Exception {
+        when(userDetailsService.loadUserByUsername("han")).thenThrow(new UsernameNotFoundException("han"));
+        JwtRequestFilter filter = new JwtRequestFilter(resolver(JwtPrincipalResolver.Mode.CACHED, 100), jwtUtil,
+                new VerifiedTokenCache(100, new SimpleMeterRegistry()));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/people");
+        request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken(user("han")));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private JwtPrincipalResolver resolver(JwtPrincipalResolver.Mode mode, int maxEntries) {
+        return new JwtPrincipalResolver(userDetailsService, mode, 300, maxEntries);
+    }
+
+    private static UserDetails user(String username) {
+        return new User(username, "password", new ArrayList<>());
+    }
+}
@@ -0,0 +1,211 @@
+package com.starwars.service;
+
+import com.starwars.auth.service.UserDetailsServiceImpl;
+import com.starwars.shared.security.JwtPrincipalResolver;
+import com.starwars.shared.security.JwtRequestFilter;
+import com.starwars.shared.security.JwtUtil;
+import com.starwars.shared.security.JwtValidationResult;
+import com.starwars.shared.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class JwtValidationUnitTest {
+
+    private static final String SECRET = "clave-de-prueba-para-hs512-con-al-menos-sesenta-y-cuatro-caracteres";
+
+    private JwtUtil jwtUtil;
+    private UserDetails luke;
+
+    @BeforeEach
+    public void setUp() {
+        jwtUtil = jwtUtil(SECRET, "starwars-api", 60_000);
+        luke = new User("luke", "password", new ArrayList<>());
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void validate_ValidToken_ShouldReturnSubjectIssuerAndExpiration() {
+        long before = System.currentTimeMillis();
+        JwtValidationResult result = jwtUtil.validate(jwtUtil.generateToken(luke));
+
+        assertTrue(result.isValid());
+        assertNull(result.getFailure());
+        assertEquals("luke", result.getSubject());
+        assertEquals("starwars-api", result.getIssuer());
+        assertTrue(result.getExpiration().getTime() >= before + 59_000);
+    }
+
+    @Test
+    public void validate_RejectedTokens_ShouldReportFailureReason() {
+        String expired = jwtUtil(SECRET, "starwars-api", -1_000).generateToken(luke);
+        String otherKey = jwtUtil(SECRET.replace('a', 'b'), "starwars-api", 60_000).generateToken(luke);
+        String otherIssuer = jwtUtil(SECRET, "otro-emisor", 60_000).generateToken(luke);
+        String unsigned = Jwts.builder().setSubject("luke").setIssuer("starwars-api").compact();
+
+        assertFailure(JwtValidationResult.Failure.EXPIRED, expired);
+        assertFailure(JwtValidationResult.Failure.INVALID_SIGNATURE, otherKey);
+        assertFailure(JwtValidationResult.Failure.INVALID_ISSUER, otherIssuer);
+        assertFailure(JwtValidationResult.Failure.UNSUPPORTED, unsigned);
+        assertFailure(JwtValidationResult.Failure.MALFORMED, "no.es-un.jwt");
+        assertFailure(JwtValidationResult.Failure.MALFORMED, "");
+    }
+
+    @Test
+    public void validate_AfterKeyRotation_ShouldAcceptTokensFromListedPreviousKeys() {
+        String previousSecret = SECRET.replace('a', 'b');
+        String issuedBeforeRotation = new JwtUtil(previousSecret, 60_000, "starwars-api", "2024-06",
+                Collections.emptyMap()).generateToken(luke);
+        String withoutKeyId = Jwts.builder().setSubject("luke").setIssuer("starwars-api")
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS512).compact();
+
+        JwtUtil rotated = new JwtUtil(SECRET, 60_000, "starwars-api", "2025-01",
+                Collections.singletonMap("2024-06", previousSecret));
+        JwtUtil retired = new JwtUtil(SECRET, 60_000, "starwars-api", "2025-01", Collections.emptyMap());
+
+        assertEquals("luke", rotated.validate(issuedBeforeRotation).getSubject());
+        assertTrue(rotated.validate(rotated.generateToken(luke)).isValid());
+        assertTrue(rotated.validate(withoutKeyId).isValid());
+        assertEquals(JwtValidationResult.Failure.INVALID_SIGNATURE, retired.validate(issuedBeforeRotation).getFailure());
+    }
+
+    @Test
+    public void constructor_SecretShorterThanHs512Key_ShouldFailAtStartup() {
+        String secret256 = SECRET.substring(0, 32);
+        String secret504 = SECRET.substring(0, 63);
+
+        assertThrows(IllegalArgumentException.class, () -> jwtUtil(secret256, "starwars-api", 60_000));
+        assertThrows(IllegalArgumentException.class, () -> jwtUtil(secret504, "starwars-api", 60_000));
+        assertThrows(IllegalArgumentException.class, () -> new JwtUtil(SECRET, 60_000, "starwars-api", "2025-01",
+                Collections.singletonMap("2024-06", secret256)));
+        assertTrue(jwtUtil(SECRET.substring(0, 64), "starwars-api", 60_000).generateToken(luke).length() > 0);
+    }
+
+    @Test
+    public void filter_ValidToken_ShouldParseOnceAndAuthenticateSubject() throws Exception {
+        JwtUtil spy = spy(jwtUtil);
+        UserDetailsServiceImpl userDetailsService = mock(UserDetailsServiceImpl.class);
+        when(userDetailsService.loadUserByUsername("luke")).thenReturn(luke);
+        String token = jwtUtil.generateToken(luke);
+
+        filter(new JwtRequestFilter(resolver(userDetailsService), spy, new VerifiedTokenCache(0, new SimpleMeterRegistry())), "Bearer " + token);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertSame(luke, authentication.getPrincipal());
+        verify(spy, times(1)).validate(token);
+        verify(spy, never()).extractClaim(anyString(), any());
+        verify(userDetailsService, times(1)).loadUserByUsername("luke");
+    }
+
+    @Test
+    public void filter_InvalidToken_ShouldContinueUnauthenticatedWithoutLoadingUser() throws Exception {
+        UserDetailsServiceImpl userDetailsService = mock(UserDetailsServiceImpl.class);
+        String expired = jwtUtil(SECRET, "starwars-api", -1_000).generateToken(luke);
+
+        MockFilterChain chain = filter(new JwtRequestFilter(resolver(userDetailsService), jwtUtil,
+                new VerifiedTokenCache(100, new SimpleMeterRegistry())), "Bearer " + expired);
+
+        assertNotNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    public void tokenCache_RepeatedToken_ShouldVerifyOnceAndCountHits() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        VerifiedTokenCache cache = new VerifiedTokenCache(100, registry);
+        JwtUtil spy = spy(jwtUtil);
+        String token = jwtUtil.generateToken(luke);
+
+        JwtValidationResult first = cache.validate(token, spy::validate);
+        JwtValidationResult second = cache.validate(token, spy::validate);
+        cache.validate("no.es-un.jwt", spy::validate);
+        cache.validate("no.es-un.jwt", spy::validate);
+
+        assertSame(first, second);
+        assertEquals("luke", second.getSubject());
+        verify(spy, times(1)).validate(token);
+        verify(spy, times(2)).validate("no.es-un.jwt");
+        assertEquals(1, cache.size());
+        assertEquals(1, registry.get("swapi.jwt.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(3, registry.get("swapi.jwt.cache.requests").tag("result", "miss").counter().count());
+        assertEquals(1, registry.get("swapi.jwt.cache.size").gauge().value());
+    }
+
+    @Test
+    public void tokenCache_ExpiredEntry_ShouldNeverBeAcceptedFromCache() throws Exception {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100, new SimpleMeterRegistry());
+        String token = jwtUtil(SECRET, "starwars-api", 1_000).generateToken(luke);
+        JwtValidationResult cached = cache.validate(token, jwtUtil::validate);
+        assertTrue(cached.isValid());
+
+        Thread.sleep(Math.max(0, cached.getExpiration().getTime() - System.currentTimeMillis()) + 50);
+        JwtValidationResult afterExpiry = cache.validate(token, jwtUtil::validate);
+
+        assertEquals(JwtValidationResult.Failure.EXPIRED, afterExpiry.getFailure());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void tokenCache_WhenFull_ShouldVerifyWithoutCaching() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(1, new SimpleMeterRegistry());
+        JwtUtil spy = spy(jwtUtil);
+        String lukeToken = jwtUtil.generateToken(luke);
+        String leiaToken = jwtUtil.generateToken(new User("leia", "password", new ArrayList<>()));
+
+        cache.validate(lukeToken, spy::validate);
+        assertEquals("leia", cache.validate(leiaToken, spy::validate).getSubject());
+        cache.validate(leiaToken, spy::validate);
+
+        assertEquals(1, cache.size());
+        verify(spy, times(2)).validate(leiaToken);
+    }
+
+    private void assertFailure(JwtValidationResult.Failure expected, String token) {
+        JwtValidationResult result = jwtUtil.validate(token);
+        assertFalse(result.isValid());
+        assertEquals(expected, result.getFailure());
+        assertNull(result.getSubject());
+    }
+
+    private MockFilterChain filter(JwtRequestFilter filter, String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/people");
+        request.addHeader("Authorization", authorization);
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return chain;
+    }
+
+    private static JwtPrincipalResolver resolver(UserDetailsServiceImpl userDetailsService) {
+        return new JwtPrincipalResolver(userDetailsService, JwtPrincipalResolver.Mode.DATABASE, 300, 100);
+    }
+
+    private static JwtUtil jwtUtil(String secret, String issuer, long expiration) {
+        return new JwtUtil(secret, expiration, issuer, "default", Collections.emptyMap());
+    }
+}
@@ -0,0 +1,150 @@
+package com.starwars.service;
+
+import com.starwars.films.dto.FilmApiDto;
+import com.starwars.films.dto.FilmResponseDto;
+import com.starwars.films.mapper.FilmMapper;
+import com.starwars.films.mapper.FilmMapperImpl;
+import com.starwars.people.dto.PersonApiDto;
+import com.starwars.people.dto.PersonResponseDto;
+import com.starwars.people.mapper.PersonMapper;
+import com.starwars.people.mapper.PersonMapperImpl;
+import com.starwars.shared.dto.api.ApiDetailResult;
+import com.starwars.starships.dto.StarshipApiDto;
+import com.starwars.starships.dto.StarshipResponseDto;
+import com.starwars.starships.mapper.StarshipMapper;
+import com.starwars.starships.mapper.StarshipMapperImpl;
+import com.starwars.vehicles.dto.VehicleApiDto;
+import com.starwars.vehicles.dto.VehicleResponseDto;
+import com.starwars.vehicles.mapper.VehicleMapper;
+import com.starwars.vehicles.mapper.VehicleMapperImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Mapear un elemento de SWAPI debe asignar solo el DTO de respuesta. Los bytes por elemento se miden con
+ * el contador de asignación por hilo de HotSpot y se comparan con los de crear el DTO vacío, así el límite
+ * no depende del layout de objetos de la JVM (compressed oops, alineación).
+ */
+public class MapperAllocationUnitTest {
+
+    private static final int ELEMENTS = 20_000;
+    private static final int WARMUP_ROUNDS = 5;
+
+    private com.sun.management.ThreadMXBean threads;
+
+    @BeforeEach
+    public void setUp() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    public void personMapper_ShouldMapDetailResultWithoutIntermediateObjects() {
+        PersonMapper mapper = new PersonMapperImpl();
+        PersonApiDto properties = new PersonApiDto();
+        properties.setName("Luke Skywalker");
+        properties.setHeight("172");
+        properties.setHomeworld("https://www.swapi.tech/api/planets/1");
+        ApiDetailResult<PersonApiDto> detail = detail("1", properties);
+
+        PersonResponseDto mapped = mapper.toResponseDtoFromDetail(detail);
+        assertEquals("1", mapped.getId());
+        assertEquals("Luke Skywalker", mapped.getName());
+        assertEquals("https://www.swapi.tech/api/planets/1", mapped.getHomeworld());
+        assertNull(mapper.toResponseDtoFromDetail(null));
+
+        assertAllocatesOnlyResult(i -> new PersonResponseDto(), i -> mapper.toResponseDtoFromDetail(detail));
+        assertAllocatesOnlyResult(i -> new PersonResponseDto(), i -> mapper.toResponseDto("1", properties));
+    }
+
+    @Test
+    public void filmMapper_ShouldMapDetailResultWithoutIntermediateObjects() {
+        FilmMapper mapper = new FilmMapperImpl();
+        FilmApiDto properties = new FilmApiDto();
+        properties.setTitle("A New Hope");
+        properties.setEpisodeId(4);
+        ApiDetailResult<FilmApiDto> detail = detail("1", properties);
+
+        FilmResponseDto mapped = mapper.toResponseDtoFromDetail(detail);
+        assertEquals("1", mapped.getId());
+        assertEquals(4, mapped.getEpisodeId());
+
+        assertAllocatesOnlyResult(i -> new FilmResponseDto(), i -> mapper.toResponseDtoFromDetail(detail));
+    }
+
+    @Test
+    public void starshipMapper_ShouldMapDetailResultWithoutIntermediateObjects() {
+        StarshipMapper mapper = new StarshipMapperImpl();
+        StarshipApiDto properties = new StarshipApiDto();
+        properties.setName("X-wing");
+        properties.setStarshipClass("Starfighter");
+        ApiDetailResult<StarshipApiDto> detail = detail("12", properties);
+
+        StarshipResponseDto mapped = mapper.toResponseDtoFromDetail(detail);
+        assertEquals("12", mapped.getId());
+        assertEquals("Starfighter", mapped.getStarshipClass());
+
+        assertAllocatesOnlyResult(i -> new StarshipResponseDto(), i -> mapper.toResponseDtoFromDetail(detail));
+    }
+
+    @Test
+    public void vehicleMapper_ShouldMapDetailResultWithoutIntermediateObjects() {
+        VehicleMapper mapper = new VehicleMapperImpl();
+        VehicleApiDto properties = new VehicleApiDto();
+        properties.setName("Sand Crawler");
+        properties.setVehicleClass("wheeled");
+        ApiDetailResult<VehicleApiDto> detail = detail("4", properties);
+
+        VehicleResponseDto mapped = mapper.toResponseDtoFromDetail(detail);
+        assertEquals("4", mapped.getId());
+        assertEquals("wheeled", mapped.getVehicleClass());
+
+        assertAllocatesOnlyResult(i -> new VehicleResponseDto(), i -> mapper.toResponseDtoFromDetail(detail));
+    }
+
+    private void assertAllocatesOnlyResult(IntFunction<Object> emptyResult, IntFunction<Object> mapping) {
+        long baseline = allocatedBytesPerElement(emptyResult);
+        long mapped = allocatedBytesPerElement(mapping);
+        assertTrue(baseline > 0, "La medición de asignaciones no registró el DTO vacío");
+        assertTrue(mapped <= baseline,
+                "Mapear asignó " + mapped + " bytes por elemento; el DTO de respuesta ocupa " + baseline);
+    }
+
+    /**
+     * Los resultados se guardan en un arreglo ya creado para que escapen (y el JIT no elimine la asignación)
+     * sin sumar el crecimiento de una colección a la medición.
+     */
+    private long allocatedBytesPerElement(IntFunction<Object> operation) {
+        Object[] sink = new Object[ELEMENTS];
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            fill(sink, operation);
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        fill(sink, operation);
+        long after = threads.getThreadAllocatedBytes(threadId);
+        return (after - before) / ELEMENTS;
+    }
+
+    private static void fill(Object[] sink, IntFunction<Object> operation) {
+        for (int i = 0; i < sink.length; i++) {
+            sink[i] = operation.apply(i);
+        }
+    }
+
+    private static <T> ApiDetailResult<T> detail(String uid, T properties) {
+        ApiDetailResult<T> result = new ApiDetailResult<>();
+        result.setUid(uid);
+        result.setProperties(properties);
+        return result;
+    }
+}
@@ -0,0 +1,56 @@
+package com.starwars.service;
+
+import com.starwars.auth.entity.User;
+import com.starwars.auth.repository.UserRepository;
+import com.starwars.auth.service.UserDetailsServiceImpl;
+import com.starwars.shared.security.CalibratedBCryptPasswordEncoder;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class PasswordHashCalibrationUnitTest {
+
+    @Test
+    public void upgradeEncoding_ShouldRequestRehashOnlyForLowerCost() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("x")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("x")));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("x")));
+        assertFalse(encoder.upgradeEncoding("{noop}x"));
+        assertFalse(encoder.upgradeEncoding(null));
+        assertEquals(10, CalibratedBCryptPasswordEncoder.costOf("$2a$10$N.zmdr9k7uOCQb376NoUnuTJ8iAt6Z5EHsM8lE9lBOsl7iKTVEFDi"));
+    }
+
+    @Test
+    public void calibrate_ShouldStayWithinBoundsAndGrowWithTarget() {
+        assertEquals(4, CalibratedBCryptPasswordEncoder.calibrate(0, 4, 6));
+        assertEquals(6, CalibratedBCryptPasswordEncoder.calibrate(60_000, 4, 6));
+    }
+
+    @Test
+    public void login_WithHashAtLowerCost_ShouldStoreRehashAtCurrentCost() {
+        UserRepository userRepository = mock(UserRepository.class);
+        User admin = new User("admin", new BCryptPasswordEncoder(4).encode("admin123"));
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl(userRepository, mock(ApplicationEventPublisher.class));
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setUserDetailsPasswordService(userDetailsService);
+        provider.setPasswordEncoder(new CalibratedBCryptPasswordEncoder(5));
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("admin", "admin123"));
+
+        assertEquals(5, CalibratedBCryptPasswordEncoder.costOf(admin.getPassword()));
+        assertTrue(new BCryptPasswordEncoder().matches("admin123", admin.getPassword()));
+        verify(userRepository).save(admin);
+    }
+}
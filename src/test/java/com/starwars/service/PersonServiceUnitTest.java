@@ -53,7 +53,7 @@ public class PersonServiceUnitTest {
 
         PersonResponseDto responseDto = createPersonResponseDto("1", "Luke Skywalker");
 
-        when(personMapper.toResponseDtoFromDetail(any(ApiResult.class))).thenReturn(responseDto);
+        when(personMapper.toResponseDtoFromDetail(any(ApiDetailResult.class))).thenReturn(responseDto);
 
         // Simulamos el método fetchApiData del padre
         PersonService spyService = spy(personService);
@@ -73,7 +73,7 @@ public class PersonServiceUnitTest {
         assertFalse(result.isHasNext());
         assertFalse(result.isHasPrevious());
 
-        verify(personMapper).toResponseDtoFromDetail(any(ApiResult.class));
+        verify(personMapper).toResponseDtoFromDetail(any(ApiDetailResult.class));
     }
 
     @Test
@@ -137,7 +137,7 @@ public class PersonServiceUnitTest {
         PersonResponseDto responseDto1 = createPersonResponseDto("1", "Luke Skywalker");
         PersonResponseDto responseDto2 = createPersonResponseDto("2", "Leia Organa");
 
-        when(personMapper.toResponseDtoFromDetail(any(ApiResult.class)))
+        when(personMapper.toResponseDtoFromDetail(any(ApiDetailResult.class)))
                 .thenReturn(responseDto1)
                 .thenReturn(responseDto2);
 
@@ -159,7 +159,7 @@ public class PersonServiceUnitTest {
         assertTrue(result.isHasNext());
         assertFalse(result.isHasPrevious());
 
-        verify(personMapper, times(2)).toResponseDtoFromDetail(any(ApiResult.class));
+        verify(personMapper, times(2)).toResponseDtoFromDetail(any(ApiDetailResult.class));
     }
 
     @Test
@@ -174,7 +174,7 @@ public class PersonServiceUnitTest {
         ApiPageResponse<PersonApiDto> apiPageResponse = createApiPageResponse(resultList, 1, 1, null, null);
 
         PersonResponseDto responseDto = createPersonResponseDto("1", "Luke Skywalker");
-        when(personMapper.toResponseDtoFromDetail(any(ApiResult.class))).thenReturn(responseDto);
+        when(personMapper.toResponseDtoFromDetail(any(ApiDetailResult.class))).thenReturn(responseDto);
 
         PersonService spyService = spy(personService);
         doReturn(apiPageResponse).when(spyService).fetchApiData(anyString(), any(ParameterizedTypeReference.class));
@@ -185,7 +185,7 @@ public class PersonServiceUnitTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getContent().size());
-        verify(personMapper).toResponseDtoFromDetail(any(ApiResult.class));
+        verify(personMapper).toResponseDtoFromDetail(any(ApiDetailResult.class));
     }
 
     @Test
@@ -197,7 +197,7 @@ public class PersonServiceUnitTest {
         ApiEntityResponse<ApiDetailResult<PersonApiDto>> apiResponse = createApiEntityResponse(detailResult);
         PersonResponseDto expectedResponse = createPersonResponseDto("1", "Luke Skywalker");
 
-        when(personMapper.toResponseDtoFromDetail(any(ApiResult.class))).thenReturn(expectedResponse);
+        when(personMapper.toResponseDtoFromDetail(any(ApiDetailResult.class))).thenReturn(expectedResponse);
 
         PersonService spyService = spy(personService);
         doReturn(apiResponse).when(spyService).fetchApiData(anyString(), any(ParameterizedTypeReference.class));
@@ -209,7 +209,7 @@ public class PersonServiceUnitTest {
         assertNotNull(result);
         assertEquals("1", result.getId());
         assertEquals("Luke Skywalker", result.getName());
-        verify(personMapper).toResponseDtoFromDetail(any(ApiResult.class));
+        verify(personMapper).toResponseDtoFromDetail(any(ApiDetailResult.class));
     }
 
     @Test
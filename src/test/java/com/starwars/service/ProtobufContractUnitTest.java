@@ -0,0 +1,241 @@
+package com.starwars.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Message;
+import com.starwars.films.dto.FilmResponseDto;
+import com.starwars.people.dto.PersonResponseDto;
+import com.starwars.shared.dto.PageResponseDto;
+import com.starwars.shared.exception.ErrorResponse;
+import com.starwars.shared.projection.FieldProjections;
+import com.starwars.shared.projection.FieldSelection;
+import com.starwars.shared.protobuf.Film;
+import com.starwars.shared.protobuf.FilmPage;
+import com.starwars.shared.protobuf.Person;
+import com.starwars.shared.protobuf.PersonPage;
+import com.starwars.shared.protobuf.ProtobufMapper;
+import com.starwars.shared.protobuf.Starship;
+import com.starwars.shared.protobuf.StarshipPage;
+import com.starwars.shared.protobuf.Vehicle;
+import com.starwars.shared.protobuf.VehiclePage;
+import com.starwars.starships.dto.StarshipResponseDto;
+import com.starwars.vehicles.dto.VehicleResponseDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contrato entre la representación JSON y la protobuf: mismos nombres de campo y mismos valores.
+ * Un cambio en un DTO que no se refleje en starwars.proto rompe este test.
+ */
+public class ProtobufContractUnitTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    public void schema_ShouldDeclareSameFieldsAsJsonForEveryType() {
+        assertSameFields(PersonResponseDto.class, Person.getDescriptor());
+        assertSameFields(FilmResponseDto.class, Film.getDescriptor());
+        assertSameFields(StarshipResponseDto.class, Starship.getDescriptor());
+        assertSameFields(VehicleResponseDto.class, Vehicle.getDescriptor());
+        assertSameFields(ErrorResponse.class, com.starwars.shared.protobuf.ErrorResponse.getDescriptor());
+        for (Descriptor page : Arrays.asList(PersonPage.getDescriptor(), FilmPage.getDescriptor(),
+                StarshipPage.getDescriptor(), VehiclePage.getDescriptor())) {
+            assertSameFields(PageResponseDto.class, page);
+        }
+    }
+
+    @Test
+    public void entities_ShouldHaveSameValuesAsJson() {
+        PersonResponseDto person = PersonResponseDto.builder()
+                .id("1").name("Luke Skywalker").height("172").mass("77").gender("male")
+                .build();
+        assertParity(person, ProtobufMapper.toMessage(person));
+
+        FilmResponseDto film = new FilmResponseDto();
+        film.setId("1");
+        film.setTitle("A New Hope");
+        film.setEpisodeId(4);
+        film.setOpeningCrawl("It is a period of civil war.\r\nRebel spaceships...");
+        assertParity(film, ProtobufMapper.toMessage(film));
+
+        StarshipResponseDto starship = StarshipResponseDto.builder()
+                .id("10").name("Millennium Falcon").costInCredits("100000").starshipClass("Light freighter")
+                .build();
+        assertParity(starship, ProtobufMapper.toMessage(starship));
+
+        VehicleResponseDto vehicle = VehicleResponseDto.builder()
+                .id("4").name("Sand Crawler").crew("46").vehicleClass("wheeled")
+                .build();
+        assertParity(vehicle, ProtobufMapper.toMessage(vehicle));
+    }
+
+    @Test
+    public void pages_ShouldHaveSameValuesAsJson() {
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        Map<String, Integer> gender = new LinkedHashMap<>();
+        gender.put("male", 2);
+        gender.put("n/a", 1);
+        facets.put("gender", gender);
+        PageResponseDto<PersonResponseDto> withFacets = PageResponseDto.<PersonResponseDto>builder()
+                .content(Arrays.asList(
+                        PersonResponseDto.builder().id("1").name("Luke Skywalker").build(),
+                        PersonResponseDto.builder().id("2").name("C-3PO").build()))
+                .totalPages(2)
+                .totalElements(4)
+                .size(2)
+                .first(true)
+                .hasNext(true)
+                .facets(facets)
+                .nextCursor("MR9h")
+                .build();
+        assertParity(withFacets, ProtobufMapper.toPersonPage(withFacets));
+
+        PageResponseDto<VehicleResponseDto> empty = PageResponseDto.<VehicleResponseDto>builder()
+                .content(Collections.emptyList())
+                .page(1)
+                .first(true)
+                .last(true)
+                .build();
+        assertParity(empty, ProtobufMapper.toVehiclePage(empty));
+    }
+
+    @Test
+    public void error_ShouldHaveSameValuesAsJson() {
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.of(2024, 5, 4, 12, 30, 15))
+                .status(400)
+                .error("Error de Validación")
+                .path("uri=/people")
+                .validationErrors(Collections.singletonMap("page", "debe ser mayor que o igual a 1"))
+                .build();
+        assertParity(error, ProtobufMapper.toMessage(error));
+    }
+
+    @Test
+    public void projection_ShouldKeepSameFieldsAsJsonProjection() throws Exception {
+        FieldProjections projections = new FieldProjections(new HashSet<>(Arrays.asList(
+                PersonResponseDto.class, StarshipResponseDto.class)));
+        ObjectMapper projecting = objectMapper.copy().registerModule(projections.module());
+
+        StarshipResponseDto starship = StarshipResponseDto.builder()
+                .id("10").name("Millennium Falcon").model("YT-1300").costInCredits("100000")
+                .build();
+        FieldSelection selection = projections.select(projecting, StarshipResponseDto.class,
+                Collections.singletonList("name,costInCredits"));
+        JsonNode json = projecting.readTree(projecting.writer(selection.toFilterProvider()).writeValueAsString(starship));
+
+        assertEquals(json, reparse(toJson(ProtobufMapper.project(ProtobufMapper.toMessage(starship), selection.getFields()))));
+
+        PageResponseDto<PersonResponseDto> page = PageResponseDto.<PersonResponseDto>builder()
+                .content(Collections.singletonList(PersonResponseDto.builder().id("1").name("Luke Skywalker").mass("77").build()))
+                .totalElements(1)
+                .build();
+        FieldSelection names = projections.select(projecting, PersonResponseDto.class, Collections.singletonList("name"));
+        JsonNode pageJson = projecting.readTree(projecting.writer(names.toFilterProvider()).writeValueAsString(page));
+
+        assertEquals(pageJson, reparse(toJson(ProtobufMapper.project(ProtobufMapper.toPersonPage(page), names.getFields()))));
+    }
+
+    /**
+     * Vuelve a leer el árbol desde texto, para comparar números sin importar si eran int o long.
+     */
+    private JsonNode reparse(JsonNode node) throws Exception {
+        return objectMapper.readTree(node.toString());
+    }
+
+    @Test
+    public void messages_ShouldRoundTripThroughWireFormat() throws Exception {
+        PersonResponseDto person = PersonResponseDto.builder().id("4").name("Darth Vader").build();
+        Person message = ProtobufMapper.toMessage(person);
+
+        Person decoded = Person.parseFrom(message.toByteArray());
+
+        assertEquals("Darth Vader", decoded.getName());
+        assertFalse(decoded.hasMass());
+    }
+
+    private void assertSameFields(Class<?> dto, Descriptor descriptor) {
+        Set<String> jsonFields = new TreeSet<>();
+        for (BeanPropertyDefinition property : objectMapper.getSerializationConfig()
+                .introspect(objectMapper.constructType(dto)).findProperties()) {
+            jsonFields.add(property.getName());
+        }
+        Set<String> protoFields = new TreeSet<>();
+        for (FieldDescriptor field : descriptor.getFields()) {
+            protoFields.add(field.getJsonName());
+        }
+        assertEquals(jsonFields, protoFields, "Campos de " + descriptor.getName());
+    }
+
+    private void assertParity(Object dto, Message message) {
+        assertEquals(objectMapper.valueToTree(dto), toJson(message), "Valores de " + message.getDescriptorForType().getName());
+    }
+
+    /**
+     * JSON equivalente de un mensaje según las reglas de la API: campos optional sin valor y mapas
+     * vacíos se omiten, y los mensajes que solo envuelven un mapa (FacetCounts) se aplanan.
+     */
+    private JsonNode toJson(Message message) {
+        ObjectNode node = objectMapper.createObjectNode();
+        for (FieldDescriptor field : message.getDescriptorForType().getFields()) {
+            if (field.isMapField()) {
+                List<?> entries = (List<?>) message.getField(field);
+                if (!entries.isEmpty()) {
+                    node.set(field.getJsonName(), mapToJson(entries));
+                }
+            } else if (field.isRepeated()) {
+                ArrayNode array = node.putArray(field.getJsonName());
+                for (Object element : (List<?>) message.getField(field)) {
+                    array.add(valueToJson(element));
+                }
+            } else if (!field.hasPresence() || message.hasField(field)) {
+                node.set(field.getJsonName(), valueToJson(message.getField(field)));
+            }
+        }
+        return node;
+    }
+
+    private JsonNode mapToJson(List<?> entries) {
+        ObjectNode map = objectMapper.createObjectNode();
+        for (Object entry : entries) {
+            Message mapEntry = (Message) entry;
+            Descriptor entryType = mapEntry.getDescriptorForType();
+            String key = String.valueOf(mapEntry.getField(entryType.findFieldByName("key")));
+            map.set(key, valueToJson(mapEntry.getField(entryType.findFieldByName("value"))));
+        }
+        return map;
+    }
+
+    private JsonNode valueToJson(Object value) {
+        if (!(value instanceof Message)) {
+            return objectMapper.valueToTree(value);
+        }
+        Message message = (Message) value;
+        List<FieldDescriptor> fields = message.getDescriptorForType().getFields();
+        if (fields.size() == 1 && fields.get(0).isMapField()) {
+            return mapToJson((List<?>) message.getField(fields.get(0)));
+        }
+        return toJson(message);
+    }
+}
@@ -0,0 +1,204 @@
+package com.starwars.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.shared.security.RateLimitFilter;
+import com.starwars.shared.security.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterUnitTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void tryAcquire_ShouldAllowBurstThenRejectUntilNextPermit() {
+        RateLimiter limiter = limiter("3/60", Collections.emptyMap());
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("/people", "ip:10.0.0.1"));
+        }
+        long wait = limiter.tryAcquire("/people", "ip:10.0.0.1");
+
+        assertTrue(wait > TimeUnit.SECONDS.toNanos(19) && wait <= TimeUnit.SECONDS.toNanos(20), "Espera: " + wait);
+        assertEquals(0, limiter.tryAcquire("/people", "ip:10.0.0.2"));
+        assertEquals(1, registry.get("swapi.rate-limit.requests").tag("route", "default").tag("result", "rejected").counter().count());
+    }
+
+    @Test
+    public void tryAcquire_ShouldRefillAtConfiguredRate() throws Exception {
+        RateLimiter limiter = limiter("2/1", Collections.emptyMap());
+        limiter.tryAcquire("/people", "user:luke");
+        limiter.tryAcquire("/people", "user:luke");
+
+        long wait = limiter.tryAcquire("/people", "user:luke");
+        assertTrue(wait > 0);
+        TimeUnit.NANOSECONDS.sleep(wait + TimeUnit.MILLISECONDS.toNanos(20));
+
+        assertEquals(0, limiter.tryAcquire("/people", "user:luke"));
+    }
+
+    @Test
+    public void tryAcquire_RouteQuota_ShouldApplyFirstMatchingPatternWithItsOwnBuckets() {
+        Map<String, String> routes = new LinkedHashMap<>();
+        routes.put("/auth/login", "1/60");
+        routes.put("/auth/**", "2/60");
+        RateLimiter limiter = limiter("100/60", routes);
+
+        assertEquals(0, limiter.tryAcquire("/auth/login", "ip:10.0.0.1"));
+        assertTrue(limiter.tryAcquire("/auth/login", "ip:10.0.0.1") > 0);
+        assertEquals(0, limiter.tryAcquire("/auth/register", "ip:10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("/auth/register", "ip:10.0.0.1"));
+        assertTrue(limiter.tryAcquire("/auth/register", "ip:10.0.0.1") > 0);
+        assertEquals(0, limiter.tryAcquire("/people", "ip:10.0.0.1"));
+    }
+
+    @Test
+    public void tryAcquire_ConcurrentClients_ShouldNeverGrantMoreThanQuota() throws Exception {
+        RateLimiter limiter = limiter("100/3600", Collections.emptyMap());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int granted = 0;
+                    for (int i = 0; i < 1000; i++) {
+                        if (limiter.tryAcquire("/people", "user:luke") == 0) {
+                            granted++;
+                        }
+                    }
+                    return granted;
+                }));
+            }
+            start.countDown();
+            int granted = 0;
+            for (Future<Integer> result : results) {
+                granted += result.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(100, granted);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void evictIdle_ShouldDropRefilledBucketsOnly() throws Exception {
+        RateLimiter limiter = limiter("1000/1", Collections.singletonMap("/auth/login", "1/60"));
+        limiter.tryAcquire("/people", "ip:10.0.0.1");
+        limiter.tryAcquire("/auth/login", "ip:10.0.0.1");
+        Thread.sleep(20);
+
+        limiter.evictIdle();
+
+        assertEquals(1, limiter.clientCount());
+        assertTrue(limiter.tryAcquire("/auth/login", "ip:10.0.0.1") > 0);
+    }
+
+    @Test
+    public void tryAcquire_FloodOfDistinctKeys_ShouldNotThrottleNewWellBehavedClient() {
+        RateLimiter limiter = new RateLimiter(true, "100/60", Collections.singletonMap("/auth/login", "3/60"), 100, registry);
+        for (int i = 0; i < 2000; i++) {
+            assertEquals(0, limiter.tryAcquire("/auth/login", "ip:10.1." + (i / 256) + "." + (i % 256)));
+        }
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("/people", "user:luke");
+        }
+
+        // El cliente nuevo tiene su propio bucket: la cuota completa, y nada más
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("/auth/login", "ip:192.168.0.1"));
+        }
+        assertTrue(limiter.tryAcquire("/auth/login", "ip:192.168.0.1") > 0);
+        assertTrue(limiter.clientCount() <= 100, "Clientes: " + limiter.clientCount());
+    }
+
+    @Test
+    public void tryAcquire_ClientMapFull_ShouldKeepBusiestBuckets() {
+        RateLimiter limiter = new RateLimiter(true, "5/60", Collections.emptyMap(), 10, registry);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("/people", "user:luke");
+        }
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire("/people", "ip:10.0.0." + i);
+        }
+
+        assertTrue(limiter.tryAcquire("/people", "user:luke") > 0);
+    }
+
+    @Test
+    public void constructor_InvalidQuota_ShouldFailFast() {
+        assertThrows(IllegalArgumentException.class, () -> limiter("diez", Collections.emptyMap()));
+        assertThrows(IllegalArgumentException.class, () -> limiter("100/60", Collections.singletonMap("/auth/**", "0/60")));
+    }
+
+    @Test
+    public void filter_OverQuota_ShouldRespond429WithRetryAfterAndSkipChain() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(limiter("1/60", Collections.emptyMap()), new ObjectMapper());
+
+        MockFilterChain first = new MockFilterChain();
+        filter.doFilter(request("10.0.0.1"), new MockHttpServletResponse(), first);
+        MockFilterChain second = new MockFilterChain();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(request("10.0.0.1"), rejected, second);
+
+        assertNotNull(first.getRequest());
+        assertNull(second.getRequest());
+        assertEquals(429, rejected.getStatus());
+        assertEquals("60", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("\"status\":429"));
+    }
+
+    @Test
+    public void filter_AuthenticatedRequests_ShouldUseUserQuotaInsteadOfIp() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(limiter("1/60", Collections.emptyMap()), new ObjectMapper());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("luke", null, Collections.emptyList()));
+
+        MockHttpServletResponse fromFirstIp = new MockHttpServletResponse();
+        filter.doFilter(request("10.0.0.1"), fromFirstIp, new MockFilterChain());
+        MockHttpServletResponse fromSecondIp = new MockHttpServletResponse();
+        filter.doFilter(request("10.0.0.2"), fromSecondIp, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        MockHttpServletResponse anonymous = new MockHttpServletResponse();
+        filter.doFilter(request("10.0.0.1"), anonymous, new MockFilterChain());
+
+        assertEquals(200, fromFirstIp.getStatus());
+        assertEquals(429, fromSecondIp.getStatus());
+        assertEquals(200, anonymous.getStatus());
+    }
+
+    private RateLimiter limiter(String defaultQuota, Map<String, String> routes) {
+        return new RateLimiter(true, defaultQuota, routes, 1000, registry);
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/people");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
@@ -0,0 +1,115 @@
+package com.starwars.service;
+
+import com.starwars.auth.entity.RefreshToken;
+import com.starwars.auth.repository.RefreshTokenRepository;
+import com.starwars.auth.service.RefreshTokenService;
+import com.starwars.shared.exception.InvalidRefreshTokenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class RefreshTokenServiceUnitTest {
+
+    private RefreshTokenRepository repository;
+    private RefreshTokenService service;
+
+    @BeforeEach
+    public void setUp() {
+        repository = mock(RefreshTokenRepository.class);
+        service = new RefreshTokenService(repository, 60_000);
+    }
+
+    @Test
+    public void issue_ShouldStoreOnlyTheHashOfAnOpaqueToken() throws Exception {
+        String token = service.issue("luke");
+
+        RefreshToken stored = captureSaved();
+        assertEquals(43, token.length());
+        assertArrayEquals(sha256(token), stored.getTokenHash());
+        assertEquals("luke", stored.getUsername());
+        assertFalse(stored.isUsed());
+        assertTrue(stored.getExpiresAt().isAfter(Instant.now().plusSeconds(50)));
+        verify(repository).deleteExpired(eq("luke"), any(Instant.class));
+    }
+
+    @Test
+    public void rotate_UnusedToken_ShouldMarkUsedAndIssueNextInSameFamily() throws Exception {
+        RefreshToken current = stored("refresh-1", false, Instant.now().plusSeconds(60));
+        when(repository.findByTokenHash(sha256("refresh-1"))).thenReturn(Optional.of(current));
+        when(repository.markUsed(7L)).thenReturn(1);
+
+        RefreshTokenService.Rotation rotation = service.rotate("refresh-1");
+
+        assertEquals("luke", rotation.getUsername());
+        assertNotEquals("refresh-1", rotation.getRefreshToken());
+        RefreshToken next = captureSaved();
+        assertEquals(current.getFamilyId(), next.getFamilyId());
+        assertArrayEquals(sha256(rotation.getRefreshToken()), next.getTokenHash());
+        verify(repository, never()).deleteFamily(any());
+    }
+
+    @Test
+    public void rotate_ReusedToken_ShouldRevokeWholeFamily() throws Exception {
+        RefreshToken used = stored("refresh-1", true, Instant.now().plusSeconds(60));
+        when(repository.findByTokenHash(sha256("refresh-1"))).thenReturn(Optional.of(used));
+
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate("refresh-1"));
+
+        verify(repository).deleteFamily(used.getFamilyId());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    public void rotate_ConcurrentUseOfSameToken_ShouldRevokeFamilyForTheLoser() throws Exception {
+        RefreshToken current = stored("refresh-1", false, Instant.now().plusSeconds(60));
+        when(repository.findByTokenHash(sha256("refresh-1"))).thenReturn(Optional.of(current));
+        when(repository.markUsed(7L)).thenReturn(0);
+
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate("refresh-1"));
+
+        verify(repository).deleteFamily(current.getFamilyId());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    public void rotate_ExpiredOrUnknownToken_ShouldBeRejected() throws Exception {
+        RefreshToken expired = stored("refresh-1", false, Instant.now().minus(1, ChronoUnit.SECONDS));
+        when(repository.findByTokenHash(sha256("refresh-1"))).thenReturn(Optional.of(expired));
+        when(repository.findByTokenHash(sha256("desconocido"))).thenReturn(Optional.empty());
+
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate("refresh-1"));
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate("desconocido"));
+
+        verify(repository).delete(expired);
+        verify(repository, never()).save(any());
+    }
+
+    private RefreshToken captureSaved() {
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository).save(captor.capture());
+        return captor.getValue();
+    }
+
+    private static RefreshToken stored(String token, boolean used, Instant expiresAt) throws Exception {
+        RefreshToken stored = new RefreshToken(sha256(token), UUID.randomUUID(), "luke", expiresAt);
+        stored.setId(7L);
+        stored.setUsed(used);
+        return stored;
+    }
+
+    private static byte[] sha256(String token) throws Exception {
+        return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+    }
+}
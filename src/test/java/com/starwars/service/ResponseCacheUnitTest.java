@@ -0,0 +1,247 @@
+package com.starwars.service;
+
+import com.starwars.people.dto.PersonResponseDto;
+import com.starwars.people.repository.PersonRepository;
+import com.starwars.shared.catalog.CatalogChangedEvent;
+import com.starwars.shared.catalog.CatalogSnapshot;
+import com.starwars.shared.http.CachedResponse;
+import com.starwars.shared.http.DegradedResponse;
+import com.starwars.shared.http.ResponseCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseCacheUnitTest {
+
+    private ResponseCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new ResponseCache(60, 100, Arrays.asList("people", "films"));
+    }
+
+    @Test
+    public void keyFor_JsonDetail_ShouldKeyByResourceIdAndCanonicalProjection() {
+        MockHttpServletRequest plain = request("/people/1");
+        MockHttpServletRequest json = request("/people/1");
+        json.addHeader("Accept", "application/json");
+        MockHttpServletRequest projected = request("/people/1");
+        projected.setQueryString("fields=name,height");
+        projected.addParameter("fields", "name,height");
+        MockHttpServletRequest reordered = request("/people/1");
+        reordered.setQueryString("fields=height&fields=name,height");
+        reordered.addParameter("fields", "height", "name,height");
+        reordered.addHeader("Accept", "*/*");
+
+        ResponseCache.Key key = cache.keyFor(plain);
+        assertEquals("people", key.getResource());
+        assertEquals("1", key.getId());
+        assertEquals("/people/1|application/json", key.getVariant());
+        assertEquals(key, cache.keyFor(json));
+        assertEquals("/people/1?fields=height,name|application/json", cache.keyFor(projected).getVariant());
+        assertEquals(cache.keyFor(projected), cache.keyFor(reordered));
+    }
+
+    @Test
+    public void keyFor_ListsBinaryAndUnknownPaths_ShouldKeyByUrlOrSkip() {
+        MockHttpServletRequest smile = request("/people/1");
+        smile.addHeader("Accept", "application/x-jackson-smile");
+        MockHttpServletRequest search = request("/films/search");
+        search.setQueryString("text=death");
+        search.addParameter("text", "death");
+
+        assertEquals("1", cache.keyFor(smile).getId());
+        assertNotEquals(cache.keyFor(request("/people/1")), cache.keyFor(smile));
+        assertNull(cache.keyFor(search).getId());
+        assertEquals("/films/search?text=death|application/json", cache.keyFor(search).getVariant());
+        assertNull(cache.keyFor(request("/peoplex/1")));
+        assertNull(cache.keyFor(request("/auth/check-username/admin")));
+        assertNull(cache.keyFor(new MockHttpServletRequest("POST", "/people")));
+        assertNull(new ResponseCache(0, 100, Collections.singletonList("people")).keyFor(request("/people/1")));
+    }
+
+    @Test
+    public void keyFor_List_ShouldNormalizeParametersAndNegotiatedMediaType() {
+        MockHttpServletRequest list = request("/people");
+        list.setQueryString("sort=name&sort=height,desc&page=2");
+        list.addParameter("sort", "name", "height,desc");
+        list.addParameter("page", "2");
+        MockHttpServletRequest reordered = request("/people");
+        reordered.setQueryString("page=2&sort=name&sort=height,desc");
+        reordered.addParameter("page", "2");
+        reordered.addParameter("sort", "name", "height,desc");
+        reordered.addHeader("Accept", "text/html;q=0.5, application/json;charset=UTF-8");
+        MockHttpServletRequest otherSortOrder = request("/people");
+        otherSortOrder.setQueryString("sort=height,desc&sort=name&page=2");
+        otherSortOrder.addParameter("sort", "height,desc", "name");
+        otherSortOrder.addParameter("page", "2");
+        MockHttpServletRequest msgpack = request("/people");
+        msgpack.addHeader("Accept", "application/json;q=0.5, application/x-msgpack");
+        MockHttpServletRequest junk = request("/people");
+        junk.setQueryString("x=1");
+        junk.addParameter("x", "1");
+        MockHttpServletRequest unsupported = request("/people");
+        unsupported.addHeader("Accept", "text/csv");
+
+        assertEquals("/people?page=2&sort=name&sort=height,desc|application/json", cache.keyFor(list).getVariant());
+        assertEquals(cache.keyFor(list), cache.keyFor(reordered));
+        assertNotEquals(cache.keyFor(list), cache.keyFor(otherSortOrder));
+        assertEquals("/people|application/x-msgpack", cache.keyFor(msgpack).getVariant());
+        assertNull(cache.keyFor(junk));
+        assertNull(cache.keyFor(unsupported));
+    }
+
+    @Test
+    public void put_Full_ShouldEvictLeastRecentlyUsedInsteadOfDroppingNewEntries() {
+        ResponseCache small = new ResponseCache(60, 10, Collections.singletonList("people"));
+        List<ResponseCache.Key> keys = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            keys.add(small.keyFor(request("/people/" + i)));
+            small.put(keys.get(i), response());
+        }
+        assertNotNull(small.get(keys.get(0)));
+
+        for (int i = 10; i < 15; i++) {
+            small.put(small.keyFor(request("/people/" + i)), response());
+        }
+
+        assertNotNull(small.get(keys.get(0)));
+        assertNull(small.get(keys.get(1)));
+        assertNotNull(small.get(small.keyFor(request("/people/14"))));
+    }
+
+    @Test
+    public void resourceTtl_ShouldOverrideDefaultTtl() {
+        ResponseCache films = new ResponseCache(0, 100, Arrays.asList("people", "films"),
+                Collections.singletonMap("films", 3600L));
+        ResponseCache.Key key = films.keyFor(request("/films/1"));
+        CachedResponse response = response();
+        films.put(key, response);
+
+        assertNull(films.keyFor(request("/people/1")));
+        assertSame(response, films.get(key));
+        assertTrue(films.remainingSeconds(key, response) > 3590);
+    }
+
+    @Test
+    public void onCatalogChanged_ShouldEvictChangedDetailsAndResourceLists() {
+        ResponseCache.Key luke = cache.keyFor(request("/people/1"));
+        ResponseCache.Key c3po = cache.keyFor(request("/people/2"));
+        ResponseCache.Key list = cache.keyFor(request("/people"));
+        ResponseCache.Key film = cache.keyFor(request("/films/1"));
+        for (ResponseCache.Key key : Arrays.asList(luke, c3po, list, film)) {
+            cache.put(key, response());
+        }
+
+        cache.onCatalogChanged(new CatalogChangedEvent("people", Collections.singleton("1")));
+
+        assertNull(cache.get(luke));
+        assertNull(cache.get(list));
+        assertNotNull(cache.get(c3po));
+        assertNotNull(cache.get(film));
+    }
+
+    @Test
+    public void catalogRefresh_ShouldPublishAddedChangedAndRemovedIds() {
+        List<Object> events = new ArrayList<>();
+        PersonRepository repository = new PersonRepository();
+        ReflectionTestUtils.setField(repository, "ttlSeconds", 0L);
+        ReflectionTestUtils.setField(repository, "eventPublisher", (ApplicationEventPublisher) events::add);
+
+        repository.getSnapshot(() -> Arrays.asList(person("1", "Luke Skywalker"), person("2", "C-3PO"), person("3", "R2-D2")));
+        assertEquals(1, events.size());
+
+        repository.getSnapshot(() -> Arrays.asList(person("1", "Luke Skywalker"), person("2", "C-3P0"), person("4", "Darth Vader")));
+
+        assertEquals(2, events.size());
+        CatalogChangedEvent event = (CatalogChangedEvent) events.get(1);
+        assertEquals("people", event.getResourceName());
+        assertEquals(new HashSet<>(Arrays.asList("2", "3", "4")), event.getChangedIds());
+    }
+
+    @Test
+    public void catalogRefresh_ShouldServeStaleSnapshotWhileOneThreadReloads() throws Exception {
+        PersonRepository repository = new PersonRepository();
+        ReflectionTestUtils.setField(repository, "ttlSeconds", 0L);
+        CatalogSnapshot<PersonResponseDto> stale = repository.getSnapshot(() -> Collections.singletonList(person("1", "Luke Skywalker")));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<CatalogSnapshot<PersonResponseDto>> refresh = executor.submit(() -> repository.getSnapshot(() -> {
+                loading.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Arrays.asList(person("1", "Luke Skywalker"), person("2", "C-3PO"));
+            }));
+            assertTrue(loading.await(10, TimeUnit.SECONDS));
+
+            assertSame(stale, repository.getSnapshot(() -> {
+                throw new AssertionError("Solo un hilo debe recargar el catálogo");
+            }));
+
+            release.countDown();
+            assertEquals(2, refresh.get(10, TimeUnit.SECONDS).getItems().size());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void catalogFirstLoadAfterFailure_ShouldMarkFallbackAndEvictResourceLists() {
+        PersonRepository repository = new PersonRepository();
+        ReflectionTestUtils.setField(repository, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(repository, "eventPublisher", (ApplicationEventPublisher) event ->
+                cache.onCatalogChanged((CatalogChangedEvent) event));
+        ResponseCache.Key list = cache.keyFor(request("/people"));
+        cache.put(list, response());
+
+        MockHttpServletRequest outage = request("/people");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(outage));
+        try {
+            assertTrue(repository.getSnapshot(() -> null).getItems().isEmpty());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+        assertTrue(DegradedResponse.isMarked(outage));
+        assertNotNull(cache.get(list));
+
+        repository.getSnapshot(() -> Arrays.asList(person("1", "Luke Skywalker"), person("2", "C-3PO")));
+
+        assertNull(cache.get(list));
+    }
+
+    private MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    private CachedResponse response() {
+        return new CachedResponse("application/json", "{}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private PersonResponseDto person(String id, String name) {
+        return PersonResponseDto.builder().id(id).name(name).build();
+    }
+}
@@ -0,0 +1,312 @@
+package com.starwars.service;
+
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import com.starwars.shared.http.CompressionMetrics;
+import com.starwars.shared.http.ContentEncoding;
+import com.starwars.shared.http.DegradedResponse;
+import com.starwars.shared.http.ResponseCache;
+import com.starwars.shared.http.ResponseCompressionFilter;
+import com.starwars.shared.http.ResponseCompressor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseCompressionFilterUnitTest {
+
+    private static final String LARGE_JSON = buildJson(200);
+    private static final String SMALL_JSON = "{\"id\":\"1\",\"name\":\"Luke Skywalker\"}";
+
+    private SimpleMeterRegistry registry;
+    private ResponseCompressor compressor;
+    private AtomicInteger controllerCalls;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        compressor = new ResponseCompressor(6, 5);
+        controllerCalls = new AtomicInteger();
+    }
+
+    @Test
+    public void negotiate_ShouldHonourQualityValuesAndPreferBrotli() {
+        assertEquals(ContentEncoding.BROTLI, ContentEncoding.negotiate("gzip, deflate, br", true));
+        assertEquals(ContentEncoding.GZIP, ContentEncoding.negotiate("gzip, deflate, br", false));
+        assertEquals(ContentEncoding.GZIP, ContentEncoding.negotiate("br;q=0.5, gzip", true));
+        assertEquals(ContentEncoding.BROTLI, ContentEncoding.negotiate("*", true));
+        assertEquals(ContentEncoding.GZIP, ContentEncoding.negotiate("*;q=0.1, br;q=0", true));
+        assertEquals(ContentEncoding.IDENTITY, ContentEncoding.negotiate("gzip;q=0, deflate", true));
+        assertEquals(ContentEncoding.IDENTITY, ContentEncoding.negotiate(null, true));
+    }
+
+    @Test
+    public void filter_WithGzip_ShouldCompressAboveThreshold() throws Exception {
+        MockHttpServletResponse response = execute(filter(0), request("/people", "gzip"), LARGE_JSON);
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals(Arrays.asList("Accept", "Accept-Encoding"), response.getHeaders("Vary"));
+        assertEquals(response.getContentAsByteArray().length, response.getContentLength());
+        assertTrue(response.getContentAsByteArray().length < LARGE_JSON.length());
+        assertEquals(LARGE_JSON, gunzip(response.getContentAsByteArray()));
+        assertEquals(1, registry.get("swapi.compression.time").tag("encoding", "gzip").timer().count());
+        assertTrue(registry.get("swapi.compression.ratio").tag("encoding", "gzip").summary().mean() > 1);
+    }
+
+    @Test
+    public void filter_WithBrotli_ShouldCompressWhenAvailable() throws Exception {
+        assertTrue(compressor.isBrotliAvailable());
+
+        MockHttpServletResponse response = execute(filter(0), request("/films", "gzip, br"), LARGE_JSON);
+
+        assertEquals("br", response.getHeader("Content-Encoding"));
+        byte[] decoded = Decoder.decompress(response.getContentAsByteArray()).getDecompressedData();
+        assertEquals(LARGE_JSON, new String(decoded, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void filter_BelowThreshold_ShouldNotCompress() throws Exception {
+        MockHttpServletResponse response = execute(filter(0), request("/people/1", "gzip"), SMALL_JSON);
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals(Collections.singletonList("Accept"), response.getHeaders("Vary"));
+        assertEquals(SMALL_JSON, response.getContentAsString());
+    }
+
+    @Test
+    public void filter_CachedResponse_ShouldReusePrecompressedBytes() throws Exception {
+        ResponseCompressionFilter filter = filter(60);
+
+        MockHttpServletResponse first = execute(filter, request("/people", "gzip"), LARGE_JSON);
+        MockHttpServletResponse second = execute(filter, request("/people", "gzip"), LARGE_JSON);
+        MockHttpServletResponse identity = execute(filter, request("/people", null), LARGE_JSON);
+
+        assertEquals(1, controllerCalls.get());
+        assertArrayEquals(first.getContentAsByteArray(), second.getContentAsByteArray());
+        assertEquals("gzip", second.getHeader("Content-Encoding"));
+        assertEquals("application/json", second.getContentType());
+        assertEquals(LARGE_JSON, identity.getContentAsString());
+        assertEquals(1, registry.get("swapi.compression.time").tag("encoding", "gzip").timer().count());
+        assertEquals(1, registry.get("swapi.compression.reused").tag("encoding", "gzip").counter().count());
+        assertTrue(registry.get("swapi.compression.cpu.saved").tag("encoding", "gzip").counter().count() > 0);
+    }
+
+    @Test
+    public void filter_CachedResponse_ShouldSendStrongETagPerEncodingAndMaxAge() throws Exception {
+        ResponseCompressionFilter filter = filter(60);
+
+        MockHttpServletResponse gzip = execute(filter, request("/people", "gzip"), LARGE_JSON);
+        MockHttpServletResponse identity = execute(filter, request("/people", null), LARGE_JSON);
+        MockHttpServletResponse small = execute(filter, request("/people/1", "gzip"), SMALL_JSON);
+
+        String etag = identity.getHeader("ETag");
+        assertTrue(etag.matches("\"[0-9a-f]{32}\""));
+        assertEquals(etag.replace("\"", "").concat("-gzip"), gzip.getHeader("ETag").replace("\"", ""));
+        assertTrue(small.getHeader("ETag").matches("\"[0-9a-f]{32}\""));
+        assertTrue(identity.getHeader("Cache-Control").matches("max-age=(59|60), private"));
+    }
+
+    @Test
+    public void filter_MatchingIfNoneMatch_ShouldReturn304WithoutCallingController() throws Exception {
+        ResponseCompressionFilter filter = filter(60);
+        String etag = execute(filter, request("/people", "gzip"), LARGE_JSON).getHeader("ETag");
+
+        MockHttpServletRequest revalidation = request("/people", "gzip");
+        revalidation.addHeader("If-None-Match", "W/\"otro\", " + etag);
+        MockHttpServletResponse notModified = execute(filter, revalidation, LARGE_JSON);
+
+        MockHttpServletRequest otherEncoding = request("/people", null);
+        otherEncoding.addHeader("If-None-Match", etag);
+        MockHttpServletResponse modified = execute(filter, otherEncoding, LARGE_JSON);
+
+        assertEquals(1, controllerCalls.get());
+        assertEquals(304, notModified.getStatus());
+        assertEquals(0, notModified.getContentAsByteArray().length);
+        assertEquals(etag, notModified.getHeader("ETag"));
+        assertNotNull(notModified.getHeader("Cache-Control"));
+        assertEquals(200, modified.getStatus());
+        assertEquals(LARGE_JSON, modified.getContentAsString());
+    }
+
+    @Test
+    public void filter_UncachedResponse_ShouldNotSendValidators() throws Exception {
+        MockHttpServletResponse response = execute(filter(0), request("/people", "gzip"), LARGE_JSON);
+
+        assertNull(response.getHeader("ETag"));
+        assertNull(response.getHeader("Cache-Control"));
+    }
+
+    @Test
+    public void filter_DifferentQueryOrAccept_ShouldUseSeparateEntries() throws Exception {
+        ResponseCompressionFilter filter = filter(60);
+
+        execute(filter, request("/people", "gzip"), LARGE_JSON);
+        MockHttpServletRequest sorted = request("/people", "gzip");
+        sorted.setQueryString("sort=name");
+        sorted.addParameter("sort", "name");
+        execute(filter, sorted, LARGE_JSON);
+        MockHttpServletRequest smile = request("/people", "gzip");
+        smile.addHeader("Accept", "application/x-jackson-smile");
+        execute(filter, smile, LARGE_JSON);
+
+        assertEquals(3, controllerCalls.get());
+    }
+
+    @Test
+    public void filter_NegotiatedFormat_ShouldVaryOnAcceptWhenCachedFreshOrNotModified() throws Exception {
+        ResponseCompressionFilter filter = filter(60);
+
+        MockHttpServletResponse fresh = execute(filter, request("/people/1", null), SMALL_JSON);
+        MockHttpServletResponse cached = execute(filter, request("/people/1", null), SMALL_JSON);
+        MockHttpServletRequest revalidation = request("/people/1", null);
+        revalidation.addHeader("If-None-Match", fresh.getHeader("ETag"));
+        MockHttpServletResponse notModified = execute(filter, revalidation, SMALL_JSON);
+
+        assertEquals(1, controllerCalls.get());
+        assertEquals(304, notModified.getStatus());
+        for (MockHttpServletResponse response : Arrays.asList(fresh, cached, notModified)) {
+            assertEquals(Collections.singletonList("Accept"), response.getHeaders("Vary"));
+        }
+    }
+
+    @Test
+    public void filter_ErrorOrUncacheablePath_ShouldNotBeCached() throws Exception {
+        ResponseCompressionFilter filter = filter(60);
+
+        execute(filter, request("/people/999", null), SMALL_JSON, 404);
+        execute(filter, request("/people/999", null), SMALL_JSON, 404);
+        execute(filter, request("/auth/login", null), SMALL_JSON);
+        execute(filter, request("/auth/login", null), SMALL_JSON);
+
+        assertEquals(4, controllerCalls.get());
+    }
+
+    @Test
+    public void filter_SwapiFailsThenRecovers_ShouldNotKeepFallbackPage() throws Exception {
+        ResponseCompressionFilter filter = filter(60);
+        String fallback = "{\"content\":[],\"totalElements\":0}";
+
+        MockHttpServletResponse outage = execute(filter, request("/people", "gzip"), fallback, 200, true);
+        MockHttpServletResponse recovered = execute(filter, request("/people", "gzip"), LARGE_JSON);
+        MockHttpServletResponse cached = execute(filter, request("/people", "gzip"), LARGE_JSON);
+
+        assertEquals(2, controllerCalls.get());
+        assertNull(outage.getHeader("ETag"));
+        assertEquals("no-store", outage.getHeader("Cache-Control"));
+        assertEquals(LARGE_JSON, gunzip(recovered.getContentAsByteArray()));
+        assertArrayEquals(recovered.getContentAsByteArray(), cached.getContentAsByteArray());
+        assertNotNull(cached.getHeader("ETag"));
+    }
+
+    @Test
+    public void filter_FallbackWithIfNoneMatch_ShouldReturnBodyWithoutValidators() throws Exception {
+        ResponseCompressionFilter filter = filter(60);
+        MockHttpServletRequest revalidation = request("/people/1", null);
+        revalidation.addHeader("If-None-Match", "*");
+
+        MockHttpServletResponse response = execute(filter, revalidation, SMALL_JSON, 200, true);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(SMALL_JSON, response.getContentAsString());
+        assertNull(response.getHeader("ETag"));
+        assertFalse(response.getHeader("Cache-Control").contains("max-age"));
+    }
+
+    @Test
+    public void filter_ExportPath_ShouldPassThroughWithoutBufferingOrCaching() throws Exception {
+        ResponseCompressionFilter filter = filter(60);
+
+        MockHttpServletResponse first = execute(filter, request("/people/export", "gzip"), LARGE_JSON);
+        execute(filter, request("/people/export", "gzip"), LARGE_JSON);
+
+        assertEquals(2, controllerCalls.get());
+        assertNull(first.getHeader("Content-Encoding"));
+        assertNull(first.getHeader("ETag"));
+        assertEquals(LARGE_JSON, first.getContentAsString());
+    }
+
+    private ResponseCompressionFilter filter(long ttlSeconds) {
+        ResponseCache cache = new ResponseCache(ttlSeconds, 100, Arrays.asList("people", "films"));
+        return new ResponseCompressionFilter(cache, compressor, new CompressionMetrics(registry), true, 1024,
+                Collections.singletonList("application/json"), Collections.singletonList("/*/export"));
+    }
+
+    private MockHttpServletRequest request(String uri, String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (acceptEncoding != null) {
+            request.addHeader("Accept-Encoding", acceptEncoding);
+        }
+        return request;
+    }
+
+    private MockHttpServletResponse execute(ResponseCompressionFilter filter, MockHttpServletRequest request, String body)
+            throws Exception {
+        return execute(filter, request, body, 200);
+    }
+
+    private MockHttpServletResponse execute(ResponseCompressionFilter filter, MockHttpServletRequest request, String body,
+                                            int status) throws Exception {
+        return execute(filter, request, body, status, false);
+    }
+
+    /**
+     * @param degraded si el "controlador" responde con un reemplazo por falla de SWAPI, como hacen los servicios
+     */
+    private MockHttpServletResponse execute(ResponseCompressionFilter filter, MockHttpServletRequest request, String body,
+                                            int status, boolean degraded) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet controller = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                controllerCalls.incrementAndGet();
+                if (degraded) {
+                    // Igual que el DispatcherServlet, que publica el request en RequestContextHolder
+                    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(req));
+                    try {
+                        DegradedResponse.mark();
+                    } finally {
+                        RequestContextHolder.resetRequestAttributes();
+                    }
+                }
+                resp.setStatus(status);
+                resp.setContentType("application/json");
+                resp.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+        filter.doFilter(request, response, new MockFilterChain(controller));
+        return response;
+    }
+
+    private static String gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return StreamUtils.copyToString(input, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String buildJson(int people) {
+        StringBuilder json = new StringBuilder("{\"content\":[");
+        for (int i = 1; i <= people; i++) {
+            json.append(i > 1 ? "," : "")
+                    .append("{\"id\":\"").append(i).append("\",\"name\":\"Person ").append(i)
+                    .append("\",\"gender\":\"").append(i % 2 == 0 ? "female" : "male").append("\"}");
+        }
+        return json.append("],\"totalElements\":").append(people).append('}').toString();
+    }
+}
@@ -53,7 +53,7 @@ public class StarshipServiceUnitTest {
 
         StarshipResponseDto responseDto = createStarshipResponseDto("10", "Millennium Falcon", "4", "34.37");
 
-        when(starshipMapper.toResponseDtoFromDetail(any(ApiResult.class))).thenReturn(responseDto);
+        when(starshipMapper.toResponseDtoFromDetail(any(ApiDetailResult.class))).thenReturn(responseDto);
 
         // Simulamos el método fetchApiData del padre
         StarshipService spyService = spy(starshipService);
@@ -75,7 +75,7 @@ public class StarshipServiceUnitTest {
         assertFalse(result.isHasNext());
         assertFalse(result.isHasPrevious());
 
-        verify(starshipMapper).toResponseDtoFromDetail(any(ApiResult.class));
+        verify(starshipMapper).toResponseDtoFromDetail(any(ApiDetailResult.class));
     }
 
     @Test
@@ -120,7 +120,7 @@ public class StarshipServiceUnitTest {
         StarshipResponseDto responseDto1 = createStarshipResponseDto("2", "CR90 corvette", "30-165", "150");
         StarshipResponseDto responseDto2 = createStarshipResponseDto("3", "Star Destroyer", "47,060", "1,600");
 
-        when(starshipMapper.toResponseDtoFromDetail(any(ApiResult.class)))
+        when(starshipMapper.toResponseDtoFromDetail(any(ApiDetailResult.class)))
                 .thenReturn(responseDto1)
                 .thenReturn(responseDto2);
 
@@ -142,7 +142,7 @@ public class StarshipServiceUnitTest {
         assertTrue(result.isHasNext());
         assertFalse(result.isHasPrevious());
 
-        verify(starshipMapper, times(2)).toResponseDtoFromDetail(any(ApiResult.class));
+        verify(starshipMapper, times(2)).toResponseDtoFromDetail(any(ApiDetailResult.class));
     }
 
     @Test
@@ -158,7 +158,7 @@ public class StarshipServiceUnitTest {
         ApiPageResponse<StarshipApiDto> apiPageResponse = createApiPageResponse(resultList, 1, 1, null, null);
 
         StarshipResponseDto responseDto = createStarshipResponseDto("10", "Millennium Falcon", "4", "34.37");
-        when(starshipMapper.toResponseDtoFromDetail(any(ApiResult.class))).thenReturn(responseDto);
+        when(starshipMapper.toResponseDtoFromDetail(any(ApiDetailResult.class))).thenReturn(responseDto);
 
         StarshipService spyService = spy(starshipService);
         doReturn(apiPageResponse).when(spyService).fetchApiData(anyString(), any(ParameterizedTypeReference.class));
@@ -170,7 +170,7 @@ public class StarshipServiceUnitTest {
         assertNotNull(result);
         assertEquals(1, result.getContent().size());
         assertEquals("Millennium Falcon", result.getContent().get(0).getName());
-        verify(starshipMapper).toResponseDtoFromDetail(any(ApiResult.class));
+        verify(starshipMapper).toResponseDtoFromDetail(any(ApiDetailResult.class));
     }
 
     @Test
@@ -203,7 +203,7 @@ public class StarshipServiceUnitTest {
 
         StarshipResponseDto responseDto = createStarshipResponseDto("10", "Millennium Falcon", "4", "34.37");
 
-        when(starshipMapper.toResponseDtoFromDetail(any(ApiResult.class))).thenReturn(responseDto);
+        when(starshipMapper.toResponseDtoFromDetail(any(ApiDetailResult.class))).thenReturn(responseDto);
 
         StarshipService spyService = spy(starshipService);
         doReturn(apiResponse).when(spyService).fetchApiData(anyString(), any(ParameterizedTypeReference.class));
@@ -218,7 +218,7 @@ public class StarshipServiceUnitTest {
         assertEquals("4", result.getCrew());
         assertEquals("34.37", result.getLength());
 
-        verify(starshipMapper).toResponseDtoFromDetail(any(ApiResult.class));
+        verify(starshipMapper).toResponseDtoFromDetail(any(ApiDetailResult.class));
     }
 
     @Test
@@ -2,17 +2,20 @@ package com.starwars.service;
 
 import com.starwars.auth.entity.User;
 import com.starwars.auth.repository.UserRepository;
+import com.starwars.shared.security.UserChangedEvent;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -21,6 +24,9 @@ public class UserDetailsServiceImplUnitTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private com.starwars.auth.service.UserDetailsServiceImpl userDetailsService;
 
@@ -151,4 +157,21 @@ public class UserDetailsServiceImplUnitTest {
 
         verify(userRepository).findByUsername(username);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void updatePassword_ExistingUser_ShouldStoreNewHashAndPublishChange() {
+        // Arrange
+        User user = new User("admin", "$2a$10$hashAnterior");
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user));
+        UserDetails current = new org.springframework.security.core.userdetails.User("admin", user.getPassword(), new java.util.ArrayList<>());
+
+        // Act
+        UserDetails result = userDetailsService.updatePassword(current, "$2a$12$hashNuevo");
+
+        // Assert
+        assertEquals("$2a$12$hashNuevo", result.getPassword());
+        assertEquals("$2a$12$hashNuevo", user.getPassword());
+        verify(userRepository).save(user);
+        verify(eventPublisher).publishEvent(any(UserChangedEvent.class));
+    }
+}
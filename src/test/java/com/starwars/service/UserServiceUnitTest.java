@@ -3,16 +3,23 @@ package com.starwars.service;
 import com.starwars.auth.dto.RegisterRequest;
 import com.starwars.auth.entity.User;
 import com.starwars.auth.repository.UserRepository;
+import com.starwars.auth.service.UsernameBloomFilter;
 import com.starwars.shared.security.JwtUtil;
+import com.starwars.shared.security.UserChangedEvent;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.DataException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.sql.SQLException;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,6 +38,12 @@ public class UserServiceUnitTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UsernameBloomFilter usernameFilter;
+
     @InjectMocks
     private com.starwars.auth.service.UserService userService;
 
@@ -44,9 +57,8 @@ public class UserServiceUnitTest {
         User savedUser = new User("newuser", encodedPassword);
         savedUser.setId(1L);
 
-        when(userRepository.findByUsername("newuser")).thenReturn(Optional.empty());
         when(passwordEncoder.encode("password123")).thenReturn(encodedPassword);
-        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(savedUser);
         when(jwtUtil.generateToken(any(UserDetails.class))).thenReturn(expectedJwt);
 
         // Act
@@ -57,14 +69,15 @@ public class UserServiceUnitTest {
 
         // Verificar que se guardó el usuario correctamente
         ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-        verify(userRepository).save(userCaptor.capture());
+        verify(userRepository).saveAndFlush(userCaptor.capture());
         User capturedUser = userCaptor.getValue();
         assertEquals("newuser", capturedUser.getUsername());
         assertEquals(encodedPassword, capturedUser.getPassword());
 
-        verify(userRepository).findByUsername("newuser");
+        verify(userRepository, never()).findByUsername(anyString());
         verify(passwordEncoder).encode("password123");
         verify(jwtUtil).generateToken(any(UserDetails.class));
+        verify(eventPublisher).publishEvent(any(UserChangedEvent.class));
     }
 
     @Test
@@ -82,9 +95,7 @@ public class UserServiceUnitTest {
     public void registerUser_UsernameAlreadyExists_ShouldThrowException() {
         // Arrange
         RegisterRequest registerRequest = new RegisterRequest("existinguser", "password123", "password123");
-        User existingUser = new User("existinguser", "encodedPassword");
-
-        when(userRepository.findByUsername("existinguser")).thenReturn(Optional.of(existingUser));
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(duplicateUsername());
 
         // Act & Assert
         assertThrows(IllegalArgumentException.class, () -> {
@@ -92,6 +103,20 @@ public class UserServiceUnitTest {
         });
     }
 
+    @Test
+    public void registerUser_OtherIntegrityViolation_ShouldRethrow() {
+        // Arrange - por ejemplo un valor más largo que la columna
+        RegisterRequest registerRequest = new RegisterRequest("existinguser", "password123", "password123");
+        DataIntegrityViolationException tooLong = new DataIntegrityViolationException("Value too long for column",
+                new DataException("Value too long for column", new SQLException()));
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(tooLong);
+
+        // Act & Assert
+        assertSame(tooLong, assertThrows(DataIntegrityViolationException.class,
+                () -> userService.registerUser(registerRequest)));
+        verifyNoInteractions(eventPublisher);
+    }
+
     @Test
     public void registerUser_PasswordMismatch_ShouldNotInteractWithRepository() {
         // Arrange
@@ -112,12 +137,12 @@ public class UserServiceUnitTest {
     }
 
     @Test
-    public void registerUser_UsernameAlreadyExists_ShouldNotSaveUser() {
+    public void registerUser_UsernameAlreadyExists_ShouldMapUniqueViolationWithoutIssuingToken() {
         // Arrange
         RegisterRequest registerRequest = new RegisterRequest("existinguser", "password123", "password123");
-        User existingUser = new User("existinguser", "encodedPassword");
 
-        when(userRepository.findByUsername("existinguser")).thenReturn(Optional.of(existingUser));
+        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(duplicateUsername());
 
         // Act & Assert
         try {
@@ -127,10 +152,9 @@ public class UserServiceUnitTest {
             assertEquals("El nombre de usuario ya está en uso", e.getMessage());
         }
 
-        verify(userRepository).findByUsername("existinguser");
-        verify(userRepository, never()).save(any(User.class));
-        verifyNoInteractions(passwordEncoder);
+        verify(userRepository, never()).findByUsername(anyString());
         verifyNoInteractions(jwtUtil);
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -145,6 +169,7 @@ public class UserServiceUnitTest {
         // Assert
         assertTrue(result);
         verify(userRepository).findByUsername(username);
+        verify(usernameFilter).recordFalsePositive();
     }
 
     @Test
@@ -162,6 +187,20 @@ public class UserServiceUnitTest {
         verify(userRepository).findByUsername(username);
     }
 
+    @Test
+    public void isUsernameAvailable_FilterRulesUserOut_ShouldNotQueryDatabase() {
+        // Arrange
+        when(usernameFilter.isDefinitelyAbsent("nuevo")).thenReturn(true);
+
+        // Act
+        boolean result = userService.isUsernameAvailable("nuevo");
+
+        // Assert
+        assertTrue(result);
+        verifyNoInteractions(userRepository);
+        verify(usernameFilter, never()).recordFalsePositive();
+    }
+
     @Test
     public void registerUser_ValidRequest_ShouldCreateUserDetailsCorrectly() {
         // Arrange
@@ -172,9 +211,8 @@ public class UserServiceUnitTest {
         User savedUser = new User("testuser", encodedPassword);
         savedUser.setId(1L);
 
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.empty());
         when(passwordEncoder.encode("password123")).thenReturn(encodedPassword);
-        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(savedUser);
         when(jwtUtil.generateToken(any(UserDetails.class))).thenReturn(expectedJwt);
 
         // Act
@@ -203,4 +241,13 @@ public class UserServiceUnitTest {
             assertEquals("Las contraseñas no coinciden", e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Lo que traduce Spring cuando H2 rechaza el INSERT por la restricción única del nombre.
+     */
+    private DataIntegrityViolationException duplicateUsername() {
+        return new DataIntegrityViolationException("Unique index or primary key violation",
+                new ConstraintViolationException("Unique index or primary key violation", new SQLException(),
+                        "PUBLIC.UK_APP_USERS_USERNAME_INDEX_2 ON PUBLIC.APP_USERS(USERNAME)"));
+    }
+}
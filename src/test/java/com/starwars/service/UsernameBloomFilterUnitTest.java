@@ -0,0 +1,87 @@
+package com.starwars.service;
+
+import com.starwars.auth.repository.UserRepository;
+import com.starwars.auth.service.UsernameBloomFilter;
+import com.starwars.shared.security.UserChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class UsernameBloomFilterUnitTest {
+
+    private UserRepository userRepository;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository = mock(UserRepository.class);
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void isDefinitelyAbsent_BeforeRebuild_ShouldFallBackToDatabase() {
+        UsernameBloomFilter filter = new UsernameBloomFilter(userRepository, 1000, 0.01, registry);
+
+        assertFalse(filter.isDefinitelyAbsent("admin"));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    public void isDefinitelyAbsent_ShouldNeverRuleOutExistingOrRegisteredUsers() {
+        when(userRepository.findAllUsernames()).thenReturn(Arrays.asList("admin", "user", "test"));
+        UsernameBloomFilter filter = new UsernameBloomFilter(userRepository, 1000, 0.01, registry);
+        filter.rebuild();
+
+        filter.onUserChanged(new UserChangedEvent("luke"));
+
+        for (String username : Arrays.asList("admin", "user", "test", "luke")) {
+            assertFalse(filter.isDefinitelyAbsent(username), username);
+        }
+        assertTrue(filter.isDefinitelyAbsent("leia"));
+        assertEquals(1, registry.get("swapi.username.filter.requests").tag("result", "absent").counter().count());
+        assertEquals(4, registry.get("swapi.username.filter.requests").tag("result", "possible").counter().count());
+    }
+
+    @Test
+    public void rebuild_UserRegisteredWhileLoading_ShouldBeKept() {
+        UsernameBloomFilter filter = new UsernameBloomFilter(userRepository, 1000, 0.01, registry);
+        when(userRepository.findAllUsernames()).thenAnswer(invocation -> {
+            filter.onUserChanged(new UserChangedEvent("han"));
+            return Arrays.asList("admin");
+        });
+
+        filter.rebuild();
+
+        assertFalse(filter.isDefinitelyAbsent("han"));
+        assertFalse(filter.isDefinitelyAbsent("admin"));
+    }
+
+    @Test
+    public void falsePositiveRate_AtExpectedSize_ShouldStayNearConfiguredRate() {
+        List<String> usernames = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            usernames.add("usuario" + i);
+        }
+        when(userRepository.findAllUsernames()).thenReturn(usernames);
+        UsernameBloomFilter filter = new UsernameBloomFilter(userRepository, 10_000, 0.01, registry);
+        filter.rebuild();
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (!filter.isDefinitelyAbsent("libre" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 200, "Falsos positivos: " + falsePositives);
+        double estimated = registry.get("swapi.username.filter.fpp").gauge().value();
+        assertEquals(0.01, estimated, 0.002);
+    }
+}
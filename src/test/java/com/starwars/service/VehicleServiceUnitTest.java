@@ -53,7 +53,7 @@ public class VehicleServiceUnitTest {
 
         VehicleResponseDto responseDto = createVehicleResponseDto("4", "Sand Crawler", "30", "36.8");
 
-        when(vehicleMapper.toResponseDtoFromDetail(any(ApiResult.class))).thenReturn(responseDto);
+        when(vehicleMapper.toResponseDtoFromDetail(any(ApiDetailResult.class))).thenReturn(responseDto);
 
         // Simulamos el método fetchApiData del padre
         VehicleService spyService = spy(vehicleService);
@@ -75,7 +75,7 @@ public class VehicleServiceUnitTest {
         assertFalse(result.isHasNext());
         assertFalse(result.isHasPrevious());
 
-        verify(vehicleMapper).toResponseDtoFromDetail(any(ApiResult.class));
+        verify(vehicleMapper).toResponseDtoFromDetail(any(ApiDetailResult.class));
     }
 
     @Test
@@ -139,7 +139,7 @@ public class VehicleServiceUnitTest {
         VehicleResponseDto responseDto1 = createVehicleResponseDto("4", "Sand Crawler", "30", "36.8");
         VehicleResponseDto responseDto2 = createVehicleResponseDto("6", "T-16 skyhopper", "1", "10.4");
 
-        when(vehicleMapper.toResponseDtoFromDetail(any(ApiResult.class)))
+        when(vehicleMapper.toResponseDtoFromDetail(any(ApiDetailResult.class)))
                 .thenReturn(responseDto1)
                 .thenReturn(responseDto2);
 
@@ -161,7 +161,7 @@ public class VehicleServiceUnitTest {
         assertTrue(result.isHasNext());
         assertFalse(result.isHasPrevious());
 
-        verify(vehicleMapper, times(2)).toResponseDtoFromDetail(any(ApiResult.class));
+        verify(vehicleMapper, times(2)).toResponseDtoFromDetail(any(ApiDetailResult.class));
     }
 
     @Test
@@ -177,7 +177,7 @@ public class VehicleServiceUnitTest {
         ApiPageResponse<VehicleApiDto> apiPageResponse = createApiPageResponse(resultList, 1, 1, null, null);
 
         VehicleResponseDto responseDto = createVehicleResponseDto("4", "Sand Crawler", "30", "36.8");
-        when(vehicleMapper.toResponseDtoFromDetail(any(ApiResult.class))).thenReturn(responseDto);
+        when(vehicleMapper.toResponseDtoFromDetail(any(ApiDetailResult.class))).thenReturn(responseDto);
 
         VehicleService spyService = spy(vehicleService);
         doReturn(apiPageResponse).when(spyService).fetchApiData(anyString(), any(ParameterizedTypeReference.class));
@@ -189,7 +189,7 @@ public class VehicleServiceUnitTest {
         assertNotNull(result);
         assertEquals(1, result.getContent().size());
         assertEquals("Sand Crawler", result.getContent().get(0).getName());
-        verify(vehicleMapper).toResponseDtoFromDetail(any(ApiResult.class));
+        verify(vehicleMapper).toResponseDtoFromDetail(any(ApiDetailResult.class));
     }
 
     @Test
@@ -202,7 +202,7 @@ public class VehicleServiceUnitTest {
 
         VehicleResponseDto responseDto = createVehicleResponseDto("4", "Sand Crawler", "30", "36.8");
 
-        when(vehicleMapper.toResponseDtoFromDetail(any(ApiResult.class))).thenReturn(responseDto);
+        when(vehicleMapper.toResponseDtoFromDetail(any(ApiDetailResult.class))).thenReturn(responseDto);
 
         VehicleService spyService = spy(vehicleService);
         doReturn(apiResponse).when(spyService).fetchApiData(anyString(), any(ParameterizedTypeReference.class));
@@ -217,7 +217,7 @@ public class VehicleServiceUnitTest {
         assertEquals("30", result.getCrew());
         assertEquals("36.8", result.getLength());
 
-        verify(vehicleMapper).toResponseDtoFromDetail(any(ApiResult.class));
+        verify(vehicleMapper).toResponseDtoFromDetail(any(ApiDetailResult.class));
     }
 
     @Test